@@ -0,0 +1,38 @@
+package com.dist.zja.minio.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：基准入口。无参数时按线程数 1、4、16 依次运行全部基准，附带 GC 分析(gc.alloc.rate、gc.alloc.rate.norm)，
+ * 结果写入 jmh-result-t{线程数}.json；有参数时交给 JMH 命令行(org.openjdk.jmh.Main)处理
+ */
+public class BenchmarkMain {
+
+    private static final int[] THREADS = {1, 4, 16};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        String include = System.getProperty("benchmark.include", "com\\.dist\\.zja\\.minio\\.benchmark\\..*");
+        for (int threads : THREADS) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-t" + threads + ".json");
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.dist.zja.minio.benchmark;
+
+import com.dist.zja.minio.listing.ObjectSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：列举基准：按页惰性列举与按前缀分片并行列举，对象均匀分布在 16 个前缀下
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingBenchmark {
+
+    private static final int PREFIXES = 16;
+
+    private static final String ROOT = "list/";
+
+    @Param({"1000", "20000"})
+    public int objectCount;
+
+    private MinioFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = new MinioFixture();
+        byte[] data = new byte[16];
+        for (int i = 0; i < objectCount; i++) {
+            fixture.getStub().putObject(MinioFixture.BUCKET, String.format("%sdir-%02d/object-%08d", ROOT, i % PREFIXES, i), data);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public long listObjectStream() {
+        try (Stream<ObjectSummary> stream = fixture.getObjectService().listObjectStream(MinioFixture.BUCKET, ROOT, true, null, null, null)) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public long listObjectStreamParallel() {
+        try (Stream<ObjectSummary> stream = fixture.getBucketService().listObjectStreamParallel(MinioFixture.BUCKET, ROOT, false)) {
+            return stream.count();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dist.zja.minio.benchmark;
+
+import com.dist.zja.minio.common.enums.QrCodeFormatEnum;
+import io.minio.StatObjectResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：元数据与分享链接基准：statObject、getObjectShareLink(本地签名，不发请求)、getObjectShareQRcode(PNG/SVG)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private static final String OBJECT_NAME = "meta/object.bin";
+
+    private static final int EXPIRY = 3600;
+
+    private MinioFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = new MinioFixture();
+        fixture.getStub().putObject(MinioFixture.BUCKET, OBJECT_NAME, new byte[1024]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public StatObjectResponse statObject() throws Exception {
+        return fixture.getObjectService().statObject(MinioFixture.BUCKET, OBJECT_NAME);
+    }
+
+    @Benchmark
+    public String getObjectShareLink() throws Exception {
+        return fixture.getObjectService().getObjectShareLink(MinioFixture.BUCKET, OBJECT_NAME, EXPIRY);
+    }
+
+    @Benchmark
+    public String getObjectShareQRcodePng() throws Exception {
+        return fixture.getObjectService().getObjectShareQRcode(MinioFixture.BUCKET, OBJECT_NAME, EXPIRY, 200, QrCodeFormatEnum.PNG);
+    }
+
+    @Benchmark
+    public String getObjectShareQRcodeSvg() throws Exception {
+        return fixture.getObjectService().getObjectShareQRcode(MinioFixture.BUCKET, OBJECT_NAME, EXPIRY, 200, QrCodeFormatEnum.SVG);
+    }
+}
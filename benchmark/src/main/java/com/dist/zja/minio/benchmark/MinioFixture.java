@@ -0,0 +1,134 @@
+package com.dist.zja.minio.benchmark;
+
+import com.dist.zja.minio.MinioBucketService;
+import com.dist.zja.minio.MinioObjectService;
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.listing.ObjectLister;
+import com.dist.zja.minio.listing.ParallelLister;
+import com.dist.zja.minio.support.S3Stub;
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+import com.dist.zja.minio.transfer.MultipartUploader;
+import com.dist.zja.minio.transfer.ParallelDownloader;
+import com.dist.zja.minio.transfer.PartBufferPool;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：基准测试环境：启动 S3Stub，按 MinioAutoConfig 的默认配置装配客户端与服务。
+ * 分片大小取最小值 5MB、分片阈值 8MB，使 16MB 对象走并行分片上传
+ */
+public class MinioFixture implements Closeable {
+
+    public static final String BUCKET = "benchmark";
+
+    public static final int PART_SIZE = 5 * 1024 * 1024;
+
+    public static final long MULTIPART_THRESHOLD = 8L * 1024 * 1024;
+
+    private static final ThreadLocal<byte[]> DRAIN_BUFFER = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    private final S3Stub stub;
+
+    private final OkHttpClient httpClient;
+
+    private final MinioTransferExecutor executor;
+
+    private final MinioObjectService objectService;
+
+    private final MinioBucketService bucketService;
+
+    public MinioFixture() throws IOException {
+        this.stub = new S3Stub();
+        stub.createBucket(BUCKET);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(128);
+        dispatcher.setMaxRequestsPerHost(64);
+        this.httpClient = HttpUtils.newDefaultHttpClient(TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(5))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(32, 5, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+                .build();
+        MinioClient minioClient = MinioClient.builder()
+                .endpoint(stub.endpoint())
+                .credentials("benchmark", "benchmark")
+                .region("us-east-1")
+                .httpClient(httpClient)
+                .build();
+        MinioAsyncClient minioAsyncClient = MinioAsyncClient.builder()
+                .endpoint(stub.endpoint())
+                .credentials("benchmark", "benchmark")
+                .region("us-east-1")
+                .httpClient(httpClient)
+                .build();
+
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        this.executor = new MinioTransferExecutor(concurrency, concurrency, concurrency);
+        MinioExtendAsyncClient extendClient = new MinioExtendAsyncClient(minioAsyncClient);
+        PartBufferPool bufferPool = new PartBufferPool(PART_SIZE, 16L * PART_SIZE, concurrency);
+        MultipartUploader uploader = new MultipartUploader(extendClient, executor, bufferPool, MULTIPART_THRESHOLD, null);
+        ObjectLister lister = new ObjectLister(extendClient);
+
+        this.objectService = new MinioObjectService(minioClient);
+        objectService.setMultipartUploader(uploader);
+        objectService.setParallelDownloader(new ParallelDownloader(executor, PART_SIZE));
+        objectService.setObjectLister(lister);
+
+        this.bucketService = new MinioBucketService(minioClient);
+        bucketService.setObjectLister(lister);
+        bucketService.setParallelLister(new ParallelLister(lister, executor));
+    }
+
+    public S3Stub getStub() {
+        return stub;
+    }
+
+    public MinioObjectService getObjectService() {
+        return objectService;
+    }
+
+    public MinioBucketService getBucketService() {
+        return bucketService;
+    }
+
+    /**
+     * 读完输入流并关闭，返回字节数
+     */
+    public static long drain(InputStream in) throws IOException {
+        byte[] buffer = DRAIN_BUFFER.get();
+        long total = 0;
+        try (InputStream stream = in) {
+            int n;
+            while ((n = stream.read(buffer)) != -1) {
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        // OkHttp 调度线程为非守护线程，不关闭时 JMH 分叉进程要等其空闲超时才能退出
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+        stub.close();
+    }
+}
@@ -0,0 +1,150 @@
+package com.dist.zja.minio.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：对象上传、下载基准：putObject(文件/流/MultipartFile)、getObject(整体/区间)、downloadObject(写入 HttpServletResponse)。
+ * 上传对象名按线程区分，避免多线程写同一对象；downloadObject 的响应输出直接丢弃，不计入内存分配
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectBenchmark {
+
+    /**
+     * 区间读取长度
+     */
+    private static final int RANGE_LENGTH = 64 * 1024;
+
+    @Param({"1024", "1048576", "16777216"})
+    public int size;
+
+    private MinioFixture fixture;
+
+    private byte[] data;
+
+    private Path file;
+
+    private MockMultipartFile multipartFile;
+
+    private String objectName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = new MinioFixture();
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+        file = Files.createTempFile("minio-benchmark-", ".bin");
+        Files.write(file, data);
+        multipartFile = new MockMultipartFile("file", "benchmark.bin", "application/octet-stream", data);
+        objectName = "get/object-" + size;
+        fixture.getStub().putObject(MinioFixture.BUCKET, objectName, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object putObjectFile() throws Exception {
+        return fixture.getObjectService().putObject(MinioFixture.BUCKET, putName(), file.toString());
+    }
+
+    @Benchmark
+    public Object putObjectStream() {
+        return fixture.getObjectService().putObject(MinioFixture.BUCKET, putName(), new ByteArrayInputStream(data), "application/octet-stream");
+    }
+
+    @Benchmark
+    public Object putObjectMultipartFile() {
+        return fixture.getObjectService().putObjectByMultipartFile(MinioFixture.BUCKET, putName(), multipartFile);
+    }
+
+    @Benchmark
+    public long getObject() throws Exception {
+        return MinioFixture.drain(fixture.getObjectService().getObject(MinioFixture.BUCKET, objectName));
+    }
+
+    @Benchmark
+    public long getObjectRange() throws Exception {
+        long length = Math.min(RANGE_LENGTH, size / 2);
+        return MinioFixture.drain(fixture.getObjectService().getObject(MinioFixture.BUCKET, objectName, size / 4L, length));
+    }
+
+    @Benchmark
+    public int downloadObject() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + objectName);
+        DiscardingResponse response = new DiscardingResponse();
+        fixture.getObjectService().downloadObject(MinioFixture.BUCKET, objectName, request, response);
+        return response.getStatus();
+    }
+
+    private static String putName() {
+        return "put/thread-" + Thread.currentThread().getId();
+    }
+
+    /**
+     * 丢弃响应体的 MockHttpServletResponse
+     */
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
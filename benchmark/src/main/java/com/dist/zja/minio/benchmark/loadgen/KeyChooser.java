@@ -0,0 +1,105 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：对象序号选择。uniform 为均匀分布；zipf 为 Zipf 分布，第 k 热的对象被选中的概率正比于 1/k^s，
+ * 预先计算累积分布后二分查找。热度排名经乘法散列映射为序号，热点对象分散在各目录而非集中在前几个
+ */
+public class KeyChooser {
+
+    /**
+     * 与 keyCount 互质时为 [0, keyCount) 上的一个排列
+     */
+    private static final long SCATTER = 0x9E3779B97F4A7C15L >>> 1;
+
+    private final int keyCount;
+
+    private final double[] cdf;
+
+    private final long scatter;
+
+    private KeyChooser(int keyCount, double[] cdf) {
+        this.keyCount = keyCount;
+        this.cdf = cdf;
+        long step = SCATTER % keyCount;
+        while (step == 0 || gcd(step, keyCount) != 1) {
+            step++;
+        }
+        this.scatter = step;
+    }
+
+    public static KeyChooser uniform(int keyCount) {
+        checkKeyCount(keyCount);
+        return new KeyChooser(keyCount, null);
+    }
+
+    public static KeyChooser zipf(int keyCount, double exponent) {
+        checkKeyCount(keyCount);
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("zipf exponent must be positive, got: " + exponent);
+        }
+        double[] cdf = new double[keyCount];
+        double total = 0;
+        for (int k = 0; k < keyCount; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < keyCount; k++) {
+            cdf[k] /= total;
+        }
+        return new KeyChooser(keyCount, cdf);
+    }
+
+    /**
+     * 按名称创建
+     *
+     * @param distribution uniform 或 zipf
+     */
+    public static KeyChooser of(String distribution, int keyCount, double zipfExponent) {
+        if ("uniform".equalsIgnoreCase(distribution)) {
+            return uniform(keyCount);
+        }
+        if ("zipf".equalsIgnoreCase(distribution)) {
+            return zipf(keyCount, zipfExponent);
+        }
+        throw new IllegalArgumentException("unknown key distribution: " + distribution + ", expected uniform or zipf");
+    }
+
+    public int next(Random random) {
+        if (cdf == null) {
+            return random.nextInt(keyCount);
+        }
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        rank = Math.min(rank, keyCount - 1);
+        return (int) (rank * scatter % keyCount);
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    private static void checkKeyCount(int keyCount) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("keyCount must be positive, got: " + keyCount);
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,401 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import com.dist.zja.minio.MinioBucketService;
+import com.dist.zja.minio.MinioObjectService;
+import com.dist.zja.minio.benchmark.MinioFixture;
+import com.dist.zja.minio.listing.ObjectSummary;
+import io.minio.errors.ErrorResponseException;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：经 MinioObjectService 发出混合负载。闭环模式(rate=0)下 concurrency 个线程背靠背发出请求；
+ * 开环模式下按目标速率排定每次操作的计划发出时刻，concurrency 个线程依次领取，线程全忙时后续操作排队，
+ * 排队时间计入 latency(修正协调遗漏)，service 只含请求本身耗时。按间隔输出吞吐与延迟，结束时输出各操作的百分位汇总
+ */
+public class LoadGenerator {
+
+    public static Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final MinioObjectService objectService;
+
+    private final MinioBucketService bucketService;
+
+    private final LoadGeneratorProperties properties;
+
+    private final WeightedChoice<Operation> mix;
+
+    private final WeightedChoice<Integer> sizes;
+
+    private final KeyChooser keys;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final PrintStream out;
+
+    private byte[] data;
+
+    public LoadGenerator(MinioObjectService objectService, MinioBucketService bucketService, LoadGeneratorProperties properties) {
+        this(objectService, bucketService, properties, System.out);
+    }
+
+    public LoadGenerator(MinioObjectService objectService, MinioBucketService bucketService, LoadGeneratorProperties properties, PrintStream out) {
+        if (properties.getConcurrency() <= 0) {
+            throw new IllegalArgumentException("loadgen.concurrency must be positive");
+        }
+        if (properties.getKeyDirs() <= 0) {
+            throw new IllegalArgumentException("loadgen.key-dirs must be positive");
+        }
+        this.objectService = objectService;
+        this.bucketService = bucketService;
+        this.properties = properties;
+        this.mix = WeightedChoice.parse(properties.getMix(), Operation::of);
+        this.sizes = WeightedChoice.parse(properties.getSizes(), LoadGenerator::parseSize);
+        this.keys = KeyChooser.of(properties.getKeyDistribution(), properties.getKeyCount(), properties.getZipfExponent());
+        this.out = out;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * 准备桶与数据，预热后运行 duration，返回各操作的统计
+     */
+    public Map<Operation, OperationStats> run() throws Exception {
+        printConfig();
+        if (!bucketService.makeBucket(properties.getBucket())) {
+            throw new IllegalStateException("failed to create bucket " + properties.getBucket());
+        }
+        int maxSize = 0;
+        for (int size : sizes.getValues()) {
+            maxSize = Math.max(maxSize, size);
+        }
+        data = new byte[maxSize];
+        new Random(maxSize).nextBytes(data);
+        if (properties.isPreload()) {
+            preload();
+        }
+
+        boolean openLoop = properties.getRate() > 0;
+        double periodNanos = openLoop ? TimeUnit.SECONDS.toNanos(1) / properties.getRate() : 0;
+        long start = System.nanoTime();
+        long measureStart = start + properties.getWarmup().toNanos();
+        long end = measureStart + properties.getDuration().toNanos();
+        AtomicLong slots = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency(), daemonThreads("loadgen-worker-"));
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < properties.getConcurrency(); i++) {
+                futures.add(workers.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    while (true) {
+                        long intended;
+                        if (openLoop) {
+                            intended = start + (long) (slots.getAndIncrement() * periodNanos);
+                            if (intended >= end) {
+                                return;
+                            }
+                            long wait;
+                            while ((wait = intended - System.nanoTime()) > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        } else {
+                            intended = System.nanoTime();
+                            if (intended >= end) {
+                                return;
+                            }
+                        }
+                        execute(mix.next(random), random, intended);
+                    }
+                }));
+            }
+            report(start, measureStart, end);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.sample();
+        }
+        summarize(openLoop);
+        writeHistograms();
+        return stats;
+    }
+
+    /**
+     * 按大小分布写入全部对象
+     */
+    private void preload() throws Exception {
+        int keyCount = keys.getKeyCount();
+        out.printf("preloading %d objects into %s%n", keyCount, properties.getBucket());
+        long begin = System.nanoTime();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getConcurrency(), daemonThreads("loadgen-preload-"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < properties.getConcurrency(); i++) {
+                futures.add(executor.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    int index;
+                    while ((index = next.getAndIncrement()) < keyCount) {
+                        if (write(key(index), sizes.next(random)) < 0) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        out.printf("preloaded %d objects in %.1f s, failed: %d%n", keyCount - failed.get(),
+                (System.nanoTime() - begin) / 1e9, failed.get());
+    }
+
+    private void execute(Operation operation, Random random, long intended) {
+        OperationStats operationStats = stats.get(operation);
+        String key = key(keys.next(random));
+        long begin = System.nanoTime();
+        try {
+            long bytes;
+            switch (operation) {
+                case READ:
+                    bytes = MinioFixture.drain(objectService.getObject(properties.getBucket(), key));
+                    break;
+                case WRITE:
+                    bytes = write(key, sizes.next(random));
+                    if (bytes < 0) {
+                        operationStats.error("PutFailed");
+                        return;
+                    }
+                    break;
+                case STAT:
+                    objectService.statObject(properties.getBucket(), key);
+                    bytes = 0;
+                    break;
+                case LIST:
+                    try (Stream<ObjectSummary> stream = objectService.listObjectStream(properties.getBucket(),
+                            key.substring(0, key.lastIndexOf('/') + 1), false, null, properties.getListMaxKeys(), null)) {
+                        stream.count();
+                    }
+                    bytes = 0;
+                    break;
+                default:
+                    objectService.deleteObject(properties.getBucket(), key);
+                    bytes = 0;
+                    break;
+            }
+            operationStats.record(intended, begin, System.nanoTime(), bytes);
+        } catch (Exception e) {
+            operationStats.error(errorCode(e));
+            logger.debug("{} {} failed", operation.label(), key, e);
+        }
+    }
+
+    /**
+     * 写入对象，失败返回 -1(putObject 内部记录异常并返回 null)
+     */
+    private long write(String key, int size) {
+        Object response = objectService.putObject(properties.getBucket(), key, new ByteArrayInputStream(data, 0, size), CONTENT_TYPE);
+        return response == null ? -1 : size;
+    }
+
+    private String key(int index) {
+        return String.format("%s%04d/%010d", properties.getKeyPrefix(), index % properties.getKeyDirs(), index);
+    }
+
+    /**
+     * 按间隔输出，预热结束时清空统计
+     */
+    private void report(long start, long measureStart, long end) {
+        long interval = Math.max(TimeUnit.MILLISECONDS.toNanos(100), properties.getReportInterval().toNanos());
+        if (measureStart > start) {
+            out.printf("warming up for %s%n", properties.getWarmup());
+        }
+        long now;
+        while ((now = System.nanoTime()) < measureStart) {
+            LockSupport.parkNanos(measureStart - now);
+        }
+        resetStats();
+        long last = System.nanoTime();
+        long lastErrors = 0;
+        out.printf("%8s %10s %10s %8s %10s %10s %10s%n", "time(s)", "ops/s", "MB/s", "errors", "p50(ms)", "p99(ms)", "max(ms)");
+        while (true) {
+            long deadline = Math.min(last + interval, end);
+            if ((now = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - now);
+                continue;
+            }
+            if (now >= end) {
+                return;
+            }
+            Histogram histogram = new Histogram(3);
+            long bytes = 0;
+            long errors = 0;
+            for (OperationStats operationStats : stats.values()) {
+                operationStats.sample();
+                histogram.add(operationStats.getIntervalLatency());
+                bytes += operationStats.getIntervalBytes();
+                errors += operationStats.getErrorCount();
+            }
+            double seconds = (now - last) / 1e9;
+            out.printf("%8.1f %10.1f %10.2f %8d %10.2f %10.2f %10.2f%n", (now - measureStart) / 1e9,
+                    histogram.getTotalCount() / seconds, bytes / seconds / (1024 * 1024), errors - lastErrors,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+            last = now;
+            lastErrors = errors;
+        }
+    }
+
+    private void resetStats() {
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.reset();
+        }
+    }
+
+    private void summarize(boolean openLoop) {
+        double seconds = properties.getDuration().toNanos() / 1e9;
+        out.println();
+        out.printf("summary: %s, concurrency %d, %s keys, duration %s%n",
+                openLoop ? "open loop at " + properties.getRate() + " ops/s" : "closed loop",
+                properties.getConcurrency(), properties.getKeyDistribution(), properties.getDuration());
+        out.printf("%-10s %10s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ops/s", "MB/s", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        Histogram total = new Histogram(3);
+        Histogram totalService = new Histogram(3);
+        long totalBytes = 0;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.getLatency().getTotalCount() == 0 && operationStats.getErrorCount() == 0) {
+                continue;
+            }
+            printRow(entry.getKey().label(), operationStats.getLatency(), operationStats.getTotalBytes(), operationStats.getErrorCount(), seconds);
+            if (openLoop) {
+                printRow("  service", operationStats.getService(), operationStats.getTotalBytes(), operationStats.getErrorCount(), seconds);
+            }
+            total.add(operationStats.getLatency());
+            totalService.add(operationStats.getService());
+            totalBytes += operationStats.getTotalBytes();
+            totalErrors += operationStats.getErrorCount();
+        }
+        printRow("total", total, totalBytes, totalErrors, seconds);
+        if (openLoop) {
+            printRow("  service", totalService, totalBytes, totalErrors, seconds);
+        }
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Map<String, Long> errors = entry.getValue().getErrors();
+            if (!errors.isEmpty()) {
+                out.printf("%s errors: %s%n", entry.getKey().label(), errors);
+            }
+        }
+    }
+
+    private void printRow(String name, Histogram histogram, long bytes, long errors, double seconds) {
+        StringBuilder row = new StringBuilder(String.format("%-10s %10d %10.1f %10.2f %8d", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds, bytes / seconds / (1024 * 1024), errors));
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(" %10.2f", histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        row.append(String.format(" %10.2f", histogram.getMaxValue() / 1000.0));
+        out.println(row);
+    }
+
+    /**
+     * 输出各操作完整的延迟分布(毫秒)
+     */
+    private void writeHistograms() throws FileNotFoundException {
+        if (properties.getHistogramDir() == null || properties.getHistogramDir().isEmpty()) {
+            return;
+        }
+        File dir = new File(properties.getHistogramDir());
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("cannot create histogram dir " + dir);
+        }
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            if (entry.getValue().getLatency().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream stream = new PrintStream(new File(dir, entry.getKey().label() + ".hgrm"))) {
+                entry.getValue().getLatency().outputPercentileDistribution(stream, 1000.0);
+            }
+        }
+        out.printf("histograms written to %s%n", dir.getAbsolutePath());
+    }
+
+    private void printConfig() {
+        out.println(properties);
+        StringBuilder mixLine = new StringBuilder("operation mix:");
+        for (int i = 0; i < mix.getValues().size(); i++) {
+            mixLine.append(String.format(" %s %.1f%%", mix.getValues().get(i).label(), mix.probability(i) * 100));
+        }
+        out.println(mixLine);
+    }
+
+    /**
+     * S3 错误码(如 NoSuchKey)，否则为异常类名
+     */
+    static String errorCode(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ErrorResponseException) {
+                return ((ErrorResponseException) cause).errorResponse().code();
+            }
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    static int parseSize(String text) {
+        long bytes = DataSize.parse(text.trim().toUpperCase()).toBytes();
+        if (bytes < 0 || bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("object size out of range: " + text);
+        }
+        return (int) bytes;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
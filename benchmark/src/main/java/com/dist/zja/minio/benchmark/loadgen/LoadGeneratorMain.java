@@ -0,0 +1,89 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import com.dist.zja.minio.MinioBucketService;
+import com.dist.zja.minio.MinioObjectService;
+import com.dist.zja.minio.config.MinioAutoConfig;
+import com.dist.zja.minio.support.S3Stub;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：压测入口。以 Spring Boot 方式装配 MinioAutoConfig，连接、传输、缓存配置与业务应用一致，
+ * 可由命令行参数(--dist.minio.endpoint=...)、application.yml 或环境变量指定；loadgen.stub=true 时启动进程内 S3Stub
+ */
+@SpringBootConfiguration
+@EnableConfigurationProperties(LoadGeneratorProperties.class)
+@Import(MinioAutoConfig.class)
+public class LoadGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(LoadGeneratorMain.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setBannerMode(Banner.Mode.OFF);
+        StubInstaller stubInstaller = new StubInstaller();
+        application.addListeners(stubInstaller);
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            new LoadGenerator(context.getBean(MinioObjectService.class), context.getBean(MinioBucketService.class),
+                    context.getBean(LoadGeneratorProperties.class)).run();
+        } finally {
+            stubInstaller.close();
+        }
+        // OkHttp 调度线程为非守护线程，空闲 60 秒后才结束
+        System.exit(0);
+    }
+
+    /**
+     * loadgen.stub=true 时启动 S3Stub，并以最高优先级覆盖 dist.minio 连接配置
+     */
+    static class StubInstaller implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Closeable {
+
+        private S3Stub stub;
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            ConfigurableEnvironment environment = event.getEnvironment();
+            if (!environment.getProperty("loadgen.stub", Boolean.class, false)) {
+                return;
+            }
+            try {
+                stub = new S3Stub();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("dist.minio.endpoint", "http://127.0.0.1");
+            properties.put("dist.minio.port", stub.getPort());
+            properties.put("dist.minio.secure", false);
+            properties.put("dist.minio.access-key", "loadgen");
+            properties.put("dist.minio.secret-key", "loadgen");
+            environment.getPropertySources().addFirst(new MapPropertySource("loadgenStub", properties));
+        }
+
+        @Override
+        public void close() {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：压测配置，前缀 loadgen。连接配置沿用 dist.minio.*
+ */
+@ConfigurationProperties(prefix = "loadgen")
+public class LoadGeneratorProperties {
+
+    /**
+     * 启动进程内 S3Stub 并覆盖 dist.minio.endpoint/port，无需外部服务
+     */
+    private boolean stub = false;
+
+    /**
+     * 压测桶，不存在时创建
+     */
+    private String bucket = "loadgen";
+
+    /**
+     * 对象名前缀
+     */
+    private String keyPrefix = "loadgen/";
+
+    /**
+     * 对象个数，对象名为 {keyPrefix}{目录}/{序号}
+     */
+    private int keyCount = 1000;
+
+    /**
+     * 目录个数，对象按序号取模分布到各目录，list 操作列举一个目录
+     */
+    private int keyDirs = 100;
+
+    /**
+     * 对象热度分布：uniform 或 zipf
+     */
+    private String keyDistribution = "uniform";
+
+    /**
+     * Zipf 指数，越大热点越集中
+     */
+    private double zipfExponent = 0.99;
+
+    /**
+     * 操作比例(权重)，可选 read、write、stat、list、delete
+     */
+    private String mix = "read:60,write:20,stat:10,list:5,delete:5";
+
+    /**
+     * 写入对象大小分布(权重)，大小支持 B、KB、MB、GB
+     */
+    private String sizes = "4KB:70,64KB:25,1MB:5";
+
+    /**
+     * 开始前按大小分布写入全部对象，使读操作命中
+     */
+    private boolean preload = true;
+
+    /**
+     * 并发数：闭环模式下的工作线程数，开环模式下的最大在途请求数
+     */
+    private int concurrency = 16;
+
+    /**
+     * 目标速率(次/秒)，大于 0 时为开环模式，延迟从计划发出时刻算起(修正协调遗漏)；0 为闭环模式
+     */
+    private double rate = 0;
+
+    /**
+     * 预热时长，期间的操作不计入结果
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 统计时长
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 运行中的统计输出间隔
+     */
+    private Duration reportInterval = Duration.ofSeconds(10);
+
+    /**
+     * list 操作最多返回的对象数
+     */
+    private int listMaxKeys = 100;
+
+    /**
+     * 各操作完整延迟分布(.hgrm，可用 HdrHistogram Plotter 绘制)的输出目录，为空不输出
+     */
+    private String histogramDir;
+
+    public boolean isStub() {
+        return stub;
+    }
+
+    public void setStub(boolean stub) {
+        this.stub = stub;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public void setKeyCount(int keyCount) {
+        this.keyCount = keyCount;
+    }
+
+    public int getKeyDirs() {
+        return keyDirs;
+    }
+
+    public void setKeyDirs(int keyDirs) {
+        this.keyDirs = keyDirs;
+    }
+
+    public String getKeyDistribution() {
+        return keyDistribution;
+    }
+
+    public void setKeyDistribution(String keyDistribution) {
+        this.keyDistribution = keyDistribution;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public void setZipfExponent(double zipfExponent) {
+        this.zipfExponent = zipfExponent;
+    }
+
+    public String getMix() {
+        return mix;
+    }
+
+    public void setMix(String mix) {
+        this.mix = mix;
+    }
+
+    public String getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(String sizes) {
+        this.sizes = sizes;
+    }
+
+    public boolean isPreload() {
+        return preload;
+    }
+
+    public void setPreload(boolean preload) {
+        this.preload = preload;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getReportInterval() {
+        return reportInterval;
+    }
+
+    public void setReportInterval(Duration reportInterval) {
+        this.reportInterval = reportInterval;
+    }
+
+    public int getListMaxKeys() {
+        return listMaxKeys;
+    }
+
+    public void setListMaxKeys(int listMaxKeys) {
+        this.listMaxKeys = listMaxKeys;
+    }
+
+    public String getHistogramDir() {
+        return histogramDir;
+    }
+
+    public void setHistogramDir(String histogramDir) {
+        this.histogramDir = histogramDir;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadGeneratorProperties{" +
+                "stub=" + stub +
+                ", bucket='" + bucket + '\'' +
+                ", keyPrefix='" + keyPrefix + '\'' +
+                ", keyCount=" + keyCount +
+                ", keyDirs=" + keyDirs +
+                ", keyDistribution='" + keyDistribution + '\'' +
+                ", zipfExponent=" + zipfExponent +
+                ", mix='" + mix + '\'' +
+                ", sizes='" + sizes + '\'' +
+                ", preload=" + preload +
+                ", concurrency=" + concurrency +
+                ", rate=" + rate +
+                ", warmup=" + warmup +
+                ", duration=" + duration +
+                ", reportInterval=" + reportInterval +
+                ", listMaxKeys=" + listMaxKeys +
+                ", histogramDir='" + histogramDir + '\'' +
+                '}';
+    }
+}
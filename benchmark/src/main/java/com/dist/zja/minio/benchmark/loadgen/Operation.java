@@ -0,0 +1,28 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import java.util.Locale;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：压测操作：read(getObject 并读完)、write(putObject)、stat(statObject)、list(列举一个目录)、delete(deleteObject)
+ */
+public enum Operation {
+
+    READ, WRITE, STAT, LIST, DELETE;
+
+    public static Operation of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown operation: " + name + ", expected read, write, stat, list or delete");
+        }
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,136 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：单个操作的统计。工作线程经 Recorder 无锁记录延迟(微秒)，报告线程按间隔取出并累加到总直方图；
+ * latency 从计划发出时刻算起，service 从实际发出时刻算起，两者只在开环模式下不同。失败的操作只计错误数，不计入延迟
+ */
+public class OperationStats {
+
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder latencyRecorder = new Recorder(MAX_MICROS, SIGNIFICANT_DIGITS);
+
+    private final Recorder serviceRecorder = new Recorder(MAX_MICROS, SIGNIFICANT_DIGITS);
+
+    private final LongAdder bytes = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final Histogram latency = new Histogram(MAX_MICROS, SIGNIFICANT_DIGITS);
+
+    private final Histogram service = new Histogram(MAX_MICROS, SIGNIFICANT_DIGITS);
+
+    private Histogram intervalLatency;
+
+    private Histogram intervalService;
+
+    private long totalBytes;
+
+    private long intervalBytes;
+
+    /**
+     * 记录一次成功的操作
+     *
+     * @param intendedNanos 计划发出时刻
+     * @param startNanos    实际发出时刻
+     * @param endNanos      完成时刻
+     * @param byteCount     传输的字节数
+     */
+    public void record(long intendedNanos, long startNanos, long endNanos, long byteCount) {
+        latencyRecorder.recordValue(toMicros(endNanos - intendedNanos));
+        serviceRecorder.recordValue(toMicros(endNanos - startNanos));
+        if (byteCount > 0) {
+            bytes.add(byteCount);
+        }
+    }
+
+    public void error(String code) {
+        errors.computeIfAbsent(code, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 取出上一间隔的数据并累加，只由报告线程调用
+     */
+    public void sample() {
+        intervalLatency = latencyRecorder.getIntervalHistogram(intervalLatency);
+        intervalService = serviceRecorder.getIntervalHistogram(intervalService);
+        latency.add(intervalLatency);
+        service.add(intervalService);
+        intervalBytes = bytes.sumThenReset();
+        totalBytes += intervalBytes;
+    }
+
+    /**
+     * 丢弃预热期间的数据，只由报告线程调用
+     */
+    public void reset() {
+        latencyRecorder.reset();
+        serviceRecorder.reset();
+        bytes.reset();
+        errors.clear();
+        latency.reset();
+        service.reset();
+        intervalLatency = null;
+        intervalService = null;
+        totalBytes = 0;
+        intervalBytes = 0;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public Histogram getService() {
+        return service;
+    }
+
+    public Histogram getIntervalLatency() {
+        return intervalLatency;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getIntervalBytes() {
+        return intervalBytes;
+    }
+
+    public long getErrorCount() {
+        long total = 0;
+        for (LongAdder count : errors.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 按错误码统计的失败次数
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> result = new TreeMap<>();
+        errors.forEach((code, count) -> result.put(code, count.sum()));
+        return result;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.dist.zja.minio.benchmark.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 00:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：按权重随机选择，配置格式为 "值:权重,值:权重"，用于操作比例和对象大小分布
+ */
+public class WeightedChoice<T> {
+
+    private final List<T> values;
+
+    private final double[] cumulative;
+
+    private WeightedChoice(List<T> values, double[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * 解析配置，权重为 0 的项被忽略
+     *
+     * @param spec   "值:权重,值:权重"
+     * @param parser 值的解析
+     */
+    public static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+        List<T> values = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String item : spec.split(",")) {
+            item = item.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int colon = item.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("weighted item must be value:weight, got: " + item);
+            }
+            double weight = Double.parseDouble(item.substring(colon + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight must not be negative, got: " + item);
+            }
+            if (weight > 0) {
+                values.add(parser.apply(item.substring(0, colon).trim()));
+                weights.add(weight);
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("no positive weight in: " + spec);
+        }
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new WeightedChoice<>(values, cumulative);
+    }
+
+    public T next(Random random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (r < cumulative[i]) {
+                return values.get(i);
+            }
+        }
+        return values.get(values.size() - 1);
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+
+    /**
+     * 某项被选中的概率
+     */
+    public double probability(int index) {
+        return index == 0 ? cumulative[0] : cumulative[index] - cumulative[index - 1];
+    }
+}
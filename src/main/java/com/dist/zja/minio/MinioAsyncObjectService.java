@@ -0,0 +1,611 @@
+package com.dist.zja.minio;
+
+import com.dist.zja.minio.cache.ObjectCacheInvalidator;
+import com.dist.zja.minio.common.annotations.ClassComment;
+import com.dist.zja.minio.common.annotations.MethodComment;
+import com.dist.zja.minio.common.annotations.Param;
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.common.utils.HttpRangeUtils;
+import com.dist.zja.minio.properties.MinioProperties;
+import com.dist.zja.minio.transfer.AsyncResponseWriter;
+import io.minio.*;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 9:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：基于 MinioAsyncClient 的非阻塞对象服务，所有方法立即返回 CompletableFuture，不占用调用线程等待 S3 响应
+ */
+@ClassComment(value = "Minio 异步对象服务-操作对象", author = "zhengja")
+public class MinioAsyncObjectService {
+
+    public static Logger logger = LoggerFactory.getLogger(MinioAsyncObjectService.class);
+
+    private MinioExtendAsyncClient minioAsyncClient;
+
+    private String defaultBucket;
+
+    /**
+     * 写入、删除对象完成后失效同步服务的元数据、磁盘、小对象缓存，可选
+     */
+    private ObjectCacheInvalidator cacheInvalidator;
+
+    public MinioAsyncObjectService(MinioAsyncClient minioAsyncClient) {
+        this.minioAsyncClient = new MinioExtendAsyncClient(minioAsyncClient);
+    }
+
+    public MinioAsyncObjectService(MinioAsyncClient minioAsyncClient, MinioProperties minIo) {
+        this.minioAsyncClient = new MinioExtendAsyncClient(minioAsyncClient);
+        this.defaultBucket = minIo.getDefaultBucket();
+    }
+
+    public void init() {
+        logger.info("com.dist.zja.minio.MinioAsyncObjectService  Init Success！");
+    }
+
+    public void setCacheInvalidator(ObjectCacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @MethodComment(
+            function = "默认桶-异步对象上传-本地对象路径",
+            params = {
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filename", description = "本地对象路径")
+            })
+    public CompletableFuture<ObjectWriteResponse> putObject(String objectName, String filename) throws Exception {
+        return putObject(defaultBucket, objectName, filename);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步对象上传-本地对象路径",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filename", description = "本地对象路径")
+            })
+    public CompletableFuture<ObjectWriteResponse> putObject(String bucketName, String objectName, String filename) throws Exception {
+        return evictOnComplete(minioAsyncClient.uploadObject(
+                UploadObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .filename(filename)
+                        .build()), bucketName, objectName);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步上传对象-InputStream",
+            params = {
+                    @Param(name = "objectName", description = "对象名称"),
+                    @Param(name = "InputStream", description = "对象流"),
+                    @Param(name = "size", description = "对象大小，未知传 -1"),
+                    @Param(name = "contentType", description = "内容类型，可为空")
+            })
+    public CompletableFuture<ObjectWriteResponse> putObject(String objectName, InputStream stream, long size, String contentType) throws Exception {
+        return putObject(defaultBucket, objectName, stream, size, contentType);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步上传对象-InputStream",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象名称"),
+                    @Param(name = "InputStream", description = "对象流"),
+                    @Param(name = "size", description = "对象大小，未知传 -1"),
+                    @Param(name = "contentType", description = "内容类型，可为空")
+            }, description = "流由调用方负责关闭，需在返回的 CompletableFuture 完成后再关闭")
+    public CompletableFuture<ObjectWriteResponse> putObject(String bucketName, String objectName, InputStream stream, long size, String contentType) throws Exception {
+        PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .stream(stream, size, size < 0 ? ObjectWriteArgs.MIN_MULTIPART_SIZE * 2L : -1);
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return evictOnComplete(minioAsyncClient.putObject(builder.build()), bucketName, objectName);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步获取对象流",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            })
+    public CompletableFuture<GetObjectResponse> getObject(String objectName) throws Exception {
+        return getObject(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步获取对象流",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            }, description = "返回的 GetObjectResponse 使用完毕后必须关闭")
+    public CompletableFuture<GetObjectResponse> getObject(String bucketName, String objectName) throws Exception {
+        return minioAsyncClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+    }
+
+    @MethodComment(
+            function = "默认桶-异步获取对象流-支持断点下载",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "offset", description = "offset 是起始字节的位置"),
+                    @Param(name = "length", description = "length是要读取的长度 (可选，如果无值则代表读到对象结尾)")
+            },
+            description = "下载对象指定区域的字节数组做为流。（断点下载）")
+    public CompletableFuture<GetObjectResponse> getObject(String objectName, Long offset, Long length) throws Exception {
+        return getObject(defaultBucket, objectName, offset, length);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步获取对象流-支持断点下载",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "offset", description = "offset 是起始字节的位置"),
+                    @Param(name = "length", description = "length是要读取的长度 (可选，如果无值则代表读到对象结尾)")
+            },
+            description = "下载对象指定区域的字节数组做为流。（断点下载）")
+    public CompletableFuture<GetObjectResponse> getObject(String bucketName, String objectName, Long offset, Long length) throws Exception {
+        return minioAsyncClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .offset(offset)
+                        .length(length)
+                        .build());
+    }
+
+    @MethodComment(
+            function = "默认桶-异步获取对象信息和对象的元数据",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            })
+    public CompletableFuture<StatObjectResponse> statObject(String objectName) throws Exception {
+        return statObject(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步获取对象信息和对象的元数据",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            }, description = "对象不存在时 CompletableFuture 以 ErrorResponseException 异常完成")
+    public CompletableFuture<StatObjectResponse> statObject(String bucketName, String objectName) throws Exception {
+        return minioAsyncClient.statObject(StatObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .build());
+    }
+
+    @MethodComment(
+            function = "指定桶-异步批量获取对象信息",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectNames", description = "存储桶里的对象名称列表")
+            }, description = "所有 HEAD 请求同时发出，任一对象不存在则整体异常完成")
+    public CompletableFuture<Map<String, StatObjectResponse>> statObjects(String bucketName, List<String> objectNames) throws Exception {
+        List<CompletableFuture<StatObjectResponse>> futures = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            futures.add(statObject(bucketName, objectName));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Map<String, StatObjectResponse> result = new LinkedHashMap<>();
+            for (int i = 0; i < objectNames.size(); i++) {
+                result.put(objectNames.get(i), futures.get(i).join());
+            }
+            return result;
+        });
+    }
+
+    @MethodComment(
+            function = "默认桶-对象下载-Servlet 3.1 非阻塞写出",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "request", description = "request"),
+                    @Param(name = "response", description = "response")
+            })
+    public CompletableFuture<Void> downloadObject(String objectName, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        return downloadObject(defaultBucket, objectName, request, response, 0);
+    }
+
+    @MethodComment(
+            function = "指定桶-对象下载-Servlet 3.1 非阻塞写出",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "request", description = "request"),
+                    @Param(name = "response", description = "response")
+            })
+    public CompletableFuture<Void> downloadObject(String bucketName, String objectName, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        return downloadObject(bucketName, objectName, request, response, 0);
+    }
+
+    @MethodComment(
+            function = "指定桶-对象下载-Servlet 3.1 非阻塞写出",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "request", description = "request，须支持异步(asyncSupported)"),
+                    @Param(name = "response", description = "response"),
+                    @Param(name = "timeout", description = "AsyncContext 超时时间(毫秒)，0 不超时，由连接器的写超时兜底")
+            },
+            description = "开启 AsyncContext 后立即返回，容器线程随即释放；statObject、getObject 走异步客户端，" +
+                    "对象数据仅在客户端可写(WriteListener.onWritePossible)时写出。" +
+                    "与同步 downloadObject(request, response) 一样支持 304、206、416 和 ETag 前置条件。" +
+                    "对象不存在时返回 404，其它错误在响应未提交时返回 500；返回的 CompletableFuture 在写完或失败时完成")
+    public CompletableFuture<Void> downloadObject(String bucketName, String objectName, HttpServletRequest request,
+                                                  HttpServletResponse response, long timeout) throws Exception {
+        AsyncContext asyncContext = request.isAsyncStarted() ? request.getAsyncContext() : request.startAsync(request, response);
+        asyncContext.setTimeout(timeout);
+        return statObject(bucketName, objectName)
+                .handle((stat, e) -> e == null
+                        ? serveObject(asyncContext, request, response, stat, true)
+                        : failResponse(asyncContext, response, e))
+                .thenCompose(future -> future);
+    }
+
+    private CompletableFuture<Void> serveObject(AsyncContext asyncContext, HttpServletRequest request,
+                                                HttpServletResponse response, StatObjectResponse stat, boolean retry) {
+        long size = stat.size();
+        String etag = HttpRangeUtils.quote(stat.etag());
+        long lastModified = stat.lastModified().toInstant().toEpochMilli();
+
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        if (HttpRangeUtils.isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            asyncContext.complete();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        HttpRangeUtils.ByteRange range = HttpRangeUtils.resolveRange(request, etag, lastModified, size);
+        if (range != null && !range.isSatisfiable()) {
+            response.setHeader("Content-Range", "bytes */" + size);
+            response.setStatus(416);
+            asyncContext.complete();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        GetObjectArgs.Builder args = GetObjectArgs.builder()
+                .bucket(stat.bucket())
+                .object(stat.object())
+                .matchETag(stat.etag());
+        if (range != null) {
+            args.offset(range.getStart()).length(range.getLength());
+        }
+        CompletableFuture<GetObjectResponse> future;
+        try {
+            future = minioAsyncClient.getObject(args.build());
+        } catch (Exception e) {
+            return failResponse(asyncContext, response, e);
+        }
+        return future.handle((is, e) -> {
+            if (e == null) {
+                long length = range != null ? range.getLength() : size;
+                if (range != null) {
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range", range.toContentRange(size));
+                }
+                response.setContentType(stat.contentType() != null ? stat.contentType() : "application/octet-stream");
+                response.setContentLengthLong(length);
+                response.setHeader("Content-Disposition", HttpRangeUtils.contentDisposition("attachment", stat.object()));
+                return AsyncResponseWriter.start(asyncContext, is, length);
+            }
+            if (retry && "PreconditionFailed".equals(errorCode(e))) {
+                // statObject 之后对象被修改，重新获取元数据
+                try {
+                    return statObject(stat.bucket(), stat.object())
+                            .handle((fresh, statError) -> statError == null
+                                    ? serveObject(asyncContext, request, response, fresh, false)
+                                    : failResponse(asyncContext, response, statError))
+                            .thenCompose(next -> next);
+                } catch (Exception ex) {
+                    return failResponse(asyncContext, response, ex);
+                }
+            }
+            return failResponse(asyncContext, response, e);
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * 开始写出前失败：响应未提交时返回 404(对象或桶不存在)或 500，并结束 AsyncContext
+     */
+    private CompletableFuture<Void> failResponse(AsyncContext asyncContext, HttpServletResponse response, Throwable e) {
+        Throwable cause = unwrap(e);
+        String code = errorCode(cause);
+        int status = "NoSuchKey".equals(code) || "NoSuchBucket".equals(code)
+                ? HttpServletResponse.SC_NOT_FOUND : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        logger.warn("async download failed, status: {}, error: {}", status, cause.toString());
+        try {
+            if (!response.isCommitted()) {
+                response.sendError(status);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            logger.debug("send error response failed", ex);
+        }
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException ex) {
+            // 容器已结束该请求
+        }
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(cause);
+        return failed;
+    }
+
+    private static String errorCode(Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof ErrorResponseException) {
+            return ((ErrorResponseException) cause).errorResponse().code();
+        }
+        return null;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    @MethodComment(
+            function = "默认桶-异步根据对象前缀查询对象",
+            params = {
+                    @Param(name = "prefix", description = "桶中对象的前缀 默认 空字符串"),
+                    @Param(name = "recursive", description = "是否递归子目录")
+            })
+    public CompletableFuture<List<Item>> listObjects(String prefix, boolean recursive) throws Exception {
+        return listObjects(defaultBucket, prefix, recursive);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步根据对象前缀查询对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "桶中对象的前缀 默认 空字符串"),
+                    @Param(name = "recursive", description = "是否递归子目录")
+            }, description = "逐页请求 ListObjectsV2，上一页响应到达后再发下一页，不阻塞任何线程")
+    public CompletableFuture<List<Item>> listObjects(String bucketName, String prefix, boolean recursive) throws Exception {
+        List<Item> list = new ArrayList<>();
+        return listObjectsPage(bucketName, prefix, recursive ? null : "/", null, list).thenApply(v -> list);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步删除对象-单个",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> deleteObject(String objectName) throws Exception {
+        return deleteObject(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步删除对象-单个",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> deleteObject(String bucketName, String objectName) throws Exception {
+        return evictOnComplete(minioAsyncClient.removeObject(
+                RemoveObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build()), bucketName, objectName);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步删除对象-多个",
+            params = {
+                    @Param(name = "objectNames", description = "对象名称列表，单次最多1000个")
+            })
+    public CompletableFuture<List<DeleteError>> deleteObjects(List<String> objectNames) throws Exception {
+        return deleteObjects(defaultBucket, objectNames);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步删除对象-多个",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectNames", description = "对象名称列表，单次最多1000个")
+            }, description = "返回删除失败的对象列表，全部成功时为空列表")
+    public CompletableFuture<List<DeleteError>> deleteObjects(String bucketName, List<String> objectNames) throws Exception {
+        List<DeleteObject> objects = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            objects.add(new DeleteObject(objectName));
+        }
+        CompletableFuture<List<DeleteError>> future = minioAsyncClient.deleteObjectsPageAsync(bucketName, objects)
+                .thenApply(response -> response.result().errorList());
+        if (cacheInvalidator == null) {
+            return future;
+        }
+        return future.whenComplete((errors, e) -> {
+            for (String objectName : objectNames) {
+                cacheInvalidator.invalidate(bucketName, objectName);
+            }
+        });
+    }
+
+    @MethodComment(
+            function = "默认桶-异步通过服务器端从另一个对象复制数据来创建对象",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "source", description = "已存在的源对象")
+            })
+    public CompletableFuture<ObjectWriteResponse> copyObject(String objectName, CopySource source) throws Exception {
+        return copyObject(defaultBucket, objectName, source);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步通过服务器端从另一个对象复制数据来创建对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "source", description = "已存在的源对象")
+            })
+    public CompletableFuture<ObjectWriteResponse> copyObject(String bucketName, String objectName, CopySource source) throws Exception {
+        return evictOnComplete(minioAsyncClient.copyObject(
+                CopyObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .source(source)
+                        .build()), bucketName, objectName);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步组合源对象列表",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "sourceObjectList", description = "源对象列表")
+            })
+    public CompletableFuture<ObjectWriteResponse> composeObject(String objectName, List<ComposeSource> sourceObjectList) throws Exception {
+        return composeObject(defaultBucket, objectName, sourceObjectList);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步组合源对象列表",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "sourceObjectList", description = "源对象列表")
+            })
+    public CompletableFuture<ObjectWriteResponse> composeObject(String bucketName, String objectName, List<ComposeSource> sourceObjectList) throws Exception {
+        return evictOnComplete(minioAsyncClient.composeObject(
+                ComposeObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .sources(sourceObjectList)
+                        .build()), bucketName, objectName);
+    }
+
+    @MethodComment(
+            function = "默认桶-异步设置对象的标签",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> setObjectTags(String objectName, Tags tags) throws Exception {
+        return setObjectTags(defaultBucket, objectName, tags);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步设置对象的标签",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> setObjectTags(String bucketName, String objectName, Tags tags) throws Exception {
+        return minioAsyncClient.setObjectTags(
+                SetObjectTagsArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .tags(tags).build());
+    }
+
+    @MethodComment(
+            function = "默认桶-异步获取对象的标签",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Tags> getObjectTags(String objectName) throws Exception {
+        return getObjectTags(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步获取对象的标签",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Tags> getObjectTags(String bucketName, String objectName) throws Exception {
+        return minioAsyncClient.getObjectTags(
+                GetObjectTagsArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+    }
+
+    @MethodComment(
+            function = "默认桶-异步删除对象标签",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> deleteObjectTags(String objectName) throws Exception {
+        return deleteObjectTags(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-异步删除对象标签",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            })
+    public CompletableFuture<Void> deleteObjectTags(String bucketName, String objectName) throws Exception {
+        return minioAsyncClient.deleteObjectTags(
+                DeleteObjectTagsArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build());
+    }
+
+    /**
+     * 获取底层异步客户端
+     */
+    public MinioExtendAsyncClient getMinioAsyncClient() {
+        return minioAsyncClient;
+    }
+
+    private CompletableFuture<Void> listObjectsPage(String bucketName, String prefix, String delimiter,
+                                                    String continuationToken, List<Item> list) throws Exception {
+        return minioAsyncClient.listObjectsV2PageAsync(bucketName, prefix, delimiter, null, null, continuationToken, false)
+                .thenCompose(response -> {
+                    list.addAll(response.result().contents());
+                    for (Prefix commonPrefix : response.result().commonPrefixes()) {
+                        list.add(MinioExtendAsyncClient.toItem(response.result(), commonPrefix));
+                    }
+                    String next = response.result().nextContinuationToken();
+                    if (!response.result().isTruncated() || next == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    try {
+                        return listObjectsPage(bucketName, prefix, delimiter, next, list);
+                    } catch (Exception e) {
+                        CompletableFuture<Void> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(e);
+                        return failed;
+                    }
+                });
+    }
+
+    /**
+     * 写入、删除完成后(无论成功与否，失败时对象可能已部分变更)失效缓存
+     */
+    private <T> CompletableFuture<T> evictOnComplete(CompletableFuture<T> future, String bucketName, String objectName) {
+        if (cacheInvalidator == null) {
+            return future;
+        }
+        return future.whenComplete((result, e) -> cacheInvalidator.invalidate(bucketName, objectName));
+    }
+}
@@ -1,9 +1,15 @@
 package com.dist.zja.minio;
 
+import com.dist.zja.minio.cache.BucketRegistry;
 import com.dist.zja.minio.common.annotations.ClassComment;
 import com.dist.zja.minio.common.annotations.MethodComment;
 import com.dist.zja.minio.common.annotations.Param;
 import com.dist.zja.minio.common.enums.BucetPolicyEnum;
+import com.dist.zja.minio.listing.BucketStatistics;
+import com.dist.zja.minio.listing.BucketStatisticsCollector;
+import com.dist.zja.minio.listing.ObjectLister;
+import com.dist.zja.minio.listing.ObjectSummary;
+import com.dist.zja.minio.listing.ParallelLister;
 import io.minio.MinioClient;
 import io.minio.*;
 import io.minio.messages.Bucket;
@@ -14,7 +20,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Company: 上海数慧系统技术有限公司
@@ -48,6 +56,26 @@ public class MinioBucketService {
 
     private String defaultBucket;
 
+    /**
+     * 惰性对象列举，可选
+     */
+    private ObjectLister objectLister;
+
+    /**
+     * 桶存在性登记表，可选
+     */
+    private BucketRegistry bucketRegistry;
+
+    /**
+     * 并行列举，可选
+     */
+    private ParallelLister parallelLister;
+
+    /**
+     * 桶用量统计，可选
+     */
+    private BucketStatisticsCollector statisticsCollector;
+
     public MinioBucketService(MinioClient minioClient) {
         this.minioClient = minioClient;
     }
@@ -57,10 +85,29 @@ public class MinioBucketService {
         this.defaultBucket = defaultBucket;
     }
 
+    public void setBucketRegistry(BucketRegistry bucketRegistry) {
+        this.bucketRegistry = bucketRegistry;
+    }
+
+    public void setObjectLister(ObjectLister objectLister) {
+        this.objectLister = objectLister;
+    }
+
+    public void setParallelLister(ParallelLister parallelLister) {
+        this.parallelLister = parallelLister;
+    }
+
+    public void setStatisticsCollector(BucketStatisticsCollector statisticsCollector) {
+        this.statisticsCollector = statisticsCollector;
+    }
+
     /**
      * 初始化默认桶
      */
     public void init() {
+        if (bucketRegistry != null) {
+            bucketRegistry.start();
+        }
         if (!StringUtils.isEmpty(defaultBucket)) {
             makeBucket();
             logger.info("defaultBucket: {}" + defaultBucket);
@@ -69,6 +116,15 @@ public class MinioBucketService {
         logger.info("com.dist.zja.minio.MinioBucketService  Init Success！");
     }
 
+    /**
+     * 停止桶登记表后台刷新
+     */
+    public void destroy() {
+        if (bucketRegistry != null) {
+            bucketRegistry.shutdown();
+        }
+    }
+
     /**
      * 验证桶名称规则
      * @param name
@@ -114,8 +170,12 @@ public class MinioBucketService {
         return bucketExists(defaultBucket);
     }
 
-    @MethodComment(function = "指定桶-桶是否存在")
+    @MethodComment(function = "指定桶-桶是否存在", description = "配置桶登记表时，已知存在的桶不再请求服务端")
     public boolean bucketExists(String bucketName) throws Exception {
+        if (bucketRegistry != null) {
+            return bucketRegistry.exists(bucketName,
+                    () -> minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build()));
+        }
         return minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
     }
 
@@ -133,6 +193,9 @@ public class MinioBucketService {
             boolean isExist = bucketExists(bucketName);
             if (!isExist) {
                 minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+                if (bucketRegistry != null) {
+                    bucketRegistry.markCreated(bucketName);
+                }
             }
             return true;
         } catch (Exception e) {
@@ -204,6 +267,71 @@ public class MinioBucketService {
         return null;
     }
 
+    @MethodComment(
+            function = "默认桶-惰性列举桶中的对象",
+            description = "使用默认桶 defaultBucket，必须配置 dist.minio.config.default-bucket= ")
+    public Stream<ObjectSummary> listObjectStream() {
+        validateBucketName(defaultBucket);
+        return listObjectStream(defaultBucket);
+    }
+
+    @MethodComment(
+            function = "指定桶-惰性列举桶中的对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名")
+            }, description = "递归列举，返回按需翻页的流，内存占用与对象总数无关")
+    public Stream<ObjectSummary> listObjectStream(String bucketName) {
+        return listObjectStream(bucketName, null, true, null, null, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-惰性列举桶中的对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "对象前缀，可为空"),
+                    @Param(name = "recursive", description = "是否递归子目录"),
+                    @Param(name = "startAfter", description = "从该对象名之后开始列举，可为空"),
+                    @Param(name = "maxKeys", description = "最多返回数量，为空不限制"),
+                    @Param(name = "pageSize", description = "单页数量提示，为空或超过1000时使用1000")
+            }, description = "不预先调用 bucketExists，桶不存在时翻页抛出 ObjectListException")
+    public Stream<ObjectSummary> listObjectStream(String bucketName, String prefix, boolean recursive,
+                                                  String startAfter, Integer maxKeys, Integer pageSize) {
+        if (objectLister == null) {
+            throw new IllegalStateException("ObjectLister is not configured");
+        }
+        return objectLister.stream(bucketName, prefix, recursive, startAfter, maxKeys, pageSize);
+    }
+
+    @MethodComment(
+            function = "指定桶-并行列举桶中的对象-自动分片",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "对象前缀，可为空"),
+                    @Param(name = "ordered", description = "是否按对象名升序输出")
+            }, description = "以 \"/\" 列举一层，每个公共前缀作为一个分片并发递归列举，合并为一个流；" +
+            "并发数为 dist.minio.transfer.list-concurrency。返回的流须关闭(try-with-resources)")
+    public Stream<ObjectSummary> listObjectStreamParallel(String bucketName, String prefix, boolean ordered) {
+        if (parallelLister == null) {
+            throw new IllegalStateException("ParallelLister is not configured");
+        }
+        return parallelLister.stream(bucketName, prefix, ordered);
+    }
+
+    @MethodComment(
+            function = "指定桶-并行列举桶中的对象-指定分割点",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "对象前缀，可为空"),
+                    @Param(name = "splitPoints", description = "分割点(对象名)，n 个分割点划分 n+1 个区间"),
+                    @Param(name = "ordered", description = "是否按对象名升序输出")
+            }, description = "适用于前缀分布不均匀的桶，如按已知的键分布(上次清单)给出分割点。返回的流须关闭(try-with-resources)")
+    public Stream<ObjectSummary> listObjectStreamParallel(String bucketName, String prefix, List<String> splitPoints, boolean ordered) {
+        if (parallelLister == null) {
+            throw new IllegalStateException("ParallelLister is not configured");
+        }
+        return parallelLister.stream(bucketName, prefix, splitPoints, ordered);
+    }
+
     @MethodComment(
             function = "默认桶-删除存储桶加密",
             description = "使用默认桶 defaultBucket，必须配置 dist.minio.config.default-bucket= ")
@@ -239,20 +367,19 @@ public class MinioBucketService {
             function = "指定桶-删除桶",
             params = {
                     @Param(name = "bucketName", description = "桶名")
-            }, description = "只能删除空桶")
+            }, description = "只能删除空桶，桶中有任何对象(包括0字节对象)时返回 false")
     public boolean deleteNullBucket(String bucketName) throws Exception {
         boolean flag = bucketExists(bucketName);
         if (flag) {
-            Iterable<Result<Item>> myObjects = listObjects(bucketName);
-            for (Result<Item> result : myObjects) {
-                Item item = result.get();
-                // 有对象文件，则删除失败
-                if (item.size() > 0) {
-                    return false;
-                }
+            // 有对象文件，则删除失败
+            if (!isBucketEmpty(bucketName)) {
+                return false;
             }
             // 删除存储桶，注意，只有存储桶为空时才能删除成功。
             minioClient.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
+            if (bucketRegistry != null) {
+                bucketRegistry.markDeleted(bucketName);
+            }
             flag = bucketExists(bucketName);
             if (!flag) {
                 return true;
@@ -261,6 +388,65 @@ public class MinioBucketService {
         return false;
     }
 
+    @MethodComment(
+            function = "默认桶-桶是否为空",
+            description = "使用默认桶 defaultBucket，必须配置 dist.minio.config.default-bucket= ")
+    public boolean isBucketEmpty() throws Exception {
+        validateBucketName(defaultBucket);
+        return isBucketEmpty(defaultBucket);
+    }
+
+    @MethodComment(
+            function = "指定桶-桶是否为空",
+            params = {
+                    @Param(name = "bucketName", description = "桶名")
+            }, description = "只请求一页且 max-keys=1，耗时与桶内对象数无关；0字节对象也算作非空。桶不存在时抛出 ErrorResponseException")
+    public boolean isBucketEmpty(String bucketName) throws Exception {
+        Iterator<Result<Item>> iterator = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .recursive(true)
+                .maxKeys(1)
+                .build()).iterator();
+        if (!iterator.hasNext()) {
+            return true;
+        }
+        // 列举失败(如桶不存在)时在此抛出
+        iterator.next().get();
+        return false;
+    }
+
+    @MethodComment(
+            function = "默认桶-桶用量统计",
+            description = "使用默认桶 defaultBucket，必须配置 dist.minio.config.default-bucket= ")
+    public BucketStatistics getBucketStatistics() throws Exception {
+        validateBucketName(defaultBucket);
+        return getBucketStatistics(defaultBucket, null, 1.0);
+    }
+
+    @MethodComment(
+            function = "指定桶-桶用量统计",
+            params = {
+                    @Param(name = "bucketName", description = "桶名")
+            })
+    public BucketStatistics getBucketStatistics(String bucketName) throws Exception {
+        return getBucketStatistics(bucketName, null, 1.0);
+    }
+
+    @MethodComment(
+            function = "指定桶-桶用量统计-抽样",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "统计范围前缀，可为空"),
+                    @Param(name = "sampleRate", description = "抽样比例 (0, 1]，1 为全量统计")
+            }, description = "统计对象数、总字节数、大小分布和按下一层前缀的用量。各前缀在 dist.minio.transfer.list-concurrency 个线程中并发列举；" +
+            "sampleRate 小于 1 时只列举该比例的前缀并推算全量(见 estimatedObjectCount/estimatedTotalBytes)，适合千万级对象的桶快速估算")
+    public BucketStatistics getBucketStatistics(String bucketName, String prefix, double sampleRate) throws Exception {
+        if (statisticsCollector == null) {
+            throw new IllegalStateException("BucketStatisticsCollector is not configured");
+        }
+        return statisticsCollector.collect(bucketName, prefix, sampleRate);
+    }
+
     @MethodComment(
             function = "默认桶-获取桶策略",
             description = "使用默认桶 defaultBucket，必须配置 dist.minio.config.default-bucket= ")
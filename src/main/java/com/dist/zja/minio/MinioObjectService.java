@@ -3,28 +3,49 @@ package com.dist.zja.minio;
 import com.dist.zja.minio.common.annotations.ClassComment;
 import com.dist.zja.minio.common.annotations.MethodComment;
 import com.dist.zja.minio.common.annotations.Param;
+import com.dist.zja.minio.cache.DiskObjectCache;
+import com.dist.zja.minio.cache.ObjectCacheInvalidator;
+import com.dist.zja.minio.cache.ObjectMetadataCache;
+import com.dist.zja.minio.cache.PresignedUrlCache;
+import com.dist.zja.minio.cache.QrCodeCache;
+import com.dist.zja.minio.cache.SmallObjectCache;
+import com.dist.zja.minio.common.enums.QrCodeFormatEnum;
+import com.dist.zja.minio.common.utils.HttpRangeUtils;
 import com.dist.zja.minio.common.utils.ZxingOrCodeUtils;
+import com.dist.zja.minio.listing.ObjectLister;
+import com.dist.zja.minio.listing.ObjectSummary;
+import com.dist.zja.minio.listing.PrefixDeleteResult;
+import com.dist.zja.minio.listing.PrefixDeleter;
 import com.dist.zja.minio.properties.MinioProperties;
+import com.dist.zja.minio.transfer.FolderUploadResult;
+import com.dist.zja.minio.transfer.FolderUploader;
+import com.dist.zja.minio.transfer.MultipartOutputStream;
+import com.dist.zja.minio.transfer.MultipartUploader;
+import com.dist.zja.minio.transfer.ParallelDownloader;
 import com.google.common.io.ByteStreams;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.EncodeHintType;
-import com.google.zxing.MultiFormatWriter;
 import com.google.zxing.common.BitMatrix;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import io.minio.messages.*;
+import okhttp3.Headers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Company: 上海数慧系统技术有限公司
@@ -39,12 +60,89 @@ public class MinioObjectService {
 
     public static Logger logger = LoggerFactory.getLogger(MinioObjectService.class);
 
+    /**
+     * 响应下载复制缓冲区，每个(servlet)线程一个，避免每次请求分配
+     */
+    private static final ThreadLocal<byte[]> COPY_BUFFER = ThreadLocal.withInitial(() -> new byte[128 * 1024]);
+
     private MinioClient minioClient;
 
     private String url;
 
     private String defaultBucket;
 
+    /**
+     * 并行分片上传引擎，可选
+     */
+    private MultipartUploader multipartUploader;
+
+    /**
+     * 并行分段下载引擎，可选
+     */
+    private ParallelDownloader parallelDownloader;
+
+    /**
+     * 惰性对象列举，可选
+     */
+    private ObjectLister objectLister;
+
+    /**
+     * 按前缀批量删除，可选
+     */
+    private PrefixDeleter prefixDeleter;
+
+    /**
+     * 对象元数据缓存，可选
+     */
+    private ObjectMetadataCache metadataCache;
+
+    /**
+     * 预签名 URL 缓存，可选
+     */
+    private PresignedUrlCache presignedUrlCache;
+
+    /**
+     * 二维码输出缓存，可选
+     */
+    private QrCodeCache qrCodeCache;
+
+    /**
+     * 热点对象磁盘缓存，可选
+     */
+    private DiskObjectCache diskCache;
+
+    /**
+     * 小对象堆外内存缓存，可选
+     */
+    private SmallObjectCache smallObjectCache;
+
+    /**
+     * 写入、删除对象后失效以上缓存，随缓存设置更新
+     */
+    private ObjectCacheInvalidator cacheInvalidator = new ObjectCacheInvalidator(null, null, null);
+
+    /**
+     * 磁盘缓存回源：直接 HEAD 校验 ETag(不经元数据缓存)，以 ETag 作为前置条件下载
+     */
+    private final DiskObjectCache.Loader diskCacheLoader = new DiskObjectCache.Loader() {
+        @Override
+        public StatObjectResponse stat(String bucketName, String objectName) throws Exception {
+            return minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .build());
+        }
+
+        @Override
+        public InputStream open(String bucketName, String objectName, String etag) throws Exception {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .matchETag(etag)
+                    .build());
+        }
+    };
+
     public MinioObjectService(MinioClient minioClient) {
         this.minioClient = minioClient;
     }
@@ -59,6 +157,74 @@ public class MinioObjectService {
         logger.info("com.dist.zja.minio.MinIoObjectService  Init Success！");
     }
 
+    public void setMetadataCache(ObjectMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+        this.cacheInvalidator = new ObjectCacheInvalidator(metadataCache, diskCache, smallObjectCache);
+    }
+
+    /**
+     * 对象元数据缓存(含命中统计)，未启用时为 null
+     */
+    public ObjectMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    public void setPresignedUrlCache(PresignedUrlCache presignedUrlCache) {
+        this.presignedUrlCache = presignedUrlCache;
+    }
+
+    /**
+     * 预签名 URL 缓存(含命中统计)，未启用时为 null
+     */
+    public PresignedUrlCache getPresignedUrlCache() {
+        return presignedUrlCache;
+    }
+
+    public void setQrCodeCache(QrCodeCache qrCodeCache) {
+        this.qrCodeCache = qrCodeCache;
+    }
+
+    public void setDiskCache(DiskObjectCache diskCache) {
+        this.diskCache = diskCache;
+        this.cacheInvalidator = new ObjectCacheInvalidator(metadataCache, diskCache, smallObjectCache);
+    }
+
+    public DiskObjectCache getDiskCache() {
+        return diskCache;
+    }
+
+    public void setSmallObjectCache(SmallObjectCache smallObjectCache) {
+        this.smallObjectCache = smallObjectCache;
+        this.cacheInvalidator = new ObjectCacheInvalidator(metadataCache, diskCache, smallObjectCache);
+    }
+
+    /**
+     * 失效本服务所用缓存的组件，异步、响应式对象服务写入对象后也应经它失效
+     */
+    public ObjectCacheInvalidator getCacheInvalidator() {
+        return cacheInvalidator;
+    }
+
+    public SmallObjectCache getSmallObjectCache() {
+        return smallObjectCache;
+    }
+
+    public void setObjectLister(ObjectLister objectLister) {
+        this.objectLister = objectLister;
+    }
+
+    public void setPrefixDeleter(PrefixDeleter prefixDeleter) {
+        this.prefixDeleter = prefixDeleter;
+    }
+
+    public void setMultipartUploader(MultipartUploader multipartUploader) {
+        this.multipartUploader = multipartUploader;
+    }
+
+    public void setParallelDownloader(ParallelDownloader parallelDownloader) {
+        this.parallelDownloader = parallelDownloader;
+    }
+
     @MethodComment(
             function = "默认桶-创建对象(文件夹or目录)",
             params = {
@@ -76,10 +242,14 @@ public class MinioObjectService {
                     @Param(name = "folderName", description = "对象id(存储名称)")
             }, description = "创建对象以“ /”结尾（也称为文件夹或目录）")
     public ObjectWriteResponse putObjectByFolder(String bucketName, String folderName) throws Exception {
-        return minioClient.putObject(
-                PutObjectArgs.builder().bucket(bucketName).object(folderName + "/").stream(
-                        new ByteArrayInputStream(new byte[]{}), 0, -1)
-                        .build());
+        try {
+            return minioClient.putObject(
+                    PutObjectArgs.builder().bucket(bucketName).object(folderName + "/").stream(
+                            new ByteArrayInputStream(new byte[]{}), 0, -1)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, folderName + "/");
+        }
     }
 
     @MethodComment(
@@ -88,8 +258,8 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象id(存储名称)"),
                     @Param(name = "filePath", description = "本地对象路径")
             })
-    public void putObjectFolder(String objectName, String folderPath) throws Exception {
-        putObjectFolder(defaultBucket, objectName, folderPath);
+    public FolderUploadResult putObjectFolder(String objectName, String folderPath) throws Exception {
+        return putObjectFolder(defaultBucket, objectName, folderPath);
     }
 
     @MethodComment(
@@ -97,15 +267,15 @@ public class MinioObjectService {
             params = {
                     @Param(name = "objectName", description = "对象id(存储名称)"),
                     @Param(name = "filePath", description = "本地对象路径")
-            })
-    public void putObjectFolder(String bucketName, String objectName, String folderPath) throws Exception {
-        if (Files.isDirectory(Paths.get(folderPath))) {
-            File dir = new File(folderPath);
-            if (dir.list().length < 0) {
-                throw new NullPointerException(" Directory is null !");
-            }
-            uploadFolder(bucketName, objectName, dir);
+            }, description = "并发增量上传目录，远端大小和修改时间一致的文件跳过，返回上传、跳过、失败数量和字节数、耗时")
+    public FolderUploadResult putObjectFolder(String bucketName, String objectName, String folderPath) throws Exception {
+        Path folder = Paths.get(folderPath);
+        if (!Files.isDirectory(folder)) {
+            return new FolderUploadResult();
         }
+        FolderUploader folderUploader = new FolderUploader(minioClient,
+                multipartUploader != null ? multipartUploader.getExecutor() : null);
+        return folderUploader.upload(bucketName, objectName, folder, this::uploadFile);
     }
 
     @MethodComment(
@@ -124,14 +294,57 @@ public class MinioObjectService {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "对象id(存储名称)"),
                     @Param(name = "filePath", description = "本地对象路径")
-            })
+            }, description = "文件大小达到 dist.minio.transfer.multipart-threshold 时按分片并行上传")
     public ObjectWriteResponse putObject(String bucketName, String objectName, String filename) throws Exception {
-        return minioClient.uploadObject(
-                UploadObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .filename(filename)
-                        .build());
+        try {
+            if (multipartUploader != null) {
+                Path path = Paths.get(filename);
+                if (Files.isRegularFile(path) && multipartUploader.isMultipart(Files.size(path))) {
+                    return multipartUploader.uploadFile(bucketName, objectName, path, null, null);
+                }
+            }
+            return minioClient.uploadObject(
+                    UploadObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .filename(filename)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
+    }
+
+    @MethodComment(
+            function = "默认桶-断点续传-本地对象路径",
+            params = {
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filePath", description = "本地对象路径")
+            }, description = "失败后以相同参数再次调用，只上传服务端缺失的分片")
+    public ObjectWriteResponse putObjectResumable(String objectName, String filename) throws Exception {
+        return putObjectResumable(defaultBucket, objectName, filename);
+    }
+
+    @MethodComment(
+            function = "指定桶-断点续传-本地对象路径",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filePath", description = "本地对象路径")
+            }, description = "上传进度(uploadId、已完成分片号和 ETag)记录在 dist.minio.transfer.journal-directory 中，" +
+            "失败后以相同参数再次调用，只上传服务端缺失的分片；本地文件被修改后重新上传。小于分片阈值的文件直接上传")
+    public ObjectWriteResponse putObjectResumable(String bucketName, String objectName, String filename) throws Exception {
+        if (multipartUploader == null || multipartUploader.getUploadJournal() == null) {
+            throw new IllegalStateException("resumable upload requires MultipartUploader with UploadJournal");
+        }
+        Path path = Paths.get(filename);
+        if (!multipartUploader.isMultipart(Files.size(path))) {
+            return putObject(bucketName, objectName, filename);
+        }
+        try {
+            return multipartUploader.uploadFileResumable(bucketName, objectName, path, null, null);
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -139,7 +352,7 @@ public class MinioObjectService {
             params = {
                     @Param(name = "objectName", description = "存储桶里的对象名称"),
                     @Param(name = "multipartFile", description = "多部分单个对象")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObjectByMultipartFile(String objectName, MultipartFile multipartFile) {
         return putObjectByMultipartFile(defaultBucket, objectName, multipartFile);
     }
@@ -150,9 +363,13 @@ public class MinioObjectService {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "存储桶里的对象名称"),
                     @Param(name = "multipartFile", description = "多部分单个对象")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObjectByMultipartFile(String bucketName, String objectName, MultipartFile multipartFile) {
         try (InputStream inputStream = multipartFile.getInputStream()) {
+            if (multipartUploader != null && multipartUploader.isMultipart(multipartFile.getSize())) {
+                return multipartUploader.uploadStream(bucketName, objectName, inputStream, multipartFile.getSize(),
+                        multipartFile.getContentType(), null);
+            }
             return minioClient.putObject(PutObjectArgs.builder()
                     .bucket(bucketName)
                     .object(objectName)
@@ -162,7 +379,8 @@ public class MinioObjectService {
                     .build());
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
-            e.printStackTrace();
+        } finally {
+            evictMetadata(bucketName, objectName);
         }
         return null;
     }
@@ -172,7 +390,7 @@ public class MinioObjectService {
             params = {
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String objectName, InputStream stream) {
         return putObject(defaultBucket, objectName, stream);
     }
@@ -183,24 +401,18 @@ public class MinioObjectService {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String bucketName, String objectName, InputStream stream) {
         try {
-            ObjectWriteResponse objectWriteResponse = minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    // Upload unknown sized input stream 上载大小未知的输入流
-//                    .stream(stream, stream.available(), ObjectWriteArgs.MAX_PART_SIZE)
-                    .stream(stream, stream.available(), -1)
-                    .build());
-            return objectWriteResponse;
+            // Upload unknown sized input stream 上载大小未知的输入流
+            return putUnknownSizeStream(bucketName, objectName, stream, null, null, null);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error(e.getMessage(), e);
         } finally {
             try {
                 stream.close();
             } catch (IOException e) {
-                e.printStackTrace();
+                logger.error(e.getMessage(), e);
             }
         }
         return null;
@@ -211,7 +423,7 @@ public class MinioObjectService {
             params = {
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String objectName, InputStream stream, Map<String, String> headers, Map<String, String> userMetadata) {
         return putObject(defaultBucket, objectName, stream, headers, userMetadata);
     }
@@ -222,27 +434,18 @@ public class MinioObjectService {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String bucketName, String objectName, InputStream stream, Map<String, String> headers, Map<String, String> userMetadata) {
         try {
-            ObjectWriteResponse objectWriteResponse = minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    // Upload unknown sized input stream 上载大小未知的输入流，底层自动检查分片上传
-//                    .stream(stream, -1, ObjectWriteArgs.MAX_OBJECT_SIZE)
-                    .stream(stream, stream.available(), -1)
-                    // Upload input stream with headers and user metadata  上传带有标题和用户元数据的输入流
-                    .headers(headers)
-                    .userMetadata(userMetadata)
-                    .build());
-            return objectWriteResponse;
+            // Upload input stream with headers and user metadata  上传带有标题和用户元数据的输入流
+            return putUnknownSizeStream(bucketName, objectName, stream, null, headers, userMetadata);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error(e.getMessage(), e);
         } finally {
             try {
                 stream.close();
             } catch (IOException e) {
-                e.printStackTrace();
+                logger.error(e.getMessage(), e);
             }
         }
         return null;
@@ -254,7 +457,7 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流"),
                     @Param(name = "contentType", description = "内容类型")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String objectName, InputStream stream, String contentType) {
         return putObject(defaultBucket, objectName, stream, contentType);
     }
@@ -266,28 +469,58 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象名称"),
                     @Param(name = "InputStream", description = "对象流"),
                     @Param(name = "contentType", description = "内容类型")
-            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。这样，当上传失败时，客户端只需要上传未成功的部分即可（类似断点上传）。上传的对象使用MD5SUM签名进行完整性验证")
+            }, description = "单个对象的最大大小限制在5TB。putObject在对象大于5MiB时，自动使用multiple parts方式上传。上传失败后需重新上传，本地文件断点续传请使用 putObjectResumable。上传的对象使用MD5SUM签名进行完整性验证")
     public ObjectWriteResponse putObject(String bucketName, String objectName, InputStream stream, String contentType) {
         try {
-            ObjectWriteResponse objectWriteResponse = minioClient.putObject(PutObjectArgs.builder()
-                    .bucket(bucketName)
-                    .object(objectName)
-                    .stream(stream, stream.available(), -1)
-                    .contentType(contentType)
-                    .build());
-            return objectWriteResponse;
+            return putUnknownSizeStream(bucketName, objectName, stream, contentType, null, null);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error(e.getMessage(), e);
         } finally {
             try {
                 stream.close();
             } catch (IOException e) {
-                e.printStackTrace();
+                logger.error(e.getMessage(), e);
             }
         }
         return null;
     }
 
+    @MethodComment(
+            function = "默认桶-打开对象输出流",
+            params = {
+                    @Param(name = "objectName", description = "对象名称")
+            }, description = "写满一个分片即在后台上传，close() 时完成上传")
+    public MultipartOutputStream openOutputStream(String objectName) {
+        return openOutputStream(defaultBucket, objectName, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-打开对象输出流",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象名称")
+            }, description = "写满一个分片即在后台上传，close() 时完成上传")
+    public MultipartOutputStream openOutputStream(String bucketName, String objectName) {
+        return openOutputStream(bucketName, objectName, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-打开对象输出流",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象名称"),
+                    @Param(name = "contentType", description = "内容类型")
+            }, description = "写满一个分片即在后台上传，调用方继续写入，堆内存占用仅为少量分片缓冲区；" +
+            "close() 时完成上传，写入异常时调用 abort() 放弃上传。须配置并行分片上传引擎")
+    public MultipartOutputStream openOutputStream(String bucketName, String objectName, String contentType) {
+        if (multipartUploader == null) {
+            throw new IllegalStateException("openOutputStream requires MultipartUploader, see dist.minio.transfer");
+        }
+        MultipartOutputStream outputStream = multipartUploader.openOutputStream(bucketName, objectName, contentType, null);
+        outputStream.setCloseListener(() -> evictMetadata(bucketName, objectName));
+        return outputStream;
+    }
+
     @MethodComment(
             function = "默认桶-获取对象流",
             params = {
@@ -302,13 +535,60 @@ public class MinioObjectService {
             params = {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "存储桶里的对象名称")
-            })
+            }, description = "启用 dist.minio.cache.small 时小对象从堆外内存缓存读取；" +
+            "启用 dist.minio.cache.disk 时，不超过 max-object-size 的对象从本地磁盘缓存读取")
     public GetObjectResponse getObject(String bucketName, String objectName) throws Exception {
-        return minioClient.getObject(
+        SmallObjectCache.LoadVersion smallVersion = null;
+        if (smallObjectCache != null) {
+            SmallObjectCache.Entry hit = smallObjectCache.get(bucketName, objectName);
+            if (hit != null) {
+                return new GetObjectResponse(hit.headers(), bucketName, null, objectName, hit.openStream());
+            }
+            smallVersion = smallObjectCache.version(bucketName, objectName);
+        }
+        if (diskCache != null) {
+            DiskObjectCache.CachedObject cached = diskCache.get(bucketName, objectName, diskCacheLoader);
+            if (cached != null) {
+                Headers headers = new Headers.Builder()
+                        .add("ETag", HttpRangeUtils.quote(cached.etag()))
+                        .add("Content-Type", cached.contentType() != null ? cached.contentType() : "application/octet-stream")
+                        .add("Content-Length", Long.toString(cached.size()))
+                        .add("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                cached.lastModified().withZoneSameInstant(ZoneOffset.UTC)))
+                        .build();
+                // 磁盘命中的热点小对象同样进入内存缓存，之后不再读盘
+                return admitSmallObject(new GetObjectResponse(headers, bucketName, null, objectName, cached.openStream()),
+                        smallVersion);
+            }
+        }
+        GetObjectResponse response = validateMetadata(minioClient.getObject(
                 GetObjectArgs.builder()
                         .bucket(bucketName)
                         .object(objectName)
-                        .build());
+                        .build()));
+        return admitSmallObject(response, smallVersion);
+    }
+
+    /**
+     * 启用小对象缓存且对象不超过 max-object-size 时读完响应存入缓存并关闭响应，返回缓存内容；否则返回未读的响应
+     */
+    private GetObjectResponse admitSmallObject(GetObjectResponse response, SmallObjectCache.LoadVersion smallVersion)
+            throws IOException {
+        if (smallObjectCache == null) {
+            return response;
+        }
+        SmallObjectCache.Entry entry;
+        try {
+            entry = smallObjectCache.admit(response.bucket(), response.object(), response.headers(), response, smallVersion);
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+        if (entry == null) {
+            return response;
+        }
+        response.close();
+        return new GetObjectResponse(entry.headers(), response.bucket(), null, response.object(), entry.openStream());
     }
 
     @MethodComment(
@@ -333,13 +613,13 @@ public class MinioObjectService {
             },
             description = "下载对象指定区域的字节数组做为流。（断点下载）")
     public GetObjectResponse getObject(String bucketName, String objectName, Long offset, Long length) throws Exception {
-        return minioClient.getObject(
+        return validateMetadata(minioClient.getObject(
                 GetObjectArgs.builder()
                         .bucket(bucketName)
                         .object(objectName)
                         .offset(offset)
                         .length(length)
-                        .build());
+                        .build()));
     }
 
     @MethodComment(
@@ -363,19 +643,152 @@ public class MinioObjectService {
         // 设置编码
         response.setCharacterEncoding("UTF-8");
         try (ServletOutputStream os = response.getOutputStream();
-             GetObjectResponse is = minioClient.getObject(
-                     GetObjectArgs.builder()
-                             .bucket(bucketName)
-                             .object(objectName)
-                             .build());) {
+             GetObjectResponse is = getObject(bucketName, objectName)) {
 
             response.setHeader("Content-Disposition", "attachment;objectName=" +
                     new String(objectName.getBytes("gb2312"), "ISO8859-1"));
             ByteStreams.copy(is, os);
             os.flush();
         } catch (Exception e) {
-            logger.error(e.getMessage());
-            e.printStackTrace();
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    @MethodComment(
+            function = "默认桶-对象下载-流-response方式-支持Range和条件请求",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "request", description = "request，读取 Range、If-Range、If-None-Match、If-Modified-Since"),
+                    @Param(name = "response", description = "response")
+            })
+    public void downloadObject(String objectName, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        downloadObject(defaultBucket, objectName, request, response);
+    }
+
+    @MethodComment(
+            function = "指定桶-对象下载-流-response方式-支持Range和条件请求",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "request", description = "request，读取 Range、If-Range、If-None-Match、If-Modified-Since"),
+                    @Param(name = "response", description = "response")
+            },
+            description = "设置 Content-Length、Content-Type、ETag、Last-Modified、Accept-Ranges；" +
+                    "缓存有效时返回 304，单个字节区间返回 206，区间无法满足返回 416，多区间返回完整内容。" +
+                    "读取对象时以 ETag 作为前置条件，对象在 statObject 之后被修改时重新获取元数据")
+    public void downloadObject(String bucketName, String objectName, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (diskCache != null) {
+            try (DiskObjectCache.CachedObject cached = diskCache.get(bucketName, objectName, diskCacheLoader)) {
+                if (cached != null) {
+                    HttpRangeUtils.ByteRange range = prepareResponse(cached.size(), cached.etag(), cached.lastModified(),
+                            request, response);
+                    if (range != HttpRangeUtils.ByteRange.UNSATISFIABLE) {
+                        range = writeContentHeaders(objectName, cached.size(), range, cached.contentType(), response);
+                        ServletOutputStream os = response.getOutputStream();
+                        cached.transferTo(range.getStart(), range.getLength(), Channels.newChannel(os));
+                        os.flush();
+                    }
+                    return;
+                }
+            }
+        }
+        StatObjectResponse stat = statObject(bucketName, objectName);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                serveObject(stat, request, response);
+                return;
+            } catch (ErrorResponseException e) {
+                if (attempt > 0 || response.isCommitted() || !"PreconditionFailed".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+                evictMetadata(bucketName, objectName);
+                // 只清空缓冲区和状态码，保留过滤器等上游设置的响应头(CORS、安全头)，由 prepareResponse、writeContentHeaders 覆盖自己设置的响应头
+                response.resetBuffer();
+                response.setStatus(HttpServletResponse.SC_OK);
+                stat = statObject(bucketName, objectName);
+            }
+        }
+    }
+
+    private void serveObject(StatObjectResponse stat, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        HttpRangeUtils.ByteRange range = prepareResponse(stat.size(), stat.etag(), stat.lastModified(), request, response);
+        if (range == HttpRangeUtils.ByteRange.UNSATISFIABLE) {
+            return;
+        }
+        GetObjectArgs.Builder args = GetObjectArgs.builder()
+                .bucket(stat.bucket())
+                .object(stat.object())
+                .matchETag(stat.etag());
+        if (range != null && range.getLength() < stat.size()) {
+            args.offset(range.getStart()).length(range.getLength());
+        }
+        try (GetObjectResponse is = validateMetadata(minioClient.getObject(args.build()))) {
+            // 读取成功后再设置 206 和内容响应头，前置条件失败重试时响应中不残留上次的区间
+            HttpRangeUtils.ByteRange content = writeContentHeaders(stat.object(), stat.size(), range, stat.contentType(), response);
+            ServletOutputStream os = response.getOutputStream();
+            copy(is, os, content.getLength());
+            os.flush();
+        }
+    }
+
+    /**
+     * 设置校验响应头并处理条件请求
+     *
+     * @return null 表示返回完整内容；ByteRange.UNSATISFIABLE 表示已返回 304 或 416，无需写出内容
+     */
+    private static HttpRangeUtils.ByteRange prepareResponse(long size, String etag, ZonedDateTime lastModifiedTime,
+                                                            HttpServletRequest request, HttpServletResponse response) {
+        String quotedEtag = HttpRangeUtils.quote(etag);
+        long lastModified = lastModifiedTime.toInstant().toEpochMilli();
+
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", quotedEtag);
+        response.setDateHeader("Last-Modified", lastModified);
+        if (HttpRangeUtils.isNotModified(request, quotedEtag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return HttpRangeUtils.ByteRange.UNSATISFIABLE;
+        }
+
+        HttpRangeUtils.ByteRange range = HttpRangeUtils.resolveRange(request, quotedEtag, lastModified, size);
+        if (range != null && !range.isSatisfiable()) {
+            response.setHeader("Content-Range", "bytes */" + size);
+            response.setStatus(416);
+        }
+        return range;
+    }
+
+    /**
+     * 设置状态码和内容响应头，返回需写出的区间(完整内容为整个对象)
+     *
+     * @param range prepareResponse 返回的区间，null 表示完整内容
+     */
+    private static HttpRangeUtils.ByteRange writeContentHeaders(String objectName, long size, HttpRangeUtils.ByteRange range,
+                                                                String contentType, HttpServletResponse response) {
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", range.toContentRange(size));
+        } else {
+            range = HttpRangeUtils.ByteRange.full(size);
+        }
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setContentLengthLong(range.getLength());
+        response.setHeader("Content-Disposition", HttpRangeUtils.contentDisposition("attachment", objectName));
+        return range;
+    }
+
+    /**
+     * 以线程复用的缓冲区复制 length 个字节
+     */
+    private static void copy(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = COPY_BUFFER.get();
+        long remaining = length;
+        while (remaining > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n < 0) {
+                throw new EOFException("premature end of object, " + remaining + " bytes remaining");
+            }
+            out.write(buffer, 0, n);
+            remaining -= n;
         }
     }
 
@@ -404,6 +817,32 @@ public class MinioObjectService {
                 .build());
     }
 
+    @MethodComment(
+            function = "默认桶-并行下载对象-下载到本服务器",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "filename", description = "对象存储位置")
+            }, description = "按字节区间并发下载，校验大小和ETag后原子替换目标文件")
+    public long downloadObjectParallel(String objectName, String filename) throws Exception {
+        return downloadObjectParallel(defaultBucket, objectName, filename);
+    }
+
+    @MethodComment(
+            function = "指定桶-并行下载对象-下载到本服务器",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "filename", description = "对象存储位置")
+            }, description = "按字节区间并发下载，校验大小和ETag后原子替换目标文件，返回下载字节数；未配置并行下载引擎时退化为普通下载")
+    public long downloadObjectParallel(String bucketName, String objectName, String filename) throws Exception {
+        StatObjectResponse stat = statObject(bucketName, objectName);
+        if (parallelDownloader == null) {
+            downloadObject(bucketName, objectName, filename);
+            return stat.size();
+        }
+        return parallelDownloader.download(stat, Paths.get(filename), this::getObject, true);
+    }
+
     @MethodComment(
             function = "默认桶-获取对象信息和对象的元数据",
             params = {
@@ -422,12 +861,17 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "存储桶里的对象名称"),
                     @Param(name = "filename", description = "对象存储位置")
             },
-            description = "调用statObject()来判断对象是否存在,如果不存在, statObject()抛出异常")
+            description = "调用statObject()来判断对象是否存在,如果不存在, statObject()抛出异常。" +
+                    "启用 dist.minio.cache.metadata 时结果(含不存在)会被缓存")
     public StatObjectResponse statObject(String bucketName, String objectName) throws Exception {
-        return minioClient.statObject(StatObjectArgs.builder()
+        StatObjectArgs args = StatObjectArgs.builder()
                 .bucket(bucketName)
                 .object(objectName)
-                .build());
+                .build();
+        if (metadataCache == null) {
+            return minioClient.statObject(args);
+        }
+        return metadataCache.get(bucketName, objectName, () -> minioClient.statObject(args));
     }
 
     @MethodComment(
@@ -448,10 +892,7 @@ public class MinioObjectService {
             },
             description = "调用statObject()来判断对象是否存在,如果不存在, statObject()抛出异常")
     public Map<String, String> getObjectUserMetadata(String bucketName, String objectName) throws Exception {
-        return minioClient.statObject(StatObjectArgs.builder()
-                .bucket(bucketName)
-                .object(objectName)
-                .build()).userMetadata();
+        return statObject(bucketName, objectName).userMetadata();
     }
 
     @MethodComment(
@@ -521,12 +962,7 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "存储桶里的对象名称")
             }, description = "默认分享链接地址失效时间为7天")
     public String getObjectShareLink(String bucketName, String objectName) throws Exception {
-        return minioClient.getPresignedObjectUrl(
-                GetPresignedObjectUrlArgs.builder()
-                        .method(Method.GET)
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .build());
+        return getObjectShareLink(bucketName, objectName, GetPresignedObjectUrlArgs.DEFAULT_EXPIRY_TIME);
     }
 
     @MethodComment(
@@ -547,14 +983,19 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
                     @Param(name = "expiry", description = "失效时间（以秒为单位），默认是7天，不得大于七天")
             },
-            description = "设置有效期的分享链接（共享文件时间最大7天）。生成一个给HTTP GET请求用的presigned URL。浏览器/移动端的客户端可以用这个URL进行下载，即使其所在的存储桶是私有的。这个presigned URL可以设置一个失效时间，默认值是7天")
+            description = "设置有效期的分享链接（共享文件时间最大7天）。生成一个给HTTP GET请求用的presigned URL。浏览器/移动端的客户端可以用这个URL进行下载，即使其所在的存储桶是私有的。这个presigned URL可以设置一个失效时间，默认值是7天。" +
+                    "启用 dist.minio.cache.presigned 时复用未过期的签名，剩余有效期不低于 expiry * min-remaining-fraction")
     public String getObjectShareLink(String bucketName, String objectName, int expiry) throws Exception {
-        return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+        GetPresignedObjectUrlArgs args = GetPresignedObjectUrlArgs.builder()
                 .bucket(bucketName)
                 .object(objectName)
                 .method(Method.GET)
                 .expiry(expiry)
-                .build());
+                .build();
+        if (presignedUrlCache == null) {
+            return minioClient.getPresignedObjectUrl(args);
+        }
+        return presignedUrlCache.get(bucketName, objectName, Method.GET, expiry, () -> minioClient.getPresignedObjectUrl(args));
     }
 
     @MethodComment(
@@ -577,16 +1018,48 @@ public class MinioObjectService {
             },
             description = "设置有效期的分享链接（共享文件时间最大7天）")
     public String getObjectShareQRcode(String bucketName, String objectName, int expiry) throws Exception {
+        return getObjectShareQRcode(bucketName, objectName, expiry, 200, QrCodeFormatEnum.PNG);
+    }
+
+    @MethodComment(
+            function = "默认桶-获取对象外链二维码-自定义尺寸和格式",
+            params = {
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "expiry", description = "失效时间（以秒为单位），不得大于七天"),
+                    @Param(name = "size", description = "最大边长(像素)"),
+                    @Param(name = "format", description = "PNG 返回 Base64 编码的 PNG，SVG 返回 SVG 文本")
+            },
+            description = "无白边，按整数倍放大到不超过 size 的最大尺寸")
+    public String getObjectShareQRcode(String objectName, int expiry, int size, QrCodeFormatEnum format) throws Exception {
+        return getObjectShareQRcode(defaultBucket, objectName, expiry, size, format);
+    }
 
-        Map<EncodeHintType, Object> hints = new HashMap<EncodeHintType, Object>();
-        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
-        BitMatrix bitMatrix = new MultiFormatWriter().encode(getObjectShareLink(bucketName, objectName, expiry),
-                BarcodeFormat.QR_CODE, 200, 200, hints);
-        BufferedImage image = ZxingOrCodeUtils.deleteWhite(bitMatrix);
+    @MethodComment(
+            function = "指定桶-获取对象外链二维码-自定义尺寸和格式",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)"),
+                    @Param(name = "expiry", description = "失效时间（以秒为单位），不得大于七天"),
+                    @Param(name = "size", description = "最大边长(像素)"),
+                    @Param(name = "format", description = "PNG 返回 Base64 编码的 PNG，SVG 返回 SVG 文本")
+            },
+            description = "无白边，按整数倍放大到不超过 size 的最大尺寸；PNG 为 1 位黑白图像，直接由模块矩阵写入。" +
+                    "结果按分享链接缓存，同时启用预签名 URL 缓存时批量生成可直接命中")
+    public String getObjectShareQRcode(String bucketName, String objectName, int expiry, int size, QrCodeFormatEnum format) throws Exception {
+        String link = getObjectShareLink(bucketName, objectName, expiry);
+        if (qrCodeCache == null) {
+            return renderQRcode(link, size, format);
+        }
+        return qrCodeCache.get(link, size, format, () -> renderQRcode(link, size, format));
+    }
 
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", stream);
-        return org.apache.axis.encoding.Base64.encode(stream.toByteArray());
+    private static String renderQRcode(String content, int size, QrCodeFormatEnum format) throws Exception {
+        BitMatrix modules = ZxingOrCodeUtils.encodeModules(content);
+        int scale = ZxingOrCodeUtils.scaleFor(modules, size);
+        if (format == QrCodeFormatEnum.SVG) {
+            return ZxingOrCodeUtils.toSvg(modules, scale);
+        }
+        return Base64.getEncoder().encodeToString(ZxingOrCodeUtils.toPng(modules, scale));
     }
 
     @MethodComment(
@@ -627,6 +1100,35 @@ public class MinioObjectService {
         return list;
     }
 
+    @MethodComment(
+            function = "默认桶-根据对象前缀惰性查询对象",
+            params = {
+                    @Param(name = "prefix", description = "桶中对象的前缀，可为空"),
+                    @Param(name = "recursive", description = "是否递归子目录")
+            }, description = "返回按需翻页的流，内存占用与对象总数无关，使用完毕后无需关闭")
+    public Stream<ObjectSummary> listObjectStream(String prefix, boolean recursive) {
+        return listObjectStream(defaultBucket, prefix, recursive, null, null, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-根据对象前缀惰性查询对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "桶中对象的前缀，可为空"),
+                    @Param(name = "recursive", description = "是否递归子目录"),
+                    @Param(name = "startAfter", description = "从该对象名之后开始列举，可为空"),
+                    @Param(name = "maxKeys", description = "最多返回数量，为空不限制"),
+                    @Param(name = "pageSize", description = "单页数量提示，为空或超过1000时使用1000")
+            }, description = "返回按需翻页的流(对象名、大小、ETag、修改时间)，消费当前页时预取下一页；" +
+            "不预先检查桶是否存在，翻页失败时抛出 ObjectListException")
+    public Stream<ObjectSummary> listObjectStream(String bucketName, String prefix, boolean recursive,
+                                                  String startAfter, Integer maxKeys, Integer pageSize) {
+        if (objectLister == null) {
+            throw new IllegalStateException("ObjectLister is not configured");
+        }
+        return objectLister.stream(bucketName, prefix, recursive, startAfter, maxKeys, pageSize);
+    }
+
     @MethodComment(
             function = "默认桶-组合源对象列表",
             params = {
@@ -642,12 +1144,16 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
             }, description = "通过使用服务器端副本组合来自不同源对象的数据来创建对象，服务器上已存在的对象列表再次组合成一个对象")
     public ObjectWriteResponse composeObject(String bucketName, String objectName, List<ComposeSource> sourceObjectList) throws Exception {
-        return minioClient.composeObject(
-                ComposeObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .sources(sourceObjectList)
-                        .build());
+        try {
+            return minioClient.composeObject(
+                    ComposeObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .sources(sourceObjectList)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -667,12 +1173,16 @@ public class MinioObjectService {
                     @Param(name = "source", description = "已存在的源对象")
             }, description = "通过使用服务器端副本组合来自不同源对象的数据来创建对象，服务器上已存在的对象列表再次组合成一个对象")
     public ObjectWriteResponse copyObject(String bucketName, String objectName, CopySource source) throws Exception {
-        return minioClient.copyObject(
-                CopyObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .source(source)
-                        .build());
+        try {
+            return minioClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .source(source)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -691,11 +1201,15 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
             })
     public void setObjectTags(String bucketName, String objectName, Tags tags) throws Exception {
-        minioClient.setObjectTags(
-                SetObjectTagsArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .tags(tags).build());
+        try {
+            minioClient.setObjectTags(
+                    SetObjectTagsArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .tags(tags).build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -737,11 +1251,15 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
             })
     public void deleteObjectTags(String bucketName, String objectName) throws Exception {
-        minioClient.deleteObjectTags(
-                DeleteObjectTagsArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .build());
+        try {
+            minioClient.deleteObjectTags(
+                    DeleteObjectTagsArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -760,11 +1278,15 @@ public class MinioObjectService {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
             })
     public void deleteObject(String bucketName, String objectName) throws Exception {
-        minioClient.removeObject(
-                RemoveObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(objectName)
-                        .build());
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
     }
 
     @MethodComment(
@@ -772,8 +1294,8 @@ public class MinioObjectService {
             params = {
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
             })
-    public void deleteObjects(List<DeleteObject> objectNames) throws Exception {
-        deleteObjects(defaultBucket, objectNames);
+    public List<DeleteError> deleteObjects(List<DeleteObject> objectNames) throws Exception {
+        return deleteObjects(defaultBucket, objectNames);
     }
 
     @MethodComment(
@@ -781,21 +1303,121 @@ public class MinioObjectService {
             params = {
                     @Param(name = "bucketName", description = "桶名"),
                     @Param(name = "objectName", description = "对象ID(存储桶里的对象名称)")
+            }, description = "返回删除失败的对象，全部成功时为空列表")
+    public List<DeleteError> deleteObjects(String bucketName, List<DeleteObject> objectNames) throws Exception {
+        List<DeleteError> deleteErrors = new ArrayList<>();
+        try {
+            for (Result<DeleteError> errorResult : minioClient.removeObjects(RemoveObjectsArgs.builder().bucket(bucketName).objects(objectNames).build())) {
+                DeleteError deleteError = errorResult.get();
+                logger.error("Failed to remove {}, DeleteError: {} {}", deleteError.objectName(), deleteError.code(), deleteError.message());
+                deleteErrors.add(deleteError);
+            }
+        } finally {
+            // DeleteObject 不提供对象名，失效整个桶的缓存
+            evictBucket(bucketName);
+        }
+        return deleteErrors;
+    }
+
+    @MethodComment(
+            function = "默认桶-按前缀删除对象",
+            params = {
+                    @Param(name = "prefix", description = "对象前缀，不能为空")
             })
-    public void deleteObjects(String bucketName, List<DeleteObject> objectNames) throws Exception {
-        for (Result<DeleteError> errorResult : minioClient.removeObjects(RemoveObjectsArgs.builder().bucket(bucketName).objects(objectNames).build())) {
-            DeleteError deleteError = errorResult.get();
-            logger.error("Failed to remove {}，DeleteError:", deleteError.message());
+    public PrefixDeleteResult deleteByPrefix(String prefix) throws Exception {
+        return deleteByPrefix(defaultBucket, prefix);
+    }
+
+    @MethodComment(
+            function = "指定桶-按前缀删除对象",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "prefix", description = "对象前缀，不能为空")
+            }, description = "边列举边删除，每1000个对象一次批量删除请求，多个批次并发进行，内存占用与对象总数无关；" +
+            "返回删除数、失败数、失败明细与吞吐量，部分失败不抛异常")
+    public PrefixDeleteResult deleteByPrefix(String bucketName, String prefix) throws Exception {
+        if (prefixDeleter == null) {
+            throw new IllegalStateException("PrefixDeleter is not configured");
+        }
+        try {
+            return prefixDeleter.delete(bucketName, prefix);
+        } finally {
+            evictBucket(bucketName);
+        }
+    }
+
+    /**
+     * 上传大小未知的流：按分片读取，不再依赖 InputStream.available()(网络流和 servlet 流通常不准确)
+     */
+    private ObjectWriteResponse putUnknownSizeStream(String bucketName, String objectName, InputStream stream, String contentType,
+                                                     Map<String, String> headers, Map<String, String> userMetadata) throws Exception {
+        try {
+            return doPutUnknownSizeStream(bucketName, objectName, stream, contentType, headers, userMetadata);
+        } finally {
+            evictMetadata(bucketName, objectName);
         }
     }
 
-    private void uploadFolder(String bucketName, String parentName, File file) throws Exception {
-        for (File fileElem : file.listFiles()) {
-            if (Files.isDirectory(Paths.get(fileElem.toURI()))) {
-                uploadFolder(bucketName, parentName + "/" + fileElem.getName(), fileElem);
-            } else {
-                putObject(bucketName, parentName + "/" + fileElem.getName(), fileElem.getAbsolutePath());
+    private ObjectWriteResponse doPutUnknownSizeStream(String bucketName, String objectName, InputStream stream, String contentType,
+                                                       Map<String, String> headers, Map<String, String> userMetadata) throws Exception {
+        if (multipartUploader != null) {
+            return multipartUploader.uploadStream(bucketName, objectName, stream, contentType, headers, userMetadata);
+        }
+        PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .stream(stream, -1, ObjectWriteArgs.MIN_MULTIPART_SIZE * 2L);
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        if (headers != null) {
+            builder.headers(headers);
+        }
+        if (userMetadata != null) {
+            builder.userMetadata(userMetadata);
+        }
+        return minioClient.putObject(builder.build());
+    }
+
+    private void uploadFile(String bucketName, String objectName, Path file, Map<String, String> userMetadata) throws Exception {
+        try {
+            if (multipartUploader != null && multipartUploader.isMultipart(Files.size(file))) {
+                multipartUploader.uploadFile(bucketName, objectName, file, null, userMetadata);
+                return;
             }
+            minioClient.uploadObject(
+                    UploadObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .filename(file.toString())
+                            .userMetadata(userMetadata)
+                            .build());
+        } finally {
+            evictMetadata(bucketName, objectName);
+        }
+    }
+
+    /**
+     * 批量删除等无法逐个取得对象名时，失效整个桶的元数据缓存、磁盘缓存和小对象缓存
+     */
+    private void evictBucket(String bucketName) {
+        cacheInvalidator.invalidateBucket(bucketName);
+    }
+
+    /**
+     * 本服务写入或删除对象后失效元数据缓存、磁盘缓存和小对象缓存
+     */
+    private void evictMetadata(String bucketName, String objectName) {
+        cacheInvalidator.invalidate(bucketName, objectName);
+    }
+
+    /**
+     * 读取对象时以响应 ETag 校验元数据缓存
+     */
+    private GetObjectResponse validateMetadata(GetObjectResponse response) {
+        if (metadataCache != null) {
+            metadataCache.validate(response.bucket(), response.object(), response.headers().get("ETag"));
         }
+        return response;
     }
 }
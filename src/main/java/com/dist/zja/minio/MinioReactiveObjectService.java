@@ -0,0 +1,258 @@
+package com.dist.zja.minio;
+
+import com.dist.zja.minio.cache.ObjectCacheInvalidator;
+import com.dist.zja.minio.common.annotations.ClassComment;
+import com.dist.zja.minio.common.annotations.MethodComment;
+import com.dist.zja.minio.common.annotations.Param;
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.common.utils.HttpRangeUtils;
+import com.dist.zja.minio.properties.MinioProperties;
+import com.dist.zja.minio.transfer.MultipartUploader;
+import com.dist.zja.minio.transfer.ReactiveUploader;
+import io.minio.GetObjectArgs;
+import io.minio.ObjectWriteResponse;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 19:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：WebFlux 响应式对象服务，上传接收 Flux&lt;DataBuffer&gt;，下载返回 Flux&lt;DataBuffer&gt;，
+ * 所有方法在订阅时才发起请求，不阻塞事件循环线程
+ */
+@ClassComment(value = "Minio 响应式对象服务-操作对象", author = "zhengja")
+public class MinioReactiveObjectService {
+
+    public static Logger logger = LoggerFactory.getLogger(MinioReactiveObjectService.class);
+
+    /**
+     * 下载时单个 DataBuffer 的大小
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final MinioExtendAsyncClient minioAsyncClient;
+
+    private final ReactiveUploader reactiveUploader;
+
+    private final DataBufferFactory bufferFactory;
+
+    private String defaultBucket;
+
+    /**
+     * 上传完成后失效同步服务的元数据、磁盘、小对象缓存，可选
+     */
+    private ObjectCacheInvalidator cacheInvalidator;
+
+    public MinioReactiveObjectService(ReactiveUploader reactiveUploader, DataBufferFactory bufferFactory) {
+        this.reactiveUploader = reactiveUploader;
+        this.minioAsyncClient = reactiveUploader.getClient();
+        this.bufferFactory = bufferFactory;
+    }
+
+    public MinioReactiveObjectService(ReactiveUploader reactiveUploader, DataBufferFactory bufferFactory, MinioProperties minIo) {
+        this(reactiveUploader, bufferFactory);
+        this.defaultBucket = minIo.getDefaultBucket();
+    }
+
+    public void init() {
+        logger.info("com.dist.zja.minio.MinioReactiveObjectService  Init Success！");
+    }
+
+    public void setCacheInvalidator(ObjectCacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @MethodComment(
+            function = "默认桶-响应式对象上传-DataBuffer流",
+            params = {
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "content", description = "对象内容"),
+                    @Param(name = "contentType", description = "内容类型，可为空")
+            })
+    public Mono<ObjectWriteResponse> putObject(String objectName, Flux<DataBuffer> content, String contentType) {
+        return putObject(defaultBucket, objectName, content, contentType, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式对象上传-DataBuffer流",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "content", description = "对象内容，大小可未知"),
+                    @Param(name = "contentType", description = "内容类型，可为空"),
+                    @Param(name = "userMetadata", description = "用户元数据，可为空")
+            },
+            description = "按 dist.minio.transfer.part-size 切分为分片并发上传，在途分片数受 concurrency 限制，" +
+                    "上游按上传进度请求数据；内容不足一个分片时单次上传。DataBuffer 在切分时即被释放")
+    public Mono<ObjectWriteResponse> putObject(String bucketName, String objectName, Flux<DataBuffer> content,
+                                               String contentType, Map<String, String> userMetadata) {
+        Mono<ObjectWriteResponse> upload = reactiveUploader.upload(bucketName, objectName, content,
+                MultipartUploader.headers(contentType, userMetadata));
+        ObjectCacheInvalidator invalidator = cacheInvalidator;
+        if (invalidator == null) {
+            return upload;
+        }
+        // 在结果传给下游之前失效，订阅者随后的读取不会命中旧缓存；取消时分片上传可能已完成，同样失效
+        return upload
+                .doOnTerminate(() -> invalidator.invalidate(bucketName, objectName))
+                .doOnCancel(() -> invalidator.invalidate(bucketName, objectName));
+    }
+
+    @MethodComment(
+            function = "默认桶-响应式对象上传-FilePart",
+            params = {
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filePart", description = "multipart/form-data 中的文件")
+            })
+    public Mono<ObjectWriteResponse> putObject(String objectName, FilePart filePart) {
+        return putObject(defaultBucket, objectName, filePart);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式对象上传-FilePart",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "对象id(存储名称)"),
+                    @Param(name = "filePart", description = "multipart/form-data 中的文件")
+            })
+    public Mono<ObjectWriteResponse> putObject(String bucketName, String objectName, FilePart filePart) {
+        MediaType mediaType = filePart.headers().getContentType();
+        return putObject(bucketName, objectName, filePart.content(), mediaType != null ? mediaType.toString() : null, null);
+    }
+
+    @MethodComment(
+            function = "默认桶-响应式获取对象信息和对象的元数据",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            })
+    public Mono<StatObjectResponse> statObject(String objectName) {
+        return statObject(defaultBucket, objectName);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式获取对象信息和对象的元数据",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            }, description = "对象不存在时以 ErrorResponseException 异常结束")
+    public Mono<StatObjectResponse> statObject(String bucketName, String objectName) {
+        return fromFuture(() -> minioAsyncClient.statObject(StatObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .build()));
+    }
+
+    @MethodComment(
+            function = "默认桶-响应式获取对象内容",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            })
+    public Flux<DataBuffer> getObject(String objectName) {
+        return getObject(defaultBucket, objectName, null, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式获取对象内容",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称")
+            })
+    public Flux<DataBuffer> getObject(String bucketName, String objectName) {
+        return getObject(bucketName, objectName, null, null);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式获取对象内容-支持断点下载",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "offset", description = "offset 是起始字节的位置，可为空"),
+                    @Param(name = "length", description = "length是要读取的长度 (可选，如果无值则代表读到对象结尾)")
+            },
+            description = "DataBuffer 由 DataBufferFactory 分配(Netty 环境下为池化缓冲区)，下游按需请求时才读取；" +
+                    "取消或结束时关闭对象流，下游负责释放收到的 DataBuffer")
+    public Flux<DataBuffer> getObject(String bucketName, String objectName, Long offset, Long length) {
+        return Flux.defer(() -> read(GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .offset(offset)
+                .length(length)
+                .build()));
+    }
+
+    @MethodComment(
+            function = "默认桶-响应式对象下载-写入 ServerHttpResponse",
+            params = {
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "response", description = "response")
+            })
+    public Mono<Void> downloadObject(String objectName, ServerHttpResponse response) {
+        return downloadObject(defaultBucket, objectName, response);
+    }
+
+    @MethodComment(
+            function = "指定桶-响应式对象下载-写入 ServerHttpResponse",
+            params = {
+                    @Param(name = "bucketName", description = "桶名"),
+                    @Param(name = "objectName", description = "存储桶里的对象名称"),
+                    @Param(name = "response", description = "response")
+            },
+            description = "设置 Content-Length、Content-Type、ETag、Last-Modified、Content-Disposition 后写出对象内容，" +
+                    "读取对象时以 statObject 得到的 ETag 作为前置条件")
+    public Mono<Void> downloadObject(String bucketName, String objectName, ServerHttpResponse response) {
+        return statObject(bucketName, objectName).flatMap(stat -> {
+            HttpHeaders headers = response.getHeaders();
+            headers.setContentLength(stat.size());
+            headers.set(HttpHeaders.CONTENT_TYPE, stat.contentType() != null ? stat.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            headers.setETag(HttpRangeUtils.quote(stat.etag()));
+            headers.setLastModified(stat.lastModified().toInstant().toEpochMilli());
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, HttpRangeUtils.contentDisposition("attachment", stat.object()));
+            return response.writeWith(read(GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .matchETag(stat.etag())
+                    .build()));
+        });
+    }
+
+    public MinioExtendAsyncClient getMinioAsyncClient() {
+        return minioAsyncClient;
+    }
+
+    public DataBufferFactory getBufferFactory() {
+        return bufferFactory;
+    }
+
+    /**
+     * 异步客户端在收到响应头后返回对象流；OkHttp 响应体只能阻塞读取，
+     * 读取在 boundedElastic 线程上按下游请求进行，事件循环线程只负责写出
+     */
+    private Flux<DataBuffer> read(GetObjectArgs args) {
+        return fromFuture(() -> minioAsyncClient.getObject(args))
+                .flatMapMany(response -> DataBufferUtils.readInputStream(() -> response, bufferFactory, READ_BUFFER_SIZE)
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private static <T> Mono<T> fromFuture(Callable<CompletableFuture<T>> call) {
+        return Mono.fromCallable(call).flatMap(Mono::fromFuture);
+    }
+}
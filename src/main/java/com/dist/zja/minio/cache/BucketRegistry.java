@@ -0,0 +1,133 @@
+package com.dist.zja.minio.cache;
+
+import io.minio.MinioClient;
+import io.minio.messages.Bucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 19:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：桶存在性登记表。启动时以 listBuckets 预热，后台定时刷新，只记录存在的桶：
+ * 已登记的桶直接返回存在，未登记的桶仍向服务端确认，因此不会把新建的桶误判为不存在。
+ * 本服务创建、删除桶时同步更新；其他客户端删除桶最迟在下一次刷新后可见
+ */
+public class BucketRegistry {
+
+    public static Logger logger = LoggerFactory.getLogger(BucketRegistry.class);
+
+    private final MinioClient minioClient;
+
+    private final Duration refreshInterval;
+
+    private volatile Set<String> buckets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 每次删除递增；刷新期间发生过删除时丢弃本次刷新结果，避免已删除的桶被旧列表重新登记
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param refreshInterval 后台刷新间隔，为 0 时不刷新
+     */
+    public BucketRegistry(MinioClient minioClient, Duration refreshInterval) {
+        this.minioClient = minioClient;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * 预热并启动后台刷新，重复调用无效果
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        refresh();
+        long interval = refreshInterval.toMillis();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "minio-bucket-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 以 listBuckets 结果替换登记表；失败时保留原登记表(如账号无 ListAllMyBuckets 权限)
+     */
+    public void refresh() {
+        long refreshVersion = version.get();
+        try {
+            Set<String> latest = ConcurrentHashMap.newKeySet();
+            for (Bucket bucket : minioClient.listBuckets()) {
+                latest.add(bucket.name());
+            }
+            if (version.get() == refreshVersion) {
+                buckets = latest;
+            }
+        } catch (Exception e) {
+            logger.warn("refresh bucket registry failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 桶是否存在：已登记直接返回，否则调用 loader(bucketExists) 确认，存在则登记
+     */
+    public boolean exists(String bucketName, Callable<Boolean> loader) throws Exception {
+        if (buckets.contains(bucketName)) {
+            return true;
+        }
+        long loadVersion = version.get();
+        boolean exists = loader.call();
+        if (exists && version.get() == loadVersion) {
+            buckets.add(bucketName);
+        }
+        return exists;
+    }
+
+    /**
+     * 登记已创建的桶
+     */
+    public void markCreated(String bucketName) {
+        buckets.add(bucketName);
+    }
+
+    /**
+     * 移除已删除的桶
+     */
+    public void markDeleted(String bucketName) {
+        version.incrementAndGet();
+        buckets.remove(bucketName);
+    }
+
+    /**
+     * 当前已登记的桶数
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
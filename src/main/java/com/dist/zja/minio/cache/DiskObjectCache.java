@@ -0,0 +1,624 @@
+package com.dist.zja.minio.cache;
+
+import com.dist.zja.minio.transfer.MultipartSession;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.minio.StatObjectResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 20:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：热点对象本地磁盘缓存(读穿透)。对象第二次未命中时才下载到缓存目录(一次性读取不占用磁盘和带宽)，
+ * 命中时直接读取本地文件(FileChannel.transferTo/内存映射)；同一对象并发未命中时只下载一次，其他线程等待该次下载；
+ * 超过 maxObjectSize 的对象记住判定，校验有效期内不再发 HEAD 请求。总大小受 maxBytes 限制，按最近最少使用(LRU)淘汰；条目超过 revalidateAfter 后以 statObject 的 ETag 校验，
+ * 不一致时重新下载。正在读取的文件被淘汰时延迟到读取结束后删除。缓存目录中的旧文件在启动时清理
+ */
+public class DiskObjectCache {
+
+    public static Logger logger = LoggerFactory.getLogger(DiskObjectCache.class);
+
+    private static final String FILE_SUFFIX = ".cache";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int DEFAULT_ADMISSION_WINDOW = 10000;
+
+    /**
+     * 对象名分段数，失效版本按对象名散列到分段
+     */
+    private static final int VERSION_STRIPES = 1024;
+
+    /**
+     * 读取对象，对应 MinioObjectService 的 statObject 和带 ETag 前置条件的 getObject
+     */
+    public interface Loader {
+
+        StatObjectResponse stat(String bucketName, String objectName) throws Exception;
+
+        InputStream open(String bucketName, String objectName, String etag) throws Exception;
+    }
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    private final long maxObjectSize;
+
+    private final long revalidateAfterMillis;
+
+    /**
+     * 访问顺序的 LinkedHashMap，迭代顺序即淘汰顺序；所有访问在 synchronized(index) 内
+     */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * 正在下载或校验的对象，同一对象的并发未命中等待同一次加载
+     */
+    private final ConcurrentMap<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 最近首次未命中的对象，再次未命中时才写入缓存；为 null 时首次未命中即缓存
+     */
+    private final Cache<String, Boolean> admission;
+
+    /**
+     * 超过 maxObjectSize 的对象，校验有效期内直接返回 null
+     */
+    private final Cache<String, Boolean> oversized;
+
+    private long totalBytes;
+
+    /**
+     * 失效版本：对象按对象名分段、桶按桶名、清空时全局递增。
+     * 下载期间本对象(或同段对象)、所在桶发生过失效的结果只供本次读取，不写入索引；其他对象的失效不影响
+     */
+    private final AtomicLongArray keyVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final ConcurrentMap<String, AtomicLong> bucketVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder revalidatedCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param directory       缓存目录，其中 *.cache、*.tmp 文件归本缓存所有
+     * @param maxBytes        缓存文件总大小上限
+     * @param maxObjectSize   可缓存的最大对象，更大的对象不缓存
+     * @param revalidateAfter 条目写入或上次校验后经过该时间需以 ETag 重新校验，为 0 时每次校验
+     */
+    public DiskObjectCache(Path directory, long maxBytes, long maxObjectSize, Duration revalidateAfter) throws IOException {
+        this(directory, maxBytes, maxObjectSize, revalidateAfter, DEFAULT_ADMISSION_WINDOW);
+    }
+
+    /**
+     * @param admissionWindow 记录最近首次未命中的对象数，对象在窗口内再次未命中才写入缓存；为 0 时首次未命中即缓存
+     * @see #DiskObjectCache(Path, long, long, Duration)
+     */
+    public DiskObjectCache(Path directory, long maxBytes, long maxObjectSize, Duration revalidateAfter,
+                           int admissionWindow) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxObjectSize = Math.min(maxObjectSize, maxBytes);
+        this.revalidateAfterMillis = revalidateAfter.toMillis();
+        this.admission = admissionWindow > 0
+                ? CacheBuilder.newBuilder().maximumSize(admissionWindow).<String, Boolean>build()
+                : null;
+        this.oversized = CacheBuilder.newBuilder()
+                .maximumSize(DEFAULT_ADMISSION_WINDOW)
+                .expireAfterWrite(revalidateAfterMillis, TimeUnit.MILLISECONDS)
+                .build();
+        Files.createDirectories(directory);
+        clean();
+    }
+
+    /**
+     * 读取对象：命中且有效时返回本地文件，否则经 loader 下载后返回；
+     * 首次未命中、对象超过 maxObjectSize、或等待的并发下载未能写入缓存时返回 null，由调用方直接读取。
+     * 返回的 CachedObject 使用完毕后必须关闭
+     */
+    public CachedObject get(String bucketName, String objectName, Loader loader) throws Exception {
+        String key = key(bucketName, objectName);
+        CachedObject cached = openFresh(key);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        if (oversized.getIfPresent(key) != null) {
+            missCount.increment();
+            return null;
+        }
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // 登记前其他线程可能已完成加载
+            cached = openFresh(key);
+            if (cached != null) {
+                hitCount.increment();
+            } else {
+                cached = load(key, bucketName, objectName, loader);
+            }
+            future.complete(cached != null ? cached.entry : null);
+            return cached;
+        } catch (Exception | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * 等待其他线程对同一对象的加载；加载失败或未写入缓存时返回 null，由调用方直接读取并得到各自的异常
+     */
+    private CachedObject await(CompletableFuture<Entry> future) throws IOException {
+        Entry entry;
+        try {
+            entry = MultipartSession.join(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for cache load", e);
+        } catch (Exception e) {
+            missCount.increment();
+            return null;
+        }
+        CachedObject cached = entry != null ? entry.open() : null;
+        if (cached != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * 校验已有条目或下载对象，由登记了加载的线程执行
+     */
+    private CachedObject load(String key, String bucketName, String objectName, Loader loader) throws Exception {
+        Entry entry;
+        synchronized (index) {
+            entry = index.get(key);
+        }
+        if (entry == null && admission != null && admission.asMap().putIfAbsent(key, Boolean.TRUE) == null) {
+            // 首次未命中只做记录，本次由调用方直接读取
+            missCount.increment();
+            return null;
+        }
+        int stripe = stripe(key);
+        AtomicLong bucketVersion = bucketVersion(bucketName);
+        long loadGlobal = globalVersion.get();
+        long loadBucket = bucketVersion.get();
+        long loadKey = keyVersions.get(stripe);
+        StatObjectResponse stat = loader.stat(bucketName, objectName);
+        if (entry != null) {
+            if (entry.etag.equals(stat.etag())) {
+                entry.validatedAt = System.currentTimeMillis();
+                CachedObject cached = entry.open();
+                if (cached != null) {
+                    revalidatedCount.increment();
+                    return cached;
+                }
+            }
+            remove(key, entry);
+        }
+        missCount.increment();
+        if (stat.size() > maxObjectSize) {
+            oversized.put(key, Boolean.TRUE);
+            return null;
+        }
+        if (admission != null) {
+            admission.invalidate(key);
+        }
+        entry = download(bucketName, objectName, stat, loader);
+        CachedObject cached = entry.open();
+        insert(key, entry, stripe, loadKey, bucketVersion, loadBucket, loadGlobal);
+        return cached;
+    }
+
+    /**
+     * 失效单个对象，本服务写入、删除对象后调用
+     */
+    public void invalidate(String bucketName, String objectName) {
+        String key = key(bucketName, objectName);
+        keyVersions.incrementAndGet(stripe(key));
+        oversized.invalidate(key);
+        synchronized (index) {
+            Entry entry = index.get(key);
+            if (entry != null) {
+                remove(key, entry);
+            }
+        }
+    }
+
+    /**
+     * 失效桶内所有对象
+     */
+    public void invalidateBucket(String bucketName) {
+        String prefix = bucketName + "/";
+        bucketVersion(bucketName).incrementAndGet();
+        oversized.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        synchronized (index) {
+            Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> e = it.next();
+                if (e.getKey().startsWith(prefix)) {
+                    it.remove();
+                    discard(e.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+        oversized.invalidateAll();
+        synchronized (index) {
+            for (Entry entry : index.values()) {
+                discard(entry);
+            }
+            index.clear();
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (index) {
+            return totalBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public String toString() {
+        return "DiskObjectCache{" +
+                "directory=" + directory +
+                ", entries=" + size() +
+                ", totalBytes=" + getTotalBytes() +
+                ", maxBytes=" + maxBytes +
+                ", hit=" + getHitCount() +
+                ", revalidated=" + getRevalidatedCount() +
+                ", miss=" + getMissCount() +
+                ", eviction=" + getEvictionCount() +
+                '}';
+    }
+
+    /**
+     * 条目存在且在校验有效期内时打开，否则返回 null
+     */
+    private CachedObject openFresh(String key) throws IOException {
+        Entry entry;
+        synchronized (index) {
+            entry = index.get(key);
+        }
+        if (entry == null || System.currentTimeMillis() - entry.validatedAt >= revalidateAfterMillis) {
+            return null;
+        }
+        return entry.open();
+    }
+
+    private Entry download(String bucketName, String objectName, StatObjectResponse stat, Loader loader) throws Exception {
+        String name = UUID.randomUUID().toString().replace("-", "");
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        Path file = directory.resolve(name + FILE_SUFFIX);
+        try {
+            try (InputStream in = loader.open(bucketName, objectName, stat.etag())) {
+                Files.copy(in, temp);
+            }
+            long size = Files.size(temp);
+            if (size != stat.size()) {
+                throw new IOException("size mismatch, expected " + stat.size() + " bytes, downloaded " + size + " bytes");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new Entry(file, stat);
+    }
+
+    private void insert(String key, Entry entry, int stripe, long loadKey, AtomicLong bucketVersion, long loadBucket,
+                        long loadGlobal) {
+        synchronized (index) {
+            // 失效方先递增版本再在锁内删除条目：锁内未见到递增，则删除必在写入之后
+            if (!unchanged(stripe, loadKey, bucketVersion, loadBucket, loadGlobal)) {
+                totalBytes += entry.size;
+                discard(entry);
+                return;
+            }
+            Entry previous = index.put(key, entry);
+            if (previous != null) {
+                discard(previous);
+            }
+            totalBytes += entry.size;
+            Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                it.remove();
+                discard(eldest.getValue());
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        synchronized (index) {
+            if (index.get(key) == entry) {
+                index.remove(key);
+                discard(entry);
+            }
+        }
+    }
+
+    /**
+     * 条目已移出索引：扣减大小，无读取者时删除文件，否则由最后一个读取者删除
+     */
+    private void discard(Entry entry) {
+        totalBytes -= entry.size;
+        entry.removed = true;
+        if (entry.refs == 0) {
+            entry.delete();
+        }
+    }
+
+    private void clean() throws IOException {
+        List<Path> stale = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*{" + FILE_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+            for (Path path : stream) {
+                stale.add(path);
+            }
+        }
+        for (Path path : stale) {
+            Files.deleteIfExists(path);
+        }
+        if (!stale.isEmpty()) {
+            logger.info("disk object cache {} removed {} stale files", directory, stale.size());
+        }
+    }
+
+    private boolean unchanged(int stripe, long loadKey, AtomicLong bucketVersion, long loadBucket, long loadGlobal) {
+        return keyVersions.get(stripe) == loadKey && bucketVersion.get() == loadBucket && globalVersion.get() == loadGlobal;
+    }
+
+    private AtomicLong bucketVersion(String bucketName) {
+        AtomicLong version = bucketVersions.get(bucketName);
+        return version != null ? version : bucketVersions.computeIfAbsent(bucketName, name -> new AtomicLong());
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private static String key(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
+
+    /**
+     * 缓存条目，refs、removed 在 synchronized(index) 内修改
+     */
+    private final class Entry {
+
+        private final Path file;
+
+        private final long size;
+
+        private final String etag;
+
+        private final String contentType;
+
+        private final ZonedDateTime lastModified;
+
+        private volatile long validatedAt = System.currentTimeMillis();
+
+        private int refs;
+
+        private boolean removed;
+
+        private Entry(Path file, StatObjectResponse stat) {
+            this.file = file;
+            this.size = stat.size();
+            this.etag = stat.etag();
+            this.contentType = stat.contentType();
+            this.lastModified = stat.lastModified();
+        }
+
+        /**
+         * 打开文件并登记读取者，条目已被移除时返回 null
+         */
+        private CachedObject open() throws IOException {
+            synchronized (index) {
+                if (removed) {
+                    return null;
+                }
+                refs++;
+            }
+            try {
+                return new CachedObject(this, FileChannel.open(file, StandardOpenOption.READ));
+            } catch (IOException e) {
+                release();
+                throw e;
+            }
+        }
+
+        private void release() {
+            synchronized (index) {
+                refs--;
+                if (refs == 0 && removed) {
+                    delete();
+                }
+            }
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("delete cache file {} failed: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 一次缓存读取，持有打开的文件；关闭后被淘汰的文件才会删除
+     */
+    public static final class CachedObject implements Closeable {
+
+        private final Entry entry;
+
+        private final FileChannel channel;
+
+        private boolean closed;
+
+        private CachedObject(Entry entry, FileChannel channel) {
+            this.entry = entry;
+            this.channel = channel;
+        }
+
+        public long size() {
+            return entry.size;
+        }
+
+        /**
+         * 不带引号的 ETag
+         */
+        public String etag() {
+            return entry.etag;
+        }
+
+        public String contentType() {
+            return entry.contentType;
+        }
+
+        public ZonedDateTime lastModified() {
+            return entry.lastModified;
+        }
+
+        /**
+         * 以 FileChannel.transferTo 写出区间，目标为文件或 socket 通道时由内核直接复制
+         *
+         * @return 写出字节数
+         */
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            long end = position + count;
+            long current = position;
+            while (current < end) {
+                long n = channel.transferTo(current, end - current, target);
+                if (n <= 0) {
+                    throw new IOException("cache file truncated at " + current + ", expected " + end);
+                }
+                current += n;
+            }
+            return count;
+        }
+
+        /**
+         * 只读内存映射区间
+         */
+        public MappedByteBuffer map(long position, long count) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, count);
+        }
+
+        /**
+         * 从头读取的输入流，关闭流即关闭本对象
+         */
+        public InputStream openStream() {
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                @Override
+                public void close() throws IOException {
+                    CachedObject.this.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                channel.close();
+            } finally {
+                entry.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.dist.zja.minio.cache;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-18 13:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：对象写入、删除后统一失效元数据缓存、磁盘缓存和小对象缓存。同步、异步、响应式对象服务共用，
+ * 任一服务写入的对象在其他服务的读取中立即可见；未启用的缓存为 null
+ */
+public class ObjectCacheInvalidator {
+
+    private final ObjectMetadataCache metadataCache;
+
+    private final DiskObjectCache diskCache;
+
+    private final SmallObjectCache smallObjectCache;
+
+    public ObjectCacheInvalidator(ObjectMetadataCache metadataCache, DiskObjectCache diskCache, SmallObjectCache smallObjectCache) {
+        this.metadataCache = metadataCache;
+        this.diskCache = diskCache;
+        this.smallObjectCache = smallObjectCache;
+    }
+
+    /**
+     * 失效单个对象
+     */
+    public void invalidate(String bucketName, String objectName) {
+        if (metadataCache != null) {
+            metadataCache.invalidate(bucketName, objectName);
+        }
+        if (diskCache != null) {
+            diskCache.invalidate(bucketName, objectName);
+        }
+        if (smallObjectCache != null) {
+            smallObjectCache.invalidate(bucketName, objectName);
+        }
+    }
+
+    /**
+     * 失效桶内所有对象(如批量删除时无法逐个取得对象名)
+     */
+    public void invalidateBucket(String bucketName) {
+        if (metadataCache != null) {
+            metadataCache.invalidateBucket(bucketName);
+        }
+        if (diskCache != null) {
+            diskCache.invalidateBucket(bucketName);
+        }
+        if (smallObjectCache != null) {
+            smallObjectCache.invalidateBucket(bucketName);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.dist.zja.minio.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 18:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：对象元数据(statObject)缓存。存在的对象与不存在(404)的对象分别缓存，各自有容量上限和过期时间；
+ * 本服务写入、删除对象时失效对应条目，读取对象时发现 ETag 与缓存不一致也会失效。
+ * 其他客户端对对象的修改只能等待条目过期后可见
+ */
+public class ObjectMetadataCache {
+
+    /**
+     * 加载对象元数据，对应一次 HEAD 请求
+     */
+    public interface StatLoader {
+        StatObjectResponse load() throws Exception;
+    }
+
+    private final Cache<String, StatObjectResponse> positive;
+
+    /**
+     * 对象名分段数，失效版本按对象名散列到分段
+     */
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Cache<String, ErrorResponseException> negative;
+
+    /**
+     * 失效版本：对象按对象名分段、桶按桶名、清空时全局递增。
+     * 加载期间本对象(或同段对象)、所在桶发生过失效的结果不写入缓存，避免旧值覆盖刚写入的新对象，
+     * 其他对象的失效不影响本次加载结果入缓存
+     */
+    private final AtomicLongArray keyVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final ConcurrentMap<String, AtomicLong> bucketVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder negativeHitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * @param maximumSize 存在对象的最大条目数，不存在对象另有同样大小的上限
+     * @param ttl         存在对象条目的过期时间
+     * @param negativeTtl 不存在对象条目的过期时间，为 0 时不缓存 404
+     */
+    public ObjectMetadataCache(long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.positive = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.negative = CacheBuilder.newBuilder()
+                .maximumSize(negativeTtl.isZero() ? 0 : maximumSize)
+                .expireAfterWrite(negativeTtl.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 查询对象元数据，未命中时调用 loader 并缓存结果；对象不存在时抛出 404 异常，
+     * 命中 404 缓存时每次抛出新的异常实例(与原始异常的错误响应相同)，调用方可以安全地添加 suppressed、修改 cause
+     */
+    public StatObjectResponse get(String bucketName, String objectName, StatLoader loader) throws Exception {
+        String key = key(bucketName, objectName);
+        ErrorResponseException notFound = negative.getIfPresent(key);
+        if (notFound != null) {
+            negativeHitCount.increment();
+            throw new ErrorResponseException(notFound.errorResponse(), notFound.response(), notFound.httpTrace());
+        }
+        StatObjectResponse stat = positive.getIfPresent(key);
+        if (stat != null) {
+            hitCount.increment();
+            return stat;
+        }
+        missCount.increment();
+        int stripe = stripe(key);
+        AtomicLong bucketVersion = bucketVersion(bucketName);
+        long loadGlobal = globalVersion.get();
+        long loadBucket = bucketVersion.get();
+        long loadKey = keyVersions.get(stripe);
+        try {
+            stat = loader.load();
+        } catch (ErrorResponseException e) {
+            if (e.response() != null && e.response().code() == 404) {
+                negative.put(key, e);
+                if (!unchanged(stripe, loadKey, bucketVersion, loadBucket, loadGlobal)) {
+                    negative.asMap().remove(key, e);
+                }
+            }
+            throw e;
+        }
+        positive.put(key, stat);
+        if (!unchanged(stripe, loadKey, bucketVersion, loadBucket, loadGlobal)) {
+            positive.asMap().remove(key, stat);
+        }
+        return stat;
+    }
+
+    /**
+     * 失效单个对象
+     */
+    public void invalidate(String bucketName, String objectName) {
+        String key = key(bucketName, objectName);
+        keyVersions.incrementAndGet(stripe(key));
+        invalidationCount.increment();
+        positive.invalidate(key);
+        negative.invalidate(key);
+    }
+
+    /**
+     * 读取对象时校验 ETag，与缓存不一致(对象已被其他客户端修改)时失效
+     */
+    public void validate(String bucketName, String objectName, String etag) {
+        if (etag == null) {
+            return;
+        }
+        String key = key(bucketName, objectName);
+        StatObjectResponse stat = positive.getIfPresent(key);
+        if (stat != null && !normalizeEtag(etag).equals(normalizeEtag(stat.etag()))) {
+            invalidate(bucketName, objectName);
+        } else if (stat == null && negative.getIfPresent(key) != null) {
+            // 读取成功说明对象已存在
+            invalidate(bucketName, objectName);
+        }
+    }
+
+    /**
+     * 失效桶内所有对象(如批量删除时无法逐个取得对象名)
+     */
+    public void invalidateBucket(String bucketName) {
+        bucketVersion(bucketName).incrementAndGet();
+        invalidationCount.increment();
+        String prefix = bucketName + "/";
+        positive.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        negative.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+        positive.invalidateAll();
+        negative.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 命中 404 缓存次数
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    /**
+     * 命中率(含 404 命中)，无请求时为 1
+     */
+    public double getHitRate() {
+        long hits = getHitCount() + getNegativeHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * 当前条目数(近似值)
+     */
+    public long size() {
+        return positive.size() + negative.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectMetadataCache{" +
+                "hitCount=" + getHitCount() +
+                ", negativeHitCount=" + getNegativeHitCount() +
+                ", missCount=" + getMissCount() +
+                ", invalidationCount=" + getInvalidationCount() +
+                ", hitRate=" + getHitRate() +
+                ", size=" + size() +
+                '}';
+    }
+
+    private boolean unchanged(int stripe, long loadKey, AtomicLong bucketVersion, long loadBucket, long loadGlobal) {
+        // 加载方先写入再比较，失效方先递增版本再删除条目：比较时未见到递增，则删除必在写入之后，不会残留旧值
+        return keyVersions.get(stripe) == loadKey && bucketVersion.get() == loadBucket && globalVersion.get() == loadGlobal;
+    }
+
+    private AtomicLong bucketVersion(String bucketName) {
+        AtomicLong version = bucketVersions.get(bucketName);
+        return version != null ? version : bucketVersions.computeIfAbsent(bucketName, name -> new AtomicLong());
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private static String key(String bucketName, String objectName) {
+        // 桶名不含 "/"，拼接后不会冲突
+        return bucketName + "/" + objectName;
+    }
+
+    private static String normalizeEtag(String etag) {
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+}
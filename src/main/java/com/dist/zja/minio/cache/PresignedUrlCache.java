@@ -0,0 +1,117 @@
+package com.dist.zja.minio.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.minio.http.Method;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 19:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：预签名 URL 缓存。按(桶、对象、请求方法、有效期)缓存签名结果，剩余有效期不低于 minRemainingFraction 时复用，
+ * 否则重新签名替换，因此返回的 URL 剩余有效期至少为请求有效期的 minRemainingFraction 倍。
+ * 同一对象在一段时间内返回相同 URL，浏览器和 CDN 也可以缓存下载内容
+ */
+public class PresignedUrlCache {
+
+    /**
+     * 预签名最长有效期 7 天
+     */
+    private static final long MAX_EXPIRY_SECONDS = TimeUnit.DAYS.toSeconds(7);
+
+    private final Cache<String, Entry> cache;
+
+    private final double minRemainingFraction;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private static class Entry {
+
+        private final String url;
+
+        private final long reuseUntil;
+
+        Entry(String url, long reuseUntil) {
+            this.url = url;
+            this.reuseUntil = reuseUntil;
+        }
+    }
+
+    /**
+     * @param maximumSize          最大条目数
+     * @param minRemainingFraction 复用时要求的最小剩余有效期比例，取值 [0, 1)
+     */
+    public PresignedUrlCache(long maximumSize, double minRemainingFraction) {
+        if (minRemainingFraction < 0 || minRemainingFraction >= 1) {
+            throw new IllegalArgumentException("minRemainingFraction must be in [0, 1), current: " + minRemainingFraction);
+        }
+        this.minRemainingFraction = minRemainingFraction;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(MAX_EXPIRY_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 获取预签名 URL，无可复用条目时调用 signer 签名并缓存
+     *
+     * @param expirySeconds 有效期(秒)
+     */
+    public String get(String bucketName, String objectName, Method method, int expirySeconds, Callable<String> signer) throws Exception {
+        String key = bucketName + "/" + objectName + "|" + method + "|" + expirySeconds;
+        long now = System.currentTimeMillis();
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && now < entry.reuseUntil) {
+            hitCount.increment();
+            return entry.url;
+        }
+        missCount.increment();
+        String url = signer.call();
+        long reuseMillis = (long) (TimeUnit.SECONDS.toMillis(expirySeconds) * (1 - minRemainingFraction));
+        cache.put(key, new Entry(url, now + reuseMillis));
+        return url;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 命中率，无请求时为 1
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PresignedUrlCache{" +
+                "hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", hitRate=" + getHitRate() +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.dist.zja.minio.cache;
+
+import com.dist.zja.minio.common.enums.QrCodeFormatEnum;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 20:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：二维码输出缓存，按(分享链接、尺寸、格式)缓存。分享链接每次重新签名都会变化，
+ * 需同时启用预签名 URL 缓存(dist.minio.cache.presigned)才能命中
+ */
+public class QrCodeCache {
+
+    private final Cache<String, String> cache;
+
+    /**
+     * @param maximumSize       最大条目数
+     * @param expireAfterAccess 最后一次访问后的过期时间
+     */
+    public QrCodeCache(long maximumSize, Duration expireAfterAccess) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取二维码，未命中时调用 renderer 生成并缓存；同一链接并发请求只生成一次
+     */
+    public String get(String url, int size, QrCodeFormatEnum format, Callable<String> renderer) throws Exception {
+        try {
+            return cache.get(format + "|" + size + "|" + url, renderer);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "QrCodeCache{" +
+                "hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", hitRate=" + getHitRate() +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,277 @@
+package com.dist.zja.minio.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import okhttp3.Headers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 21:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：小对象内存缓存。对象内容保存在堆外(direct ByteBuffer)，按字节数计权，总量不超过 maxBytes；
+ * 淘汰与准入由 Caffeine 的 W-TinyLFU 策略决定，偶发的一次性读取不会挤掉高频对象。
+ * 本服务写入、删除对象时失效对应条目，其他客户端的修改在 ttl 后可见
+ */
+public class SmallObjectCache {
+
+    /**
+     * 每个条目除内容外的估算开销(键、响应头、对象头)
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    /**
+     * 缓存的对象：原始响应头与只读的堆外内容
+     */
+    public static final class Entry {
+
+        private final Headers headers;
+
+        private final ByteBuffer data;
+
+        private Entry(Headers headers, ByteBuffer data) {
+            this.headers = headers;
+            this.data = data;
+        }
+
+        public Headers headers() {
+            return headers;
+        }
+
+        public int size() {
+            return data.capacity();
+        }
+
+        /**
+         * 从头读取内容的输入流，每次调用相互独立
+         */
+        public InputStream openStream() {
+            ByteBuffer buffer = data.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    int n = Math.min(len, buffer.remaining());
+                    buffer.get(b, off, n);
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) {
+                    int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+                    buffer.position(buffer.position() + skipped);
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            };
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+
+    private final int maxObjectSize;
+
+    /**
+     * 对象名分段数，失效版本按对象名散列到分段
+     */
+    private static final int VERSION_STRIPES = 1024;
+
+    /**
+     * 失效版本：对象按对象名分段、桶按桶名、清空时全局递增。
+     * 读取期间本对象(或同段对象)、所在桶发生过失效的结果不保留在缓存中，其他对象的失效不影响
+     */
+    private final AtomicLongArray keyVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final ConcurrentMap<String, AtomicLong> bucketVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    /**
+     * 读取开始前的失效版本，由 version 取得后传给 admit
+     */
+    public static final class LoadVersion {
+
+        private final int stripe;
+
+        private final long key;
+
+        private final AtomicLong bucketVersion;
+
+        private final long bucket;
+
+        private final long global;
+
+        private LoadVersion(int stripe, long key, AtomicLong bucketVersion, long bucket, long global) {
+            this.stripe = stripe;
+            this.key = key;
+            this.bucketVersion = bucketVersion;
+            this.bucket = bucket;
+            this.global = global;
+        }
+    }
+
+    /**
+     * @param maxBytes      堆外内容总大小上限
+     * @param maxObjectSize 可缓存的最大对象
+     * @param ttl           条目写入后的过期时间
+     */
+    public SmallObjectCache(long maxBytes, int maxObjectSize, Duration ttl) {
+        this.maxObjectSize = maxObjectSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.size() + ENTRY_OVERHEAD)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 查询缓存，未命中返回 null
+     */
+    public Entry get(String bucketName, String objectName) {
+        return cache.getIfPresent(key(bucketName, objectName));
+    }
+
+    /**
+     * 读取开始前的版本，传给 admit
+     */
+    public LoadVersion version(String bucketName, String objectName) {
+        int stripe = stripe(key(bucketName, objectName));
+        AtomicLong bucketVersion = bucketVersion(bucketName);
+        long global = globalVersion.get();
+        long bucket = bucketVersion.get();
+        return new LoadVersion(stripe, keyVersions.get(stripe), bucketVersion, bucket, global);
+    }
+
+    /**
+     * 内容长度不超过 maxObjectSize 时读完 body 存入堆外内存并返回条目，否则返回 null，body 保持未读
+     *
+     * @param headers     GetObject 响应头，须含 Content-Length
+     * @param body        GetObject 响应体，返回条目时已读完，由调用方关闭
+     * @param loadVersion 读取开始前的 version(bucketName, objectName)
+     */
+    public Entry admit(String bucketName, String objectName, Headers headers, InputStream body, LoadVersion loadVersion)
+            throws IOException {
+        String contentLength = headers.get("Content-Length");
+        if (contentLength == null) {
+            return null;
+        }
+        long length = Long.parseLong(contentLength);
+        if (length > maxObjectSize) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.allocateDirect((int) length);
+        ReadableByteChannel channel = Channels.newChannel(body);
+        while (data.hasRemaining()) {
+            if (channel.read(data) < 0) {
+                throw new IOException("premature end of object, " + data.remaining() + " bytes remaining");
+            }
+        }
+        data.flip();
+        Entry entry = new Entry(headers, data.asReadOnlyBuffer());
+        String key = key(bucketName, objectName);
+        cache.put(key, entry);
+        if (!unchanged(loadVersion)) {
+            cache.asMap().remove(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * 失效单个对象，本服务写入、删除对象后调用
+     */
+    public void invalidate(String bucketName, String objectName) {
+        String key = key(bucketName, objectName);
+        keyVersions.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    /**
+     * 失效桶内所有对象
+     */
+    public void invalidateBucket(String bucketName) {
+        String prefix = bucketName + "/";
+        bucketVersion(bucketName).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public int getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = cache.stats();
+        return "SmallObjectCache{" +
+                "size=" + size() +
+                ", hit=" + stats.hitCount() +
+                ", miss=" + stats.missCount() +
+                ", hitRate=" + String.format("%.4f", stats.hitRate()) +
+                ", eviction=" + stats.evictionCount() +
+                '}';
+    }
+
+    private boolean unchanged(LoadVersion loadVersion) {
+        // 先写入再比较，失效方先递增版本再删除条目：比较时未见到递增，则删除必在写入之后，不会残留旧内容
+        return keyVersions.get(loadVersion.stripe) == loadVersion.key
+                && loadVersion.bucketVersion.get() == loadVersion.bucket
+                && globalVersion.get() == loadVersion.global;
+    }
+
+    private AtomicLong bucketVersion(String bucketName) {
+        AtomicLong version = bucketVersions.get(bucketName);
+        return version != null ? version : bucketVersions.computeIfAbsent(bucketName, name -> new AtomicLong());
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private static String key(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
+}
@@ -0,0 +1,151 @@
+package com.dist.zja.minio.common.client;
+
+import com.google.common.collect.Multimap;
+import io.minio.AbortMultipartUploadResponse;
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.DeleteObjectsResponse;
+import io.minio.ListObjectsV2Response;
+import io.minio.ListPartsResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import io.minio.messages.ListObjectsResult;
+import io.minio.messages.Part;
+import io.minio.messages.Prefix;
+
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 9:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：MinioAsyncClient 扩展，对外开放 S3Base 中 protected 的底层异步 API（分页列举、批量删除、分片上传等）
+ */
+public class MinioExtendAsyncClient extends MinioAsyncClient {
+
+    public MinioExtendAsyncClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * 列举一页对象(ListObjectsV2)，不会自动翻页
+     *
+     * @param bucketName          桶名
+     * @param prefix              对象前缀，可为空
+     * @param delimiter           分隔符，为空则递归列举
+     * @param startAfter          从该对象名之后开始列举，可为空
+     * @param maxKeys             单页最大数量，可为空(服务端默认1000)
+     * @param continuationToken   上一页返回的 nextContinuationToken，可为空
+     * @param includeUserMetadata 是否返回用户元数据(MinIO 扩展)
+     */
+    public CompletableFuture<ListObjectsV2Response> listObjectsV2PageAsync(
+            String bucketName, String prefix, String delimiter, String startAfter, Integer maxKeys,
+            String continuationToken, boolean includeUserMetadata) throws Exception {
+        return listObjectsV2Async(bucketName, null, delimiter, "url", startAfter, maxKeys, prefix,
+                continuationToken, false, includeUserMetadata, null, null)
+                .thenApply(response -> {
+                    // 请求使用 url 编码，响应中的对象名需按 encodingType 解码
+                    for (Item item : response.result().contents()) {
+                        item.setEncodingType(response.result().encodingType());
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * 将列举结果中的公共前缀转换为目录项，并按响应的 encodingType 解码
+     */
+    public static Item toItem(ListObjectsResult result, Prefix prefix) {
+        Item item = prefix.toItem();
+        item.setEncodingType(result.encodingType());
+        return item;
+    }
+
+    /**
+     * 批量删除对象，单次最多1000个
+     *
+     * @param bucketName 桶名
+     * @param objectList 待删除对象
+     */
+    public CompletableFuture<DeleteObjectsResponse> deleteObjectsPageAsync(String bucketName, List<DeleteObject> objectList) throws Exception {
+        return deleteObjectsAsync(bucketName, null, objectList, true, false, null, null);
+    }
+
+    /**
+     * 创建分片上传
+     *
+     * @param headers 请求头，如 Content-Type、x-amz-meta-*，可为空
+     */
+    public CompletableFuture<CreateMultipartUploadResponse> initMultipartUploadAsync(
+            String bucketName, String objectName, Multimap<String, String> headers) throws Exception {
+        return createMultipartUploadAsync(bucketName, null, objectName, headers, null);
+    }
+
+    /**
+     * 单次上传对象-字节数组
+     *
+     * @param data    对象数据
+     * @param length  有效长度，允许小于 data.length(复用缓冲区)
+     * @param headers 请求头，如 Content-Type、x-amz-meta-*，可为空
+     */
+    public CompletableFuture<ObjectWriteResponse> putObjectAsync(
+            String bucketName, String objectName, byte[] data, int length, Multimap<String, String> headers) throws Exception {
+        return putObjectAsync(bucketName, null, objectName, data, length, headers, null);
+    }
+
+    /**
+     * 上传一个分片-字节数组
+     *
+     * @param data   分片数据
+     * @param length 有效长度，允许小于 data.length(复用缓冲区)
+     */
+    public CompletableFuture<UploadPartResponse> uploadPartAsync(
+            String bucketName, String objectName, String uploadId, int partNumber, byte[] data, int length) throws Exception {
+        return uploadPartAsync(bucketName, null, objectName, data, length, uploadId, partNumber, null, null);
+    }
+
+    /**
+     * 上传一个分片-文件区间，从 file 当前位置读取 length 字节，不经过堆内存整段复制
+     *
+     * @param file   已定位(seek)到分片起始位置的文件，每个并发分片须使用独立的 RandomAccessFile
+     * @param length 分片长度
+     */
+    public CompletableFuture<UploadPartResponse> uploadPartAsync(
+            String bucketName, String objectName, String uploadId, int partNumber, RandomAccessFile file, long length) throws Exception {
+        return uploadPartAsync(bucketName, null, objectName, file, length, uploadId, partNumber, null, null);
+    }
+
+    /**
+     * 完成分片上传
+     *
+     * @param parts 已上传分片，须按 partNumber 升序
+     */
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUploadAsync(
+            String bucketName, String objectName, String uploadId, Part[] parts) throws Exception {
+        return completeMultipartUploadAsync(bucketName, null, objectName, uploadId, parts, null, null);
+    }
+
+    /**
+     * 取消分片上传，服务端会清理已上传分片
+     */
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUploadAsync(
+            String bucketName, String objectName, String uploadId) throws Exception {
+        return abortMultipartUploadAsync(bucketName, null, objectName, uploadId, null, null);
+    }
+
+    /**
+     * 列举已上传分片(单页)
+     *
+     * @param partNumberMarker 从该分片号之后开始列举，可为空
+     */
+    public CompletableFuture<ListPartsResponse> listPartsAsync(
+            String bucketName, String objectName, String uploadId, Integer partNumberMarker) throws Exception {
+        return listPartsAsync(bucketName, null, objectName, 1000, partNumberMarker, uploadId, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dist.zja.minio.common.enums;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 20:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：二维码输出格式
+ */
+public enum QrCodeFormatEnum {
+    PNG, SVG;  // PNG 返回 Base64 编码的 1 位黑白 PNG，SVG 返回 SVG 文本
+}
@@ -0,0 +1,69 @@
+package com.dist.zja.minio.common.http;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 10:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：设置 socket 收发缓冲区大小的 SocketFactory，OkHttp 本身不提供该配置项
+ */
+public class BufferSizeSocketFactory extends SocketFactory {
+
+    private final SocketFactory delegate;
+
+    private final int sendBufferSize;
+
+    private final int receiveBufferSize;
+
+    /**
+     * @param sendBufferSize    发送缓冲区大小，小于等于0 不设置
+     * @param receiveBufferSize 接收缓冲区大小，小于等于0 不设置
+     */
+    public BufferSizeSocketFactory(int sendBufferSize, int receiveBufferSize) {
+        this.delegate = SocketFactory.getDefault();
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return configure(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return configure(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return configure(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return configure(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return configure(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket configure(Socket socket) throws IOException {
+        // 接收缓冲区需在 connect 之前设置才能影响 TCP 窗口协商
+        if (sendBufferSize > 0) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+        return socket;
+    }
+}
@@ -0,0 +1,248 @@
+package com.dist.zja.minio.common.utils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 17:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：HTTP Range 与条件请求(If-None-Match、If-Range)解析
+ */
+public class HttpRangeUtils {
+
+    /**
+     * 字节区间 [start, end]，两端均包含
+     */
+    public static final class ByteRange {
+
+        /**
+         * 区间无法满足(起始位置超出对象大小)，应返回 416
+         */
+        public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        private final long start;
+
+        private final long end;
+
+        private ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * 完整内容 [0, size - 1]
+         */
+        public static ByteRange full(long size) {
+            return new ByteRange(0, size - 1);
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public long getLength() {
+            return end - start + 1;
+        }
+
+        public boolean isSatisfiable() {
+            return this != UNSATISFIABLE;
+        }
+
+        /**
+         * Content-Range 响应头的值
+         */
+        public String toContentRange(long size) {
+            return "bytes " + start + "-" + end + "/" + size;
+        }
+
+        @Override
+        public String toString() {
+            return isSatisfiable() ? "bytes=" + start + "-" + end : "unsatisfiable";
+        }
+    }
+
+    /**
+     * 解析 Range 请求头，仅支持单个字节区间
+     *
+     * @param header Range 请求头
+     * @param size   对象大小
+     * @return null 表示忽略 Range 返回完整内容(无请求头、语法错误或多区间)；
+     * ByteRange.UNSATISFIABLE 表示区间无法满足
+     */
+    public static ByteRange parseRange(String header, long size) {
+        if (header == null) {
+            return null;
+        }
+        header = header.trim();
+        if (!header.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        if (spec.indexOf(',') >= 0) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // bytes=-n，最后 n 个字节
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix == 0 || size == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 按请求的 If-None-Match(优先)或 If-Modified-Since 判断客户端缓存是否仍然有效，有效时应返回 304
+     *
+     * @param etag         对象 ETag
+     * @param lastModified 对象最后修改时间(毫秒)
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesNoneMatch(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * 按请求的 Range、If-Range 确定响应区间
+     *
+     * @return null 表示返回完整内容；ByteRange.UNSATISFIABLE 表示应返回 416
+     */
+    public static ByteRange resolveRange(HttpServletRequest request, String etag, long lastModified, long size) {
+        if (!matchesIfRange(request.getHeader("If-Range"), etag, lastModified, dateHeader(request, "If-Range"))) {
+            return null;
+        }
+        return parseRange(request.getHeader("Range"), size);
+    }
+
+    /**
+     * If-None-Match 是否命中当前 ETag(弱比较)
+     *
+     * @param header If-None-Match 请求头
+     * @param etag   对象 ETag，可带或不带引号
+     */
+    public static boolean matchesNoneMatch(String header, String etag) {
+        if (header == null || etag == null) {
+            return false;
+        }
+        String current = unquote(etag);
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (unquote(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range 是否仍然有效(强比较 ETag 或与 Last-Modified 相同的时间)，无效时应忽略 Range 返回完整内容
+     *
+     * @param header       If-Range 请求头，为空时视为有效
+     * @param etag         对象 ETag
+     * @param lastModified 对象最后修改时间(毫秒)
+     * @param headerDate   If-Range 按日期解析的值(毫秒)，不是日期时为 -1
+     */
+    public static boolean matchesIfRange(String header, String etag, long lastModified, long headerDate) {
+        if (header == null) {
+            return true;
+        }
+        header = header.trim();
+        if (header.startsWith("\"")) {
+            return etag != null && unquote(header).equals(unquote(etag));
+        }
+        return headerDate >= 0 && headerDate / 1000 == lastModified / 1000;
+    }
+
+    /**
+     * 带引号的 ETag
+     */
+    public static String quote(String etag) {
+        if (etag == null || etag.startsWith("\"") || etag.startsWith("W/")) {
+            return etag;
+        }
+        return "\"" + etag + "\"";
+    }
+
+    /**
+     * Content-Disposition 响应头的值，同时给出 ASCII 文件名和 RFC 5987 编码的 UTF-8 文件名
+     *
+     * @param type     attachment 或 inline
+     * @param filename 文件名
+     */
+    public static String contentDisposition(String type, String filename) {
+        int slash = filename.lastIndexOf('/');
+        if (slash >= 0) {
+            filename = filename.substring(slash + 1);
+        }
+        StringBuilder ascii = new StringBuilder(filename.length());
+        for (int i = 0; i < filename.length(); i++) {
+            char c = filename.charAt(i);
+            ascii.append(c >= 0x20 && c < 0x7f && c != '"' && c != '\\' ? c : '_');
+        }
+        String encoded;
+        try {
+            encoded = URLEncoder.encode(filename, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return type + "; filename=\"" + ascii + "\"; filename*=UTF-8''" + encoded;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String unquote(String etag) {
+        if (etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+}
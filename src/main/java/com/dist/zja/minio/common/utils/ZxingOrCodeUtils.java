@@ -1,7 +1,19 @@
 package com.dist.zja.minio.common.utils;
 
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import static com.google.zxing.client.j2se.MatrixToImageConfig.BLACK;
 import static com.google.zxing.client.j2se.MatrixToImageConfig.WHITE;
 
@@ -43,4 +55,89 @@ public class ZxingOrCodeUtils {
         return image;
     }
 
+    /**
+     * 编码二维码，不留白边，每个模块对应矩阵中的一个点
+     */
+    public static BitMatrix encodeModules(String content) throws WriterException {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
+        hints.put(EncodeHintType.MARGIN, 0);
+        // 宽高为 0 时 zxing 不放大，直接返回模块矩阵
+        return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, hints);
+    }
+
+    /**
+     * 不超过 size 像素的最大整数放大倍数(至少为1)，整数倍放大保证模块边缘清晰
+     */
+    public static int scaleFor(BitMatrix modules, int size) {
+        return Math.max(1, size / modules.getWidth());
+    }
+
+    /**
+     * 模块矩阵按整数倍放大为 1 位黑白图像，直接写入图像数据，每个模块行只计算一次扫描线
+     */
+    public static BufferedImage toBinaryImage(BitMatrix modules, int scale) {
+        int moduleWidth = modules.getWidth();
+        int moduleHeight = modules.getHeight();
+        int width = moduleWidth * scale;
+        int height = moduleHeight * scale;
+        // TYPE_BYTE_BINARY 默认调色板: 0 黑 1 白，每像素 1 位，高位在前
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int stride = (width + 7) / 8;
+        byte[] line = new byte[stride];
+        for (int y = 0; y < moduleHeight; y++) {
+            Arrays.fill(line, (byte) 0xFF);
+            for (int x = 0; x < moduleWidth; x++) {
+                if (modules.get(x, y)) {
+                    int start = x * scale;
+                    for (int px = start; px < start + scale; px++) {
+                        line[px >> 3] &= ~(0x80 >>> (px & 7));
+                    }
+                }
+            }
+            int offset = y * scale * stride;
+            for (int row = 0; row < scale; row++) {
+                System.arraycopy(line, 0, data, offset + row * stride, stride);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * 生成 1 位黑白 PNG
+     */
+    public static byte[] toPng(BitMatrix modules, int scale) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(1024);
+        ImageIO.write(toBinaryImage(modules, scale), "png", stream);
+        return stream.toByteArray();
+    }
+
+    /**
+     * 生成 SVG，每行连续的黑色模块合并为一个矩形路径，不经过位图
+     */
+    public static String toSvg(BitMatrix modules, int scale) {
+        int moduleWidth = modules.getWidth();
+        int moduleHeight = modules.getHeight();
+        StringBuilder path = new StringBuilder(moduleWidth * moduleHeight);
+        for (int y = 0; y < moduleHeight; y++) {
+            int x = 0;
+            while (x < moduleWidth) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < moduleWidth && modules.get(x, y)) {
+                    x++;
+                }
+                path.append('M').append(start).append(',').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + moduleWidth * scale + "\" height=\"" + moduleHeight * scale
+                + "\" viewBox=\"0 0 " + moduleWidth + " " + moduleHeight + "\" shape-rendering=\"crispEdges\">"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>"
+                + "<path fill=\"#000\" d=\"" + path + "\"/></svg>";
+    }
 }
@@ -1,16 +1,61 @@
 package com.dist.zja.minio.config;
 
+import com.dist.zja.minio.MinioAsyncObjectService;
 import com.dist.zja.minio.MinioBucketService;
 import com.dist.zja.minio.MinioObjectService;
+import com.dist.zja.minio.MinioReactiveObjectService;
+import com.dist.zja.minio.cache.BucketRegistry;
+import com.dist.zja.minio.cache.DiskObjectCache;
+import com.dist.zja.minio.cache.ObjectCacheInvalidator;
+import com.dist.zja.minio.cache.ObjectMetadataCache;
+import com.dist.zja.minio.cache.PresignedUrlCache;
+import com.dist.zja.minio.cache.QrCodeCache;
+import com.dist.zja.minio.cache.SmallObjectCache;
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.common.http.BufferSizeSocketFactory;
+import com.dist.zja.minio.listing.BucketStatisticsCollector;
+import com.dist.zja.minio.listing.ObjectLister;
+import com.dist.zja.minio.listing.ParallelLister;
+import com.dist.zja.minio.listing.PrefixDeleter;
+import com.dist.zja.minio.metrics.CallTimingEventListener;
+import com.dist.zja.minio.metrics.MetricsInterceptor;
+import com.dist.zja.minio.metrics.MicrometerMinioMetrics;
+import com.dist.zja.minio.metrics.MinioMetrics;
 import com.dist.zja.minio.properties.MinioProperties;
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+import com.dist.zja.minio.transfer.MultipartUploader;
+import com.dist.zja.minio.transfer.ParallelDownloader;
+import com.dist.zja.minio.transfer.PartBufferPool;
+import com.dist.zja.minio.transfer.ReactiveUploader;
+import com.dist.zja.minio.transfer.UploadJournal;
+import io.minio.MinioAsyncClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
+import io.netty.buffer.PooledByteBufAllocator;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Company: 上海数慧系统技术有限公司
  * Department: 数据中心
@@ -26,6 +71,11 @@ public class MinioAutoConfig {
 
     private MinioProperties minIo;
 
+    /**
+     * MinioClient 与 MinioAsyncClient 共享的 OkHttpClient(共享连接池和调度器)
+     */
+    private OkHttpClient httpClient;
+
     public MinioAutoConfig(MinioProperties minioProperties) {
         if (minioProperties.getDefaultBucket() != null) {
             validateBucketName(minioProperties.getDefaultBucket());
@@ -35,34 +85,243 @@ public class MinioAutoConfig {
 
     @Bean
     @ConditionalOnMissingBean
-    public MinioClient minioClient() {
+    public MinioClient minioClient(ObjectProvider<MinioMetrics> minioMetrics) {
         // Create a minioClient with the MinIO server playground, its access key and secret key.
         MinioClient minioClient = MinioClient.builder()
                 .endpoint(minIo.getEndpoint(), minIo.getPort(), minIo.isSecure())
                 .credentials(minIo.getAccessKey(), minIo.getSecretKey())
+                .httpClient(minioHttpClient(minioMetrics.getIfAvailable(() -> MinioMetrics.NOOP)))
                 .build();
         return minioClient;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public MinioAsyncClient minioAsyncClient(ObjectProvider<MinioMetrics> minioMetrics) {
+        return MinioAsyncClient.builder()
+                .endpoint(minIo.getEndpoint(), minIo.getPort(), minIo.isSecure())
+                .credentials(minIo.getAccessKey(), minIo.getSecretKey())
+                .httpClient(minioHttpClient(minioMetrics.getIfAvailable(() -> MinioMetrics.NOOP)))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.bucket.enabled", havingValue = "true", matchIfMissing = true)
+    public BucketRegistry minioBucketRegistry(MinioClient minioClient) {
+        return new BucketRegistry(minioClient, minIo.getCache().getBucket().getRefreshInterval());
+    }
+
+    @Bean(initMethod = "init", destroyMethod = "destroy")
+    @ConditionalOnMissingBean
+    public MinioBucketService minioBucketService(MinioClient minioClient, ObjectLister minioObjectLister,
+                                                 ParallelLister minioParallelLister,
+                                                 BucketStatisticsCollector minioBucketStatisticsCollector,
+                                                 ObjectProvider<BucketRegistry> minioBucketRegistry) {
+        MinioBucketService minioBucketService;
+        if (StringUtils.isEmpty(minIo.getDefaultBucket())) {
+            minioBucketService = new MinioBucketService(minioClient);
+        } else {
+            minioBucketService = new MinioBucketService(minioClient, minIo.getDefaultBucket());
+        }
+        minioBucketService.setObjectLister(minioObjectLister);
+        minioBucketService.setParallelLister(minioParallelLister);
+        minioBucketService.setStatisticsCollector(minioBucketStatisticsCollector);
+        minioBucketService.setBucketRegistry(minioBucketRegistry.getIfAvailable());
+        return minioBucketService;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ObjectLister minioObjectLister(MinioAsyncClient minioAsyncClient) {
+        return new ObjectLister(new MinioExtendAsyncClient(minioAsyncClient));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ParallelLister minioParallelLister(ObjectLister minioObjectLister, MinioTransferExecutor minioTransferExecutor) {
+        return new ParallelLister(minioObjectLister, minioTransferExecutor);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BucketStatisticsCollector minioBucketStatisticsCollector(ObjectLister minioObjectLister, MinioTransferExecutor minioTransferExecutor) {
+        return new BucketStatisticsCollector(minioObjectLister, minioTransferExecutor);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PrefixDeleter minioPrefixDeleter(ObjectLister minioObjectLister) {
+        return new PrefixDeleter(minioObjectLister, minIo.getTransfer().getConcurrency());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public MinioTransferExecutor minioTransferExecutor() {
+        MinioProperties.Transfer transfer = minIo.getTransfer();
+        return new MinioTransferExecutor(transfer.getConcurrency(), transfer.getTaskConcurrency(), transfer.getListConcurrency());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MultipartUploader minioMultipartUploader(MinioAsyncClient minioAsyncClient, MinioTransferExecutor minioTransferExecutor,
+                                                    ObjectProvider<MinioMetrics> minioMetrics) {
+        MinioProperties.Transfer transfer = minIo.getTransfer();
+        PartBufferPool bufferPool = new PartBufferPool((int) transfer.getPartSize().toBytes(),
+                transfer.getBufferMemory().toBytes(), transfer.getConcurrency());
+        minioMetrics.ifAvailable(metrics -> metrics.monitor(bufferPool));
+        MultipartUploader uploader = new MultipartUploader(new MinioExtendAsyncClient(minioAsyncClient), minioTransferExecutor,
+                bufferPool, transfer.getMultipartThreshold().toBytes(),
+                StringUtils.isEmpty(transfer.getSpillDirectory()) ? null : Paths.get(transfer.getSpillDirectory()));
+        uploader.setUploadJournal(new UploadJournal(StringUtils.isEmpty(transfer.getJournalDirectory())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "minio-upload-journal")
+                : Paths.get(transfer.getJournalDirectory())));
+        return uploader;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ParallelDownloader minioParallelDownloader(MinioTransferExecutor minioTransferExecutor) {
+        return new ParallelDownloader(minioTransferExecutor, minIo.getTransfer().getPartSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.metadata.enabled", havingValue = "true")
+    public ObjectMetadataCache minioMetadataCache() {
+        MinioProperties.Metadata metadata = minIo.getCache().getMetadata();
+        return new ObjectMetadataCache(metadata.getMaximumSize(), metadata.getTtl(), metadata.getNegativeTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.presigned.enabled", havingValue = "true")
+    public PresignedUrlCache minioPresignedUrlCache() {
+        MinioProperties.Presigned presigned = minIo.getCache().getPresigned();
+        return new PresignedUrlCache(presigned.getMaximumSize(), presigned.getMinRemainingFraction());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.qrcode.enabled", havingValue = "true")
+    public QrCodeCache minioQrCodeCache() {
+        MinioProperties.Qrcode qrcode = minIo.getCache().getQrcode();
+        return new QrCodeCache(qrcode.getMaximumSize(), qrcode.getExpireAfterAccess());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.disk.enabled", havingValue = "true")
+    public DiskObjectCache minioDiskObjectCache() throws IOException {
+        MinioProperties.Disk disk = minIo.getCache().getDisk();
+        return new DiskObjectCache(StringUtils.isEmpty(disk.getDirectory())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "minio-object-cache")
+                : Paths.get(disk.getDirectory()),
+                disk.getMaxSize().toBytes(), disk.getMaxObjectSize().toBytes(), disk.getRevalidateAfter(),
+                disk.getAdmissionWindow());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "dist.minio.cache.small.enabled", havingValue = "true")
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    public SmallObjectCache minioSmallObjectCache() {
+        MinioProperties.Small small = minIo.getCache().getSmall();
+        return new SmallObjectCache(small.getMaxSize().toBytes(), (int) small.getMaxObjectSize().toBytes(), small.getTtl());
+    }
+
     @Bean(initMethod = "init")
     @ConditionalOnMissingBean
-    public MinioBucketService minioBucketService(MinioClient minioClient) {
+    public MinioObjectService minIoObjectService(MinioClient minioClient, MultipartUploader minioMultipartUploader,
+                                                 ParallelDownloader minioParallelDownloader, ObjectLister minioObjectLister,
+                                                 PrefixDeleter minioPrefixDeleter,
+                                                 ObjectProvider<ObjectMetadataCache> minioMetadataCache,
+                                                 ObjectProvider<PresignedUrlCache> minioPresignedUrlCache,
+                                                 ObjectProvider<QrCodeCache> minioQrCodeCache,
+                                                 ObjectProvider<DiskObjectCache> minioDiskObjectCache,
+                                                 ObjectProvider<SmallObjectCache> minioSmallObjectCache) {
+        MinioObjectService minioObjectService;
         if (StringUtils.isEmpty(minIo.getDefaultBucket())) {
-            return new MinioBucketService(minioClient);
+            minioObjectService = new MinioObjectService(minioClient);
+        } else {
+            minioObjectService = new MinioObjectService(minioClient, minIo);
         }
-        return new MinioBucketService(minioClient, minIo.getDefaultBucket());
+        minioObjectService.setMultipartUploader(minioMultipartUploader);
+        minioObjectService.setParallelDownloader(minioParallelDownloader);
+        minioObjectService.setObjectLister(minioObjectLister);
+        minioObjectService.setPrefixDeleter(minioPrefixDeleter);
+        minioObjectService.setMetadataCache(minioMetadataCache.getIfAvailable());
+        minioObjectService.setPresignedUrlCache(minioPresignedUrlCache.getIfAvailable());
+        minioObjectService.setQrCodeCache(minioQrCodeCache.getIfAvailable());
+        minioObjectService.setDiskCache(minioDiskObjectCache.getIfAvailable());
+        minioObjectService.setSmallObjectCache(minioSmallObjectCache.getIfAvailable());
+        return minioObjectService;
     }
 
     @Bean(initMethod = "init")
     @ConditionalOnMissingBean
-    public MinioObjectService minIoObjectService(MinioClient minioClient) {
+    public MinioAsyncObjectService minioAsyncObjectService(MinioAsyncClient minioAsyncClient,
+                                                           ObjectProvider<ObjectMetadataCache> minioMetadataCache,
+                                                           ObjectProvider<DiskObjectCache> minioDiskObjectCache,
+                                                           ObjectProvider<SmallObjectCache> minioSmallObjectCache) {
+        MinioAsyncObjectService minioAsyncObjectService;
         if (StringUtils.isEmpty(minIo.getDefaultBucket())) {
-            return new MinioObjectService(minioClient);
+            minioAsyncObjectService = new MinioAsyncObjectService(minioAsyncClient);
+        } else {
+            minioAsyncObjectService = new MinioAsyncObjectService(minioAsyncClient, minIo);
         }
-        return new MinioObjectService(minioClient, minIo);
+        minioAsyncObjectService.setCacheInvalidator(cacheInvalidator(minioMetadataCache, minioDiskObjectCache, minioSmallObjectCache));
+        return minioAsyncObjectService;
+    }
+
+    /**
+     * 异步、响应式服务写入的对象须失效同步服务的缓存，三者共用同一组缓存 Bean
+     */
+    static ObjectCacheInvalidator cacheInvalidator(ObjectProvider<ObjectMetadataCache> minioMetadataCache,
+                                                   ObjectProvider<DiskObjectCache> minioDiskObjectCache,
+                                                   ObjectProvider<SmallObjectCache> minioSmallObjectCache) {
+        return new ObjectCacheInvalidator(minioMetadataCache.getIfAvailable(), minioDiskObjectCache.getIfAvailable(),
+                minioSmallObjectCache.getIfAvailable());
     }
 
 
+    /**
+     * 根据 dist.minio.http.* 构建 OkHttpClient，在 minio 默认客户端(含 SSL_CERT_FILE 处理)基础上调整连接池、调度器等
+     */
+    private synchronized OkHttpClient minioHttpClient(MinioMetrics metrics) {
+        if (httpClient != null) {
+            return httpClient;
+        }
+        MinioProperties.Http http = minIo.getHttp();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(http.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+
+        OkHttpClient.Builder builder = HttpUtils.newDefaultHttpClient(
+                http.getConnectTimeout().toMillis(),
+                http.getWriteTimeout().toMillis(),
+                http.getReadTimeout().toMillis())
+                .newBuilder()
+                .connectionPool(new ConnectionPool(http.getMaxIdleConnections(), http.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher);
+        if (http.isHttp2() && minIo.isSecure()) {
+            builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+        if (http.getSendBufferSize() > 0 || http.getReceiveBufferSize() > 0) {
+            builder.socketFactory(new BufferSizeSocketFactory(http.getSendBufferSize(), http.getReceiveBufferSize()));
+        }
+        if (metrics != MinioMetrics.NOOP) {
+            builder.addInterceptor(new MetricsInterceptor(metrics));
+        }
+        if (http.isTraceEnabled()) {
+            builder.eventListenerFactory(new CallTimingEventListener.Factory(metrics, http.getSlowCallThreshold(), http.getSlowCallSampleRate()));
+        }
+        httpClient = builder.build();
+        return httpClient;
+    }
+
     /**
      * 验证桶名称
      * @param name
@@ -84,4 +343,65 @@ public class MinioAutoConfig {
         }
     }
 
+    /**
+     * 存在 MeterRegistry 时注册 MinIO 请求指标。MeterRegistry 由 ObjectProvider 在创建 MinioClient 时解析，
+     * 不依赖与 Actuator 指标自动配置的先后顺序
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(name = "dist.minio.metrics.enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MinioMetrics minioMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry == null ? MinioMetrics.NOOP : new MicrometerMinioMetrics(registry);
+        }
+    }
+
+    /**
+     * WebFlux 环境下注册响应式对象服务，与阻塞上传共用分片缓冲区池(内存预算)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"reactor.core.publisher.Flux", "org.springframework.web.reactive.DispatcherHandler"})
+    static class ReactiveConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveUploader minioReactiveUploader(MultipartUploader minioMultipartUploader, MinioProperties minioProperties) {
+            return new ReactiveUploader(minioMultipartUploader.getClient(), minioMultipartUploader.getBufferPool(),
+                    minioProperties.getTransfer().getConcurrency());
+        }
+
+        @Bean(initMethod = "init")
+        @ConditionalOnMissingBean
+        public MinioReactiveObjectService minioReactiveObjectService(ReactiveUploader minioReactiveUploader,
+                                                                     MinioProperties minioProperties,
+                                                                     ObjectProvider<ObjectMetadataCache> minioMetadataCache,
+                                                                     ObjectProvider<DiskObjectCache> minioDiskObjectCache,
+                                                                     ObjectProvider<SmallObjectCache> minioSmallObjectCache) {
+            DataBufferFactory bufferFactory = ClassUtils.isPresent("io.netty.buffer.PooledByteBufAllocator", null)
+                    ? NettyBuffers.pooledFactory() : new DefaultDataBufferFactory();
+            MinioReactiveObjectService minioReactiveObjectService;
+            if (StringUtils.isEmpty(minioProperties.getDefaultBucket())) {
+                minioReactiveObjectService = new MinioReactiveObjectService(minioReactiveUploader, bufferFactory);
+            } else {
+                minioReactiveObjectService = new MinioReactiveObjectService(minioReactiveUploader, bufferFactory, minioProperties);
+            }
+            minioReactiveObjectService.setCacheInvalidator(cacheInvalidator(minioMetadataCache, minioDiskObjectCache, minioSmallObjectCache));
+            return minioReactiveObjectService;
+        }
+    }
+
+    /**
+     * 隔离对 Netty 的引用，类路径中没有 Netty 时不加载
+     */
+    private static class NettyBuffers {
+
+        private static DataBufferFactory pooledFactory() {
+            return new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        }
+    }
+
 }
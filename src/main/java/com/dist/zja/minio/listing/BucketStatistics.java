@@ -0,0 +1,232 @@
+package com.dist.zja.minio.listing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 22:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：桶用量统计：对象数、总字节数、大小分布、按下一层前缀的用量。
+ * 抽样统计时 objectCount/totalBytes/直方图/前缀用量均为实际列举到的值，estimated* 为按抽样比例推算的全量值
+ */
+public class BucketStatistics {
+
+    /**
+     * 大小分布区间上界(不含)，最后一个区间无上界
+     */
+    private static final long[] BOUNDS = {1, 1L << 10, 16L << 10, 128L << 10, 1L << 20, 8L << 20, 64L << 20, 512L << 20, 4L << 30};
+
+    private static final String[] LABELS = {"0B", "<1KB", "1KB-16KB", "16KB-128KB", "128KB-1MB", "1MB-8MB", "8MB-64MB", "64MB-512MB", "512MB-4GB", ">=4GB"};
+
+    /**
+     * 单个前缀(分片)的用量
+     */
+    public static class PrefixUsage {
+
+        private long objectCount;
+
+        private long totalBytes;
+
+        private final long[] histogram = new long[LABELS.length];
+
+        void add(long size) {
+            objectCount++;
+            totalBytes += size;
+            histogram[bin(size)]++;
+        }
+
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "PrefixUsage{" +
+                    "objectCount=" + objectCount +
+                    ", totalBytes=" + totalBytes +
+                    '}';
+        }
+    }
+
+    private final String bucketName;
+
+    private final String prefix;
+
+    private long objectCount;
+
+    private long totalBytes;
+
+    private final long[] histogram = new long[LABELS.length];
+
+    private final Map<String, PrefixUsage> prefixes = new TreeMap<>();
+
+    private int shards;
+
+    private int sampledShards;
+
+    private long estimatedObjectCount;
+
+    private long estimatedTotalBytes;
+
+    private long durationMillis;
+
+    BucketStatistics(String bucketName, String prefix) {
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+    }
+
+    /**
+     * 合并一个分片的用量
+     *
+     * @param shardPrefix 分片前缀；直接位于统计前缀下的对象使用统计前缀本身
+     */
+    synchronized void merge(String shardPrefix, PrefixUsage usage) {
+        objectCount += usage.objectCount;
+        totalBytes += usage.totalBytes;
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += usage.histogram[i];
+        }
+        if (usage.objectCount > 0) {
+            prefixes.put(shardPrefix, usage);
+        }
+    }
+
+    /**
+     * 按抽样比例推算全量
+     *
+     * @param direct        直接位于统计前缀下的对象(全量统计)
+     * @param shards        下一层前缀总数
+     * @param sampledShards 实际列举的前缀数
+     */
+    synchronized void finish(PrefixUsage direct, int shards, int sampledShards, long durationMillis) {
+        this.shards = shards;
+        this.sampledShards = sampledShards;
+        this.durationMillis = durationMillis;
+        long shardCount = objectCount - direct.objectCount;
+        long shardBytes = totalBytes - direct.totalBytes;
+        if (sampledShards > 0 && sampledShards < shards) {
+            double scale = (double) shards / sampledShards;
+            this.estimatedObjectCount = direct.objectCount + Math.round(shardCount * scale);
+            this.estimatedTotalBytes = direct.totalBytes + Math.round(shardBytes * scale);
+        } else {
+            this.estimatedObjectCount = objectCount;
+            this.estimatedTotalBytes = totalBytes;
+        }
+    }
+
+    static int bin(long size) {
+        int i = 0;
+        while (i < BOUNDS.length && size >= BOUNDS[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * 统计范围前缀，可为空
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * 实际列举到的对象数
+     */
+    public synchronized long getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * 实际列举到的对象总字节数
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 推算的对象数，未抽样时等于 objectCount
+     */
+    public synchronized long getEstimatedObjectCount() {
+        return estimatedObjectCount;
+    }
+
+    /**
+     * 推算的对象总字节数，未抽样时等于 totalBytes
+     */
+    public synchronized long getEstimatedTotalBytes() {
+        return estimatedTotalBytes;
+    }
+
+    /**
+     * 是否为抽样结果
+     */
+    public synchronized boolean isSampled() {
+        return sampledShards < shards;
+    }
+
+    /**
+     * 下一层前缀(分片)总数
+     */
+    public synchronized int getShards() {
+        return shards;
+    }
+
+    /**
+     * 实际列举的分片数
+     */
+    public synchronized int getSampledShards() {
+        return sampledShards;
+    }
+
+    /**
+     * 大小分布：区间 -> 对象数，区间按大小升序
+     */
+    public synchronized Map<String, Long> getSizeHistogram() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < LABELS.length; i++) {
+            result.put(LABELS[i], histogram[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 按下一层前缀的用量，前缀升序；直接位于统计前缀下的对象记在统计前缀本身
+     */
+    public synchronized Map<String, PrefixUsage> getPrefixUsage() {
+        return Collections.unmodifiableMap(new TreeMap<>(prefixes));
+    }
+
+    /**
+     * 耗时(毫秒)
+     */
+    public synchronized long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BucketStatistics{" +
+                "bucketName='" + bucketName + '\'' +
+                ", prefix='" + prefix + '\'' +
+                ", objectCount=" + objectCount +
+                ", totalBytes=" + totalBytes +
+                ", estimatedObjectCount=" + estimatedObjectCount +
+                ", estimatedTotalBytes=" + estimatedTotalBytes +
+                ", shards=" + sampledShards + "/" + shards +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 22:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：桶用量统计。以 "/" 列举一层得到分片(公共前缀)，各分片在列举线程池中并发递归列举并在本线程内累加，
+ * 最后合并，不经过结果队列，也不保留对象列表。抽样时按前缀散列稳定地选取一部分分片列举，
+ * 再按分片比例推算全量；直接位于统计前缀下的对象始终全量统计。没有下一层前缀的平铺桶无法抽样，总是全量统计
+ */
+public class BucketStatisticsCollector {
+
+    public static Logger logger = LoggerFactory.getLogger(BucketStatisticsCollector.class);
+
+    private final ObjectLister lister;
+
+    private final MinioTransferExecutor executor;
+
+    public BucketStatisticsCollector(ObjectLister lister, MinioTransferExecutor executor) {
+        this.lister = lister;
+        this.executor = executor;
+    }
+
+    /**
+     * 全量统计
+     *
+     * @param prefix 统计范围前缀，可为空
+     */
+    public BucketStatistics collect(String bucketName, String prefix) throws Exception {
+        return collect(bucketName, prefix, 1.0);
+    }
+
+    /**
+     * 统计，sampleRate 小于 1 时抽样
+     *
+     * @param prefix     统计范围前缀，可为空
+     * @param sampleRate 抽样比例 (0, 1]，按分片计，至少列举一个分片
+     */
+    public BucketStatistics collect(String bucketName, String prefix, double sampleRate) throws Exception {
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sampleRate must be in (0, 1]");
+        }
+        long start = System.currentTimeMillis();
+        String base = prefix == null ? "" : prefix;
+        BucketStatistics statistics = new BucketStatistics(bucketName, prefix);
+
+        List<String> shards = new ArrayList<>();
+        BucketStatistics.PrefixUsage direct = new BucketStatistics.PrefixUsage();
+        Iterator<ObjectSummary> discovery = lister.iterator(bucketName, prefix, false, null, null, null);
+        while (discovery.hasNext()) {
+            ObjectSummary summary = discovery.next();
+            if (summary.isDir()) {
+                shards.add(summary.getKey());
+            } else {
+                direct.add(summary.getSize());
+            }
+        }
+        List<String> selected = select(shards, sampleRate);
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(selected.size());
+        for (String shard : selected) {
+            futures.add(executor.submitList(() -> {
+                statistics.merge(shard, listShard(bucketName, shard, cancelled));
+                return null;
+            }));
+        }
+        try {
+            for (CompletableFuture<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            cancelled.set(true);
+        }
+        statistics.merge(base, direct);
+        statistics.finish(direct, shards.size(), selected.size(), System.currentTimeMillis() - start);
+        logger.info("bucket statistics: {}", statistics);
+        return statistics;
+    }
+
+    /**
+     * 按前缀散列排序后取前 ceil(n * sampleRate) 个，同一组前缀每次选中的分片相同，便于前后对比
+     */
+    static List<String> select(List<String> shards, double sampleRate) {
+        if (sampleRate >= 1 || shards.isEmpty()) {
+            return shards;
+        }
+        int count = Math.max(1, (int) Math.ceil(shards.size() * sampleRate));
+        List<String> sorted = new ArrayList<>(shards);
+        sorted.sort(Comparator.comparingInt(BucketStatisticsCollector::mix));
+        return sorted.subList(0, count);
+    }
+
+    private BucketStatistics.PrefixUsage listShard(String bucketName, String shard, AtomicBoolean cancelled) {
+        BucketStatistics.PrefixUsage usage = new BucketStatistics.PrefixUsage();
+        Iterator<ObjectSummary> iterator = lister.iterator(bucketName, shard, true, null, null, null);
+        while (!cancelled.get() && iterator.hasNext()) {
+            usage.add(iterator.next().getSize());
+        }
+        return usage;
+    }
+
+    private static int mix(String value) {
+        int h = value.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,18 @@
+package com.dist.zja.minio.listing;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 16:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：惰性列举(Iterator/Stream)过程中翻页失败，cause 为 S3 原始异常
+ */
+public class ObjectListException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ObjectListException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,142 @@
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.transfer.MultipartSession;
+import io.minio.ListObjectsV2Response;
+import io.minio.messages.Contents;
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Prefix;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 16:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：按需分页的对象列举迭代器。任一时刻只持有当前页和预取的下一页，内存占用与对象总数无关；
+ * 当前页被消费时下一页已在异步请求中；非递归时对象与目录项按对象名归并，整体按对象名升序。列举失败时 hasNext()/next() 抛出 ObjectListException
+ */
+public class ObjectListIterator implements Iterator<ObjectSummary> {
+
+    /**
+     * ListObjectsV2 单页上限
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final MinioExtendAsyncClient client;
+
+    private final String bucketName;
+
+    private final String prefix;
+
+    private final String delimiter;
+
+    private final String startAfter;
+
+    private final int pageSize;
+
+    private final long maxKeys;
+
+    private long returned;
+
+    private long listed;
+
+    private Iterator<ObjectSummary> page;
+
+    private CompletableFuture<ListObjectsV2Response> nextPage;
+
+    /**
+     * @param prefix     对象前缀，可为空
+     * @param recursive  是否递归子目录；非递归时公共前缀以目录项返回
+     * @param startAfter 从该对象名之后开始列举，可为空
+     * @param maxKeys    最多返回数量，为空或小于等于0不限制
+     * @param pageSize   单页数量提示，为空或超过1000时使用1000
+     */
+    public ObjectListIterator(MinioExtendAsyncClient client, String bucketName, String prefix, boolean recursive,
+                              String startAfter, Integer maxKeys, Integer pageSize) {
+        this.client = client;
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+        this.delimiter = recursive ? null : "/";
+        this.startAfter = startAfter;
+        this.pageSize = pageSize == null || pageSize <= 0 ? MAX_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        this.maxKeys = maxKeys == null || maxKeys <= 0 ? Long.MAX_VALUE : maxKeys;
+        this.nextPage = request(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (returned >= maxKeys) {
+            return false;
+        }
+        while ((page == null || !page.hasNext()) && nextPage != null) {
+            ListObjectsV2Response response;
+            try {
+                response = MultipartSession.join(nextPage);
+            } catch (Exception e) {
+                nextPage = null;
+                throw new ObjectListException("list objects failed, bucket: " + bucketName + ", prefix: " + prefix, e);
+            }
+            ListBucketResultV2 result = response.result();
+            String token = result.nextContinuationToken();
+            int count = result.contents().size() + result.commonPrefixes().size();
+            listed += count;
+            // 先发出下一页请求，再转换当前页
+            nextPage = result.isTruncated() && token != null && listed < maxKeys ? request(token) : null;
+            page = merge(result, count).iterator();
+        }
+        return page != null && page.hasNext();
+    }
+
+    @Override
+    public ObjectSummary next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        returned++;
+        return page.next();
+    }
+
+    /**
+     * 对象和公共前缀各自按对象名升序返回，按对象名归并使整页有序
+     */
+    private static List<ObjectSummary> merge(ListBucketResultV2 result, int count) {
+        List<Contents> contents = result.contents();
+        // 公共前缀按响应的 encodingType 解码后再与对象名比较
+        List<Item> dirs = new ArrayList<>(result.commonPrefixes().size());
+        for (Prefix commonPrefix : result.commonPrefixes()) {
+            dirs.add(MinioExtendAsyncClient.toItem(result, commonPrefix));
+        }
+        List<ObjectSummary> summaries = new ArrayList<>(count);
+        int i = 0;
+        int j = 0;
+        while (i < contents.size() || j < dirs.size()) {
+            if (j == dirs.size() || (i < contents.size()
+                    && ObjectSummary.compareKeys(contents.get(i).objectName(), dirs.get(j).objectName()) < 0)) {
+                summaries.add(ObjectSummary.of(contents.get(i++)));
+            } else {
+                summaries.add(ObjectSummary.of(dirs.get(j++)));
+            }
+        }
+        return summaries;
+    }
+
+    private CompletableFuture<ListObjectsV2Response> request(String continuationToken) {
+        int size = (int) Math.min(pageSize, maxKeys - listed);
+        try {
+            return client.listObjectsV2PageAsync(bucketName, prefix, delimiter,
+                    continuationToken == null ? startAfter : null, size, continuationToken, false);
+        } catch (Exception e) {
+            CompletableFuture<ListObjectsV2Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 16:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：惰性对象列举，返回按需翻页的 Iterator/Stream，不预先检查桶是否存在(桶不存在时翻页抛出 NoSuchBucket)
+ */
+public class ObjectLister {
+
+    private final MinioExtendAsyncClient client;
+
+    public ObjectLister(MinioExtendAsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * 惰性列举对象
+     *
+     * @param prefix     对象前缀，可为空
+     * @param recursive  是否递归子目录
+     * @param startAfter 从该对象名之后开始列举，可为空
+     * @param maxKeys    最多返回数量，为空不限制
+     * @param pageSize   单页数量提示，为空使用1000
+     */
+    public Iterator<ObjectSummary> iterator(String bucketName, String prefix, boolean recursive,
+                                            String startAfter, Integer maxKeys, Integer pageSize) {
+        return new ObjectListIterator(client, bucketName, prefix, recursive, startAfter, maxKeys, pageSize);
+    }
+
+    /**
+     * 惰性列举对象，流按对象名升序，终端操作时才开始翻页
+     *
+     * @see #iterator(String, String, boolean, String, Integer, Integer)
+     */
+    public Stream<ObjectSummary> stream(String bucketName, String prefix, boolean recursive,
+                                        String startAfter, Integer maxKeys, Integer pageSize) {
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(
+                iterator(bucketName, prefix, recursive, startAfter, maxKeys, pageSize),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT, false);
+    }
+
+    public MinioExtendAsyncClient getClient() {
+        return client;
+    }
+}
@@ -0,0 +1,110 @@
+package com.dist.zja.minio.listing;
+
+import io.minio.messages.Item;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 16:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：对象列举轻量投影，只保留对象名、大小、ETag、修改时间，不持有 Owner、StorageClass 等字段
+ */
+public class ObjectSummary {
+
+    private final String key;
+
+    private final long size;
+
+    private final String etag;
+
+    private final ZonedDateTime lastModified;
+
+    private final boolean dir;
+
+    public ObjectSummary(String key, long size, String etag, ZonedDateTime lastModified, boolean dir) {
+        this.key = key;
+        this.size = size;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.dir = dir;
+    }
+
+    /**
+     * 由列举结果项转换
+     */
+    public static ObjectSummary of(Item item) {
+        if (item.isDir()) {
+            return new ObjectSummary(item.objectName(), 0, null, null, true);
+        }
+        String etag = item.etag();
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+        return new ObjectSummary(item.objectName(), item.size(), etag, item.lastModified(), false);
+    }
+
+    /**
+     * 按 S3 列举顺序(对象名 UTF-8 字节序，即码点序)比较对象名；String.compareTo 按 UTF-16 码元比较，
+     * 补充平面字符与 U+E000 以上字符的顺序和 S3 不一致
+     */
+    public static int compareKeys(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * 对象名
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * ETag，不含引号；目录项为 null
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * 修改时间；目录项为 null
+     */
+    public ZonedDateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 是否为非递归列举返回的公共前缀(目录)
+     */
+    public boolean isDir() {
+        return dir;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectSummary{" +
+                "key='" + key + '\'' +
+                ", size=" + size +
+                ", etag='" + etag + '\'' +
+                ", lastModified=" + lastModified +
+                ", dir=" + dir +
+                '}';
+    }
+}
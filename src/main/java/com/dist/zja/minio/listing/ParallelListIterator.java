@@ -0,0 +1,423 @@
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 17:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：并行列举的合并迭代器。
+ * 有序：每个分片独立队列，按分片顺序依次消费，同时预先发现后续分片并提交列举；
+ * 无序：所有分片共用一个队列。后台分片在队列满时等待消费，内存占用受队列容量限制。
+ * 后台分片只持有迭代器的弱引用：流未关闭即被丢弃时，迭代器被回收后分片停止；
+ * 调用方超过空闲时间未消费时分片同样停止，此后 hasNext() 抛出 ObjectListException
+ */
+class ParallelListIterator implements Iterator<ObjectSummary>, AutoCloseable {
+
+    public static Logger logger = LoggerFactory.getLogger(ParallelListIterator.class);
+
+    private static final long OFFER_TIMEOUT_MILLIS = 200;
+
+    private final ObjectLister lister;
+
+    private final MinioTransferExecutor executor;
+
+    private final String bucketName;
+
+    private final String prefix;
+
+    private final boolean ordered;
+
+    private final int queueCapacity;
+
+    /**
+     * 分片来源：自动发现时为分隔符列举结果，否则为按分割点生成的分片
+     */
+    private final Iterator<Unit> source;
+
+    /**
+     * 有序模式：已发现尚未消费的对象和分片
+     */
+    private final Deque<Unit> window = new ArrayDeque<>();
+
+    /**
+     * 无序模式：所有分片共用的队列
+     */
+    private final BlockingQueue<Entry> shared;
+
+    /**
+     * 与后台分片共享的状态，后台分片不直接引用迭代器
+     */
+    private final Control control;
+
+    private Shard current;
+
+    private int activeShards;
+
+    private ObjectSummary next;
+
+    ParallelListIterator(ObjectLister lister, MinioTransferExecutor executor, String bucketName,
+                         Iterator<ObjectSummary> discovery, List<String> splitPoints,
+                         String prefix, boolean ordered, int queueCapacity, Duration idleTimeout) {
+        this.lister = lister;
+        this.executor = executor;
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+        this.ordered = ordered;
+        this.queueCapacity = queueCapacity;
+        this.shared = ordered ? null : new ArrayBlockingQueue<Entry>(queueCapacity);
+        this.source = discovery != null ? discover(discovery) : split(splitPoints);
+        this.control = new Control(this, bucketName, idleTimeout);
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public boolean hasNext() {
+        control.checkAbandoned();
+        if (control.closed) {
+            return false;
+        }
+        control.lastConsumed = System.nanoTime();
+        try {
+            return ordered ? advanceOrdered() : advanceUnordered();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public ObjectSummary next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ObjectSummary summary = next;
+        next = null;
+        return summary;
+    }
+
+    /**
+     * 停止后台列举
+     */
+    @Override
+    public void close() {
+        control.close();
+    }
+
+    private boolean advanceOrdered() {
+        while (next == null) {
+            fillWindow();
+            if (current != null) {
+                Entry entry = take(current.queue);
+                if (entry.end) {
+                    current = null;
+                } else {
+                    next = entry.summary;
+                }
+                continue;
+            }
+            Unit unit = window.poll();
+            if (unit == null) {
+                return false;
+            }
+            if (unit.summary != null) {
+                next = unit.summary;
+            } else {
+                current = unit.shard;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 预先发现后续分片并提交，使其在当前分片被消费时已开始列举
+     */
+    private void fillWindow() {
+        while (window.size() < queueCapacity && source.hasNext()) {
+            Unit unit = source.next();
+            if (unit.shard != null) {
+                submit(unit.shard);
+            }
+            window.add(unit);
+        }
+    }
+
+    private boolean advanceUnordered() {
+        while (next == null) {
+            Entry entry = shared.poll();
+            if (entry == null) {
+                // 队列暂时为空时推进分片发现，该层对象直接返回
+                if (source.hasNext()) {
+                    Unit unit = source.next();
+                    if (unit.summary != null) {
+                        next = unit.summary;
+                    } else {
+                        submit(unit.shard);
+                        activeShards++;
+                    }
+                    continue;
+                }
+                if (activeShards == 0) {
+                    return false;
+                }
+                entry = take(shared);
+            }
+            if (entry.end) {
+                activeShards--;
+            } else {
+                next = entry.summary;
+            }
+        }
+        return true;
+    }
+
+    private Entry take(BlockingQueue<Entry> queue) {
+        Entry entry;
+        try {
+            // 分片因空闲超时停止时不会再写入结束标记，定时检查
+            while ((entry = queue.poll(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                control.checkAbandoned();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ObjectListException("parallel list interrupted, bucket: " + bucketName, e);
+        }
+        if (entry.failure != null) {
+            if (entry.failure instanceof ObjectListException) {
+                throw (ObjectListException) entry.failure;
+            }
+            throw new ObjectListException("parallel list failed, bucket: " + bucketName, entry.failure);
+        }
+        return entry;
+    }
+
+    private void submit(Shard shard) {
+        shard.queue = ordered ? new ArrayBlockingQueue<Entry>(queueCapacity) : shared;
+        // 任务只捕获局部变量，不持有迭代器
+        ObjectLister lister = this.lister;
+        String bucketName = this.bucketName;
+        Control control = this.control;
+        control.add(executor.submitList(() -> {
+            produce(lister, bucketName, shard, control);
+            return null;
+        }));
+    }
+
+    private static void produce(ObjectLister lister, String bucketName, Shard shard, Control control) {
+        Entry end = Entry.END;
+        try {
+            Iterator<ObjectSummary> iterator = lister.iterator(bucketName, shard.prefix, true, shard.startAfter, null, null);
+            while (!control.closed && iterator.hasNext()) {
+                ObjectSummary summary = iterator.next();
+                if (shard.endInclusive != null && ObjectSummary.compareKeys(summary.getKey(), shard.endInclusive) > 0) {
+                    break;
+                }
+                if (!offer(shard.queue, new Entry(summary, null), control)) {
+                    return;
+                }
+            }
+        } catch (Throwable e) {
+            end = new Entry(null, e);
+        }
+        offer(shard.queue, end, control);
+    }
+
+    private static boolean offer(BlockingQueue<Entry> queue, Entry entry, Control control) {
+        try {
+            while (!queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (control.closed || control.abandoned()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 分隔符列举结果：公共前缀转为分片，对象直接输出
+     */
+    private static Iterator<Unit> discover(Iterator<ObjectSummary> discovery) {
+        return new Iterator<Unit>() {
+            @Override
+            public boolean hasNext() {
+                return discovery.hasNext();
+            }
+
+            @Override
+            public Unit next() {
+                ObjectSummary summary = discovery.next();
+                if (summary.isDir()) {
+                    return new Unit(null, new Shard(summary.getKey(), null, null));
+                }
+                return new Unit(summary, null);
+            }
+        };
+    }
+
+    private Iterator<Unit> split(List<String> splitPoints) {
+        List<Unit> units = new ArrayList<>(splitPoints.size() + 1);
+        String startAfter = null;
+        for (String point : splitPoints) {
+            units.add(new Unit(null, new Shard(prefix, startAfter, point)));
+            startAfter = point;
+        }
+        units.add(new Unit(null, new Shard(prefix, startAfter, null)));
+        return units.iterator();
+    }
+
+    /**
+     * 迭代器与后台分片共享的状态
+     */
+    private static class Control {
+
+        private final WeakReference<ParallelListIterator> owner;
+
+        private final String bucketName;
+
+        private final long idleTimeoutNanos;
+
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        private volatile boolean closed;
+
+        /**
+         * 调用方最近一次调用 hasNext() 的时刻
+         */
+        private volatile long lastConsumed = System.nanoTime();
+
+        /**
+         * 因空闲超时停止时的原因
+         */
+        private volatile String abandonReason;
+
+        Control(ParallelListIterator owner, String bucketName, Duration idleTimeout) {
+            this.owner = new WeakReference<>(owner);
+            this.bucketName = bucketName;
+            this.idleTimeoutNanos = idleTimeout.toNanos();
+        }
+
+        void add(CompletableFuture<?> future) {
+            synchronized (futures) {
+                futures.add(future);
+            }
+            if (closed) {
+                future.cancel(false);
+            }
+        }
+
+        void close() {
+            closed = true;
+            synchronized (futures) {
+                for (CompletableFuture<?> future : futures) {
+                    future.cancel(false);
+                }
+                futures.clear();
+            }
+        }
+
+        /**
+         * 后台分片等待队列空间时检查：迭代器已被回收或调用方空闲超时则停止全部分片
+         */
+        boolean abandoned() {
+            if (owner.get() == null) {
+                logger.warn("parallel list stream was not closed, stop background listing, bucket: {}", bucketName);
+                close();
+                return true;
+            }
+            long idle = System.nanoTime() - lastConsumed;
+            if (idle > idleTimeoutNanos) {
+                abandonReason = "parallel list idle for " + TimeUnit.NANOSECONDS.toSeconds(idle)
+                        + "s, background listing stopped, bucket: " + bucketName;
+                logger.warn(abandonReason);
+                close();
+                return true;
+            }
+            return false;
+        }
+
+        void checkAbandoned() {
+            String reason = abandonReason;
+            if (reason != null) {
+                throw new ObjectListException(reason, null);
+            }
+        }
+    }
+
+    /**
+     * 分片：prefix 范围内 (startAfter, endInclusive] 的对象
+     */
+    private static class Shard {
+
+        private final String prefix;
+
+        private final String startAfter;
+
+        private final String endInclusive;
+
+        private BlockingQueue<Entry> queue;
+
+        Shard(String prefix, String startAfter, String endInclusive) {
+            this.prefix = prefix;
+            this.startAfter = startAfter;
+            this.endInclusive = endInclusive;
+        }
+    }
+
+    /**
+     * 分片来源中的一项：对象或分片
+     */
+    private static class Unit {
+
+        private final ObjectSummary summary;
+
+        private final Shard shard;
+
+        Unit(ObjectSummary summary, Shard shard) {
+            this.summary = summary;
+            this.shard = shard;
+        }
+    }
+
+    /**
+     * 队列元素：对象、分片结束标记或失败
+     */
+    private static class Entry {
+
+        private static final Entry END = new Entry(null, null);
+
+        private final ObjectSummary summary;
+
+        private final Throwable failure;
+
+        private final boolean end;
+
+        Entry(ObjectSummary summary, Throwable failure) {
+            this.summary = summary;
+            this.failure = failure;
+            this.end = summary == null;
+        }
+    }
+}
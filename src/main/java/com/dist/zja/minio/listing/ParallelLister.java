@@ -0,0 +1,111 @@
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 17:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：按前缀/区间分片的并行列举。
+ * 自动分片：以分隔符 "/" 列举一层，每个公共前缀作为一个分片递归列举，该层对象直接返回；
+ * 指定分割点：s1 < s2 < ... < sn 将键空间划分为 (-∞, s1]、(s1, s2]、...、(sn, +∞) 共 n+1 个分片。
+ * 各分片在列举线程池中并发翻页，结果经有界队列合并为一个流；有序模式下按对象名升序输出，
+ * 无序模式下先到先出。返回的流须关闭(try-with-resources)，以便提前结束时停止后台列举；
+ * 未关闭的流被回收或超过空闲时间未消费时，后台列举也会停止
+ */
+public class ParallelLister {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private final ObjectLister lister;
+
+    private final MinioTransferExecutor executor;
+
+    private final int queueCapacity;
+
+    private final Duration idleTimeout;
+
+    public ParallelLister(ObjectLister lister, MinioTransferExecutor executor) {
+        this(lister, executor, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity 每个分片(有序)或整个列举(无序)缓冲的最大对象数
+     */
+    public ParallelLister(ObjectLister lister, MinioTransferExecutor executor, int queueCapacity) {
+        this(lister, executor, queueCapacity, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @param queueCapacity 每个分片(有序)或整个列举(无序)缓冲的最大对象数
+     * @param idleTimeout   调用方超过该时间未消费时停止后台列举，之后继续消费抛出 ObjectListException
+     */
+    public ParallelLister(ObjectLister lister, MinioTransferExecutor executor, int queueCapacity, Duration idleTimeout) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be greater than 0");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be greater than 0");
+        }
+        this.lister = lister;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * 自动发现下一层前缀并行列举
+     *
+     * @param prefix  列举范围前缀，可为空
+     * @param ordered 是否按对象名升序输出
+     */
+    public Stream<ObjectSummary> stream(String bucketName, String prefix, boolean ordered) {
+        Iterator<ObjectSummary> discovery = lister.iterator(bucketName, prefix, false, null, null, null);
+        return stream(new ParallelListIterator(lister, executor, bucketName, discovery, null, prefix, ordered,
+                queueCapacity, idleTimeout));
+    }
+
+    /**
+     * 按调用方给定的分割点并行列举
+     *
+     * @param prefix      列举范围前缀，可为空
+     * @param splitPoints 分割点(对象名)，无需排序，重复值忽略
+     * @param ordered     是否按对象名升序输出
+     */
+    public Stream<ObjectSummary> stream(String bucketName, String prefix, List<String> splitPoints, boolean ordered) {
+        List<String> points = splitPoints == null ? Collections.<String>emptyList() : sortedKeys(splitPoints);
+        return stream(new ParallelListIterator(lister, executor, bucketName, null, points, prefix, ordered,
+                queueCapacity, idleTimeout));
+    }
+
+    /**
+     * 分割点去重并按 S3 列举顺序排序
+     */
+    private static List<String> sortedKeys(List<String> splitPoints) {
+        TreeSet<String> points = new TreeSet<>(ObjectSummary::compareKeys);
+        points.addAll(splitPoints);
+        return new ArrayList<>(points);
+    }
+
+    private static Stream<ObjectSummary> stream(ParallelListIterator iterator) {
+        int characteristics = Spliterator.NONNULL | Spliterator.DISTINCT
+                | (iterator.isOrdered() ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+                .onClose(iterator::close);
+    }
+}
@@ -0,0 +1,108 @@
+package com.dist.zja.minio.listing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 21:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：按前缀批量删除结果汇总，失败明细最多保留 MAX_FAILURES 条，失败数始终准确
+ */
+public class PrefixDeleteResult {
+
+    /**
+     * 保留的失败明细上限
+     */
+    public static final int MAX_FAILURES = 1000;
+
+    private final AtomicLong deleted = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private long durationMillis;
+
+    void addBatch() {
+        batches.incrementAndGet();
+    }
+
+    void addDeleted(long count) {
+        deleted.addAndGet(count);
+    }
+
+    void addFailed(String objectName, String message) {
+        failed.incrementAndGet();
+        synchronized (failures) {
+            if (failures.size() < MAX_FAILURES) {
+                failures.put(objectName, message);
+            }
+        }
+    }
+
+    void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 删除成功的对象数
+     */
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    /**
+     * 删除失败的对象数
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * 发出的批量删除请求数
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * 耗时(毫秒)
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 每秒删除对象数
+     */
+    public double getObjectsPerSecond() {
+        return durationMillis > 0 ? deleted.get() * 1000.0 / durationMillis : 0;
+    }
+
+    /**
+     * 失败对象名称 -> 错误信息，最多 MAX_FAILURES 条
+     */
+    public Map<String, String> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PrefixDeleteResult{" +
+                "deleted=" + deleted +
+                ", failed=" + failed +
+                ", batches=" + batches +
+                ", durationMillis=" + durationMillis +
+                ", objectsPerSecond=" + String.format("%.1f", getObjectsPerSecond()) +
+                '}';
+    }
+}
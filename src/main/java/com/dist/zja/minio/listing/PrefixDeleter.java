@@ -0,0 +1,122 @@
+package com.dist.zja.minio.listing;
+
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 21:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：按前缀批量删除。边列举边删除，每 1000 个对象组成一次批量删除请求(quiet 模式，只返回失败项)，
+ * 多个批次经异步客户端并发发出，在途批次数受 concurrency 限制；列举按对象名续页，删除已列出的对象不影响后续翻页
+ */
+public class PrefixDeleter {
+
+    public static Logger logger = LoggerFactory.getLogger(PrefixDeleter.class);
+
+    /**
+     * S3 单次批量删除上限
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private final ObjectLister objectLister;
+
+    private final int concurrency;
+
+    /**
+     * @param objectLister 列举
+     * @param concurrency  同时在途的批量删除请求数
+     */
+    public PrefixDeleter(ObjectLister objectLister, int concurrency) {
+        this.objectLister = objectLister;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * 删除前缀下的所有对象(递归)。单个批次失败计入结果并继续；列举失败(如桶不存在)时等待在途批次结束后抛出 ObjectListException
+     *
+     * @param prefix 对象前缀，不能为空
+     */
+    public PrefixDeleteResult delete(String bucketName, String prefix) throws Exception {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("prefix must not be empty");
+        }
+        long start = System.currentTimeMillis();
+        PrefixDeleteResult result = new PrefixDeleteResult();
+        Semaphore inFlight = new Semaphore(concurrency);
+        Iterator<ObjectSummary> iterator = objectLister.iterator(bucketName, prefix, true, null, null, BATCH_SIZE);
+        try {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                ObjectSummary summary = iterator.next();
+                if (summary.isDir()) {
+                    continue;
+                }
+                batch.add(summary.getKey());
+                if (batch.size() == BATCH_SIZE) {
+                    submit(bucketName, batch, inFlight, result);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(bucketName, batch, inFlight, result);
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(concurrency);
+            result.setDurationMillis(System.currentTimeMillis() - start);
+        }
+        logger.info("delete by prefix, bucket: {}, prefix: {}, result: {}", bucketName, prefix, result);
+        return result;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    private void submit(String bucketName, List<String> objectNames, Semaphore inFlight, PrefixDeleteResult result) throws InterruptedException {
+        List<DeleteObject> objects = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            objects.add(new DeleteObject(objectName));
+        }
+        inFlight.acquire();
+        result.addBatch();
+        try {
+            objectLister.getClient().deleteObjectsPageAsync(bucketName, objects).whenComplete((response, e) -> {
+                try {
+                    if (e != null) {
+                        failBatch(objectNames, e, result);
+                        return;
+                    }
+                    List<DeleteError> errors = response.result().errorList();
+                    result.addDeleted(objectNames.size() - errors.size());
+                    for (DeleteError error : errors) {
+                        result.addFailed(error.objectName(), error.code() + ": " + error.message());
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (Exception e) {
+            failBatch(objectNames, e, result);
+            inFlight.release();
+        }
+    }
+
+    private static void failBatch(List<String> objectNames, Throwable e, PrefixDeleteResult result) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        logger.warn("batch delete of {} objects starting at {} failed: {}", objectNames.size(), objectNames.get(0), cause.toString());
+        for (String objectName : objectNames) {
+            result.addFailed(objectName, cause.toString());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.dist.zja.minio.metrics;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：OkHttp 事件监听，记录每次调用的 DNS、建连、TLS、写请求、首字节、读响应体耗时和连接是否复用，
+ * 调用结束(响应体读完或关闭)时交给 MinioMetrics，总耗时达到阈值的调用按采样率输出日志。
+ * 每次调用一个实例，同一调用的事件依次发生，无需同步
+ */
+public class CallTimingEventListener extends EventListener {
+
+    public static Logger logger = LoggerFactory.getLogger(CallTimingEventListener.class);
+
+    /**
+     * 每次调用创建一个监听器
+     */
+    public static class Factory implements EventListener.Factory {
+
+        private final MinioMetrics metrics;
+
+        private final long slowCallNanos;
+
+        private final double sampleRate;
+
+        /**
+         * @param slowCallThreshold 慢请求阈值，为空或 0 不输出日志
+         * @param sampleRate        慢请求日志采样率
+         */
+        public Factory(MinioMetrics metrics, Duration slowCallThreshold, double sampleRate) {
+            this.metrics = metrics;
+            this.slowCallNanos = slowCallThreshold == null || slowCallThreshold.isZero() ? 0 : slowCallThreshold.toNanos();
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            return new CallTimingEventListener(this);
+        }
+    }
+
+    private final Factory factory;
+
+    private final CallTimings timings = new CallTimings();
+
+    private long callStart;
+
+    private long dnsStart;
+
+    private long connectStart;
+
+    private long tlsStart;
+
+    private long requestStart;
+
+    private long requestEnd;
+
+    private long bodyStart;
+
+    private CallTimingEventListener(Factory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        timings.dnsNanos += System.nanoTime() - dnsStart;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        timings.newConnection = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        timings.tlsNanos += System.nanoTime() - tlsStart;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        timings.connectNanos += System.nanoTime() - connectStart;
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        timings.connectNanos += System.nanoTime() - connectStart;
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        timings.connectionAcquired = true;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+        timings.bytesSent += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        long now = System.nanoTime();
+        if (requestStart > 0) {
+            timings.requestNanos += Math.max(0, requestEnd - requestStart);
+            timings.ttfbNanos += Math.max(0, now - requestEnd);
+            requestStart = 0;
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        timings.status = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        timings.bodyNanos += System.nanoTime() - bodyStart;
+        timings.bytesReceived += byteCount;
+        bodyStart = 0;
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException ioe) {
+        if (bodyStart > 0) {
+            timings.bodyNanos += System.nanoTime() - bodyStart;
+            bodyStart = 0;
+        }
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        finish(call, ioe);
+    }
+
+    private void finish(Call call, IOException failure) {
+        timings.totalNanos = System.nanoTime() - callStart;
+        Request request = call.request();
+        String operation = MetricsInterceptor.operation(request, MetricsInterceptor.bucket(request.url()) != null);
+        factory.metrics.callTimings(operation, timings);
+        if (factory.slowCallNanos > 0 && timings.totalNanos >= factory.slowCallNanos
+                && (factory.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < factory.sampleRate)) {
+            logger.warn("slow minio call {} {} {}: {}{}", operation, request.method(), request.url().encodedPath(), timings,
+                    failure == null ? "" : ", failure: " + failure);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dist.zja.minio.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：单次 HTTP 调用的分阶段耗时(纳秒)。同一调用内的重试、重定向累加；
+ * connect 包含 TLS 握手，复用连接时 dns/connect/tls 均为 0
+ */
+public class CallTimings {
+
+    long dnsNanos;
+
+    long connectNanos;
+
+    long tlsNanos;
+
+    long requestNanos;
+
+    long ttfbNanos;
+
+    long bodyNanos;
+
+    long totalNanos;
+
+    long bytesSent;
+
+    long bytesReceived;
+
+    int status;
+
+    boolean newConnection;
+
+    boolean connectionAcquired;
+
+    /**
+     * DNS 解析耗时
+     */
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * TCP 建连耗时(含 TLS 握手)
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * TLS 握手耗时
+     */
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    /**
+     * 写请求头和请求体耗时
+     */
+    public long getRequestNanos() {
+        return requestNanos;
+    }
+
+    /**
+     * 请求写完到开始读取响应头的耗时，即服务端处理加网络往返
+     */
+    public long getTtfbNanos() {
+        return ttfbNanos;
+    }
+
+    /**
+     * 读取响应体耗时
+     */
+    public long getBodyNanos() {
+        return bodyNanos;
+    }
+
+    /**
+     * 调用总耗时，从发起到响应体读完或关闭
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * HTTP 状态码，未收到响应时为 0
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * 是否新建了连接；false 且 isConnectionAcquired() 时为复用连接池中的连接
+     */
+    public boolean isNewConnection() {
+        return newConnection;
+    }
+
+    /**
+     * 是否获得了连接，建连失败时为 false
+     */
+    public boolean isConnectionAcquired() {
+        return connectionAcquired;
+    }
+
+    @Override
+    public String toString() {
+        return "CallTimings{" +
+                "total=" + millis(totalNanos) +
+                ", dns=" + millis(dnsNanos) +
+                ", connect=" + millis(connectNanos) +
+                ", tls=" + millis(tlsNanos) +
+                ", request=" + millis(requestNanos) +
+                ", ttfb=" + millis(ttfbNanos) +
+                ", body=" + millis(bodyNanos) +
+                ", connection=" + (newConnection ? "new" : connectionAcquired ? "reused" : "none") +
+                ", status=" + status +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                '}';
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,281 @@
+package com.dist.zja.minio.metrics;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 22:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：OkHttp 应用拦截器，MinioClient 与 MinioAsyncClient 共用，覆盖各服务发出的全部 S3 请求。
+ * 由请求方法、路径和子资源参数识别 S3 操作名，路径风格取第一段为桶名(AWS 虚拟主机风格取主机名前缀)；
+ * 失败响应的错误码取 x-minio-error-code 响应头或错误响应体中的 Code(只窥视前 8KB，不消费响应体)
+ */
+public class MetricsInterceptor implements Interceptor {
+
+    private static final Pattern ERROR_CODE = Pattern.compile("<Code>([^<]+)</Code>");
+
+    private static final long ERROR_PEEK_BYTES = 8192;
+
+    private static final String NO_BUCKET = "none";
+
+    /**
+     * 用于识别操作名的子资源参数
+     */
+    private static final Set<String> SUBRESOURCES = new HashSet<>(Arrays.asList(
+            "acl", "cors", "encryption", "legal-hold", "lifecycle", "notification", "object-lock", "policy",
+            "replication", "retention", "tagging", "versioning"));
+
+    private final MinioMetrics metrics;
+
+    public MetricsInterceptor(MinioMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String bucket = bucket(request.url());
+        String operation = operation(request, bucket != null);
+        if (bucket == null) {
+            bucket = NO_BUCKET;
+        }
+        metrics.requestStarted(operation);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            metrics.requestCompleted(operation, bucket, 0, System.nanoTime() - start);
+            metrics.error(operation, bucket, e.getClass().getSimpleName());
+            metrics.requestFinished(operation);
+            throw e;
+        }
+        metrics.requestCompleted(operation, bucket, response.code(), System.nanoTime() - start);
+        RequestBody requestBody = request.body();
+        if (requestBody != null && requestBody.contentLength() > 0) {
+            metrics.bytesSent(operation, bucket, requestBody.contentLength());
+        }
+        if (response.code() >= 300 && response.code() != 304) {
+            metrics.error(operation, bucket, errorCode(response));
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            metrics.requestFinished(operation);
+            return response;
+        }
+        return response.newBuilder().body(new CountingBody(body, operation, bucket)).build();
+    }
+
+    /**
+     * 识别 S3 操作名
+     *
+     * @param hasBucket 请求是否指向某个桶
+     */
+    static String operation(Request request, boolean hasBucket) {
+        HttpUrl url = request.url();
+        String method = request.method();
+        boolean hasObject = hasBucket && hasObject(url);
+        if (!hasBucket) {
+            return "ListBuckets";
+        }
+        String subresource = null;
+        for (String name : url.queryParameterNames()) {
+            if (SUBRESOURCES.contains(name)) {
+                subresource = name;
+                break;
+            }
+        }
+        if (subresource != null) {
+            String prefix = "GET".equals(method) ? "Get" : "PUT".equals(method) ? "Put" : "DELETE".equals(method) ? "Delete" : method;
+            return prefix + (hasObject ? "Object" : "Bucket") + camelCase(subresource);
+        }
+        boolean uploadId = url.queryParameter("uploadId") != null;
+        if (!hasObject) {
+            switch (method) {
+                case "HEAD":
+                    return "HeadBucket";
+                case "PUT":
+                    return "CreateBucket";
+                case "DELETE":
+                    return "DeleteBucket";
+                case "POST":
+                    return url.queryParameterNames().contains("delete") ? "DeleteObjects" : "PostBucket";
+                default:
+                    if (url.queryParameterNames().contains("location")) {
+                        return "GetBucketLocation";
+                    }
+                    if (url.queryParameterNames().contains("uploads")) {
+                        return "ListMultipartUploads";
+                    }
+                    if (url.queryParameterNames().contains("versions")) {
+                        return "ListObjectVersions";
+                    }
+                    return "ListObjects";
+            }
+        }
+        switch (method) {
+            case "HEAD":
+                return "HeadObject";
+            case "PUT":
+                boolean copy = request.header("x-amz-copy-source") != null;
+                if (uploadId) {
+                    return copy ? "UploadPartCopy" : "UploadPart";
+                }
+                return copy ? "CopyObject" : "PutObject";
+            case "POST":
+                if (url.queryParameterNames().contains("uploads")) {
+                    return "CreateMultipartUpload";
+                }
+                if (uploadId) {
+                    return "CompleteMultipartUpload";
+                }
+                if (url.queryParameterNames().contains("select")) {
+                    return "SelectObjectContent";
+                }
+                if (url.queryParameterNames().contains("restore")) {
+                    return "RestoreObject";
+                }
+                return "PostObject";
+            case "DELETE":
+                return uploadId ? "AbortMultipartUpload" : "DeleteObject";
+            default:
+                return uploadId ? "ListParts" : "GetObject";
+        }
+    }
+
+    /**
+     * 桶名，请求不指向桶时返回 null
+     */
+    static String bucket(HttpUrl url) {
+        if (isVirtualHost(url)) {
+            return url.host().substring(0, url.host().indexOf(".s3."));
+        }
+        String first = url.pathSegments().get(0);
+        return first.isEmpty() ? null : first;
+    }
+
+    private static boolean hasObject(HttpUrl url) {
+        if (isVirtualHost(url)) {
+            return !url.pathSegments().get(0).isEmpty();
+        }
+        return url.pathSegments().size() > 1 && !url.pathSegments().get(1).isEmpty();
+    }
+
+    private static boolean isVirtualHost(HttpUrl url) {
+        String host = url.host();
+        return host.indexOf(".s3.") > 0 && (host.endsWith(".amazonaws.com") || host.endsWith(".amazonaws.com.cn"));
+    }
+
+    private static String errorCode(Response response) {
+        String code = response.header("x-minio-error-code");
+        if (code != null) {
+            return code;
+        }
+        try {
+            Matcher matcher = ERROR_CODE.matcher(response.peekBody(ERROR_PEEK_BYTES).string());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        } catch (IOException ignored) {
+            // 错误响应体读取失败时按状态码归类
+        }
+        return "Http" + response.code();
+    }
+
+    private static String camelCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        boolean upper = true;
+        for (char c : name.toCharArray()) {
+            if (c == '-') {
+                upper = true;
+            } else {
+                sb.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 统计实际读取的响应体字节数，读完或关闭时上报一次
+     */
+    private final class CountingBody extends ResponseBody {
+
+        private final ResponseBody delegate;
+
+        private final BufferedSource source;
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private long received;
+
+        CountingBody(ResponseBody delegate, String operation, String bucket) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        received += read;
+                    } else if (read < 0) {
+                        finish(operation, bucket);
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        finish(operation, bucket);
+                    }
+                }
+            });
+        }
+
+        private void finish(String operation, String bucket) {
+            if (finished.compareAndSet(false, true)) {
+                if (received > 0) {
+                    metrics.bytesReceived(operation, bucket, received);
+                }
+                metrics.requestFinished(operation);
+            }
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.dist.zja.minio.metrics;
+
+import com.dist.zja.minio.transfer.PartBufferPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 22:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：Micrometer 指标：
+ * minio.requests(计时器，operation/bucket/status，发布百分位直方图)、
+ * minio.bytes.sent / minio.bytes.received(计数器，operation/bucket)、
+ * minio.errors(计数器，operation/bucket/code)、
+ * minio.requests.active(仪表，operation)、minio.transfer.buffers.used / minio.transfer.buffers.capacity(仪表)；
+ * 开启 trace 时另有 minio.http.phase(计时器，operation/phase)与 minio.http.connections(计数器，operation/connection=new|reused)。
+ * 计量器按标签组合缓存，记录时不再经过 MeterRegistry 查找
+ */
+public class MicrometerMinioMetrics implements MinioMetrics {
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    public MicrometerMinioMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void requestStarted(String operation) {
+        active(operation).incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(String operation, String bucket, int status, long durationNanos) {
+        String statusTag = status == 0 ? "IO_ERROR" : String.valueOf(status);
+        timers.computeIfAbsent(operation + '|' + bucket + '|' + statusTag, key -> Timer.builder("minio.requests")
+                .description("MinIO 请求首字节耗时")
+                .tags("operation", operation, "bucket", bucket, "status", statusTag)
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestFinished(String operation) {
+        active(operation).decrementAndGet();
+    }
+
+    @Override
+    public void bytesSent(String operation, String bucket, long bytes) {
+        counter("minio.bytes.sent", "上传到 MinIO 的字节数", operation, bucket, null).increment(bytes);
+    }
+
+    @Override
+    public void bytesReceived(String operation, String bucket, long bytes) {
+        counter("minio.bytes.received", "从 MinIO 读取的字节数", operation, bucket, null).increment(bytes);
+    }
+
+    @Override
+    public void error(String operation, String bucket, String errorCode) {
+        counter("minio.errors", "MinIO 请求失败次数", operation, bucket, errorCode).increment();
+    }
+
+    @Override
+    public void callTimings(String operation, CallTimings timings) {
+        if (timings.isNewConnection()) {
+            phase(operation, "dns", timings.getDnsNanos());
+            phase(operation, "connect", timings.getConnectNanos());
+            if (timings.getTlsNanos() > 0) {
+                phase(operation, "tls", timings.getTlsNanos());
+            }
+        }
+        if (timings.getStatus() > 0) {
+            phase(operation, "request", timings.getRequestNanos());
+            phase(operation, "ttfb", timings.getTtfbNanos());
+            phase(operation, "body", timings.getBodyNanos());
+        }
+        if (timings.isConnectionAcquired()) {
+            String connection = timings.isNewConnection() ? "new" : "reused";
+            counters.computeIfAbsent("minio.http.connections|" + operation + '|' + connection, key -> Counter.builder("minio.http.connections")
+                    .description("MinIO 请求使用的连接，新建或复用")
+                    .tags("operation", operation, "connection", connection)
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    @Override
+    public void monitor(PartBufferPool bufferPool) {
+        Gauge.builder("minio.transfer.buffers.used", bufferPool, pool -> pool.getCapacity() - pool.available())
+                .description("已借出的分片缓冲区个数")
+                .register(registry);
+        Gauge.builder("minio.transfer.buffers.capacity", bufferPool, PartBufferPool::getCapacity)
+                .description("内存预算内的分片缓冲区总数")
+                .register(registry);
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private void phase(String operation, String phase, long nanos) {
+        timers.computeIfAbsent("phase|" + operation + '|' + phase, key -> Timer.builder("minio.http.phase")
+                .description("MinIO 请求分阶段耗时")
+                .tags("operation", operation, "phase", phase)
+                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicInteger active(String operation) {
+        return active.computeIfAbsent(operation, key -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("minio.requests.active", value, AtomicInteger::get)
+                    .description("进行中的 MinIO 请求数(含响应体传输)")
+                    .tag("operation", operation)
+                    .register(registry);
+            return value;
+        });
+    }
+
+    private Counter counter(String name, String description, String operation, String bucket, String code) {
+        return counters.computeIfAbsent(name + '|' + operation + '|' + bucket + '|' + code, key -> {
+            Counter.Builder builder = Counter.builder(name)
+                    .description(description)
+                    .tags("operation", operation, "bucket", bucket);
+            if (code != null) {
+                builder.tag("code", code);
+            }
+            return builder.register(registry);
+        });
+    }
+}
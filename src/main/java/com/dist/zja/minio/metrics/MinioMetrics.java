@@ -0,0 +1,73 @@
+package com.dist.zja.minio.metrics;
+
+import com.dist.zja.minio.transfer.PartBufferPool;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 22:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：MinIO 请求指标回调，由 MetricsInterceptor 在每个 HTTP 请求上调用。
+ * operation 为 S3 API 名称(如 GetObject、PutObject、UploadPart)，bucket 无桶时为 "none"。默认方法均不做任何事
+ */
+public interface MinioMetrics {
+
+    /**
+     * 不记录任何指标
+     */
+    MinioMetrics NOOP = new MinioMetrics() {
+    };
+
+    /**
+     * 请求发出前调用，与 requestFinished 成对
+     */
+    default void requestStarted(String operation) {
+    }
+
+    /**
+     * 收到响应头(或请求失败)时调用，耗时为首字节时间，不含响应体传输
+     *
+     * @param status HTTP 状态码，网络异常时为 0
+     */
+    default void requestCompleted(String operation, String bucket, int status, long durationNanos) {
+    }
+
+    /**
+     * 响应体读完或关闭时调用；无响应体或请求失败时在 requestCompleted 之后立即调用
+     */
+    default void requestFinished(String operation) {
+    }
+
+    /**
+     * 请求体字节数(上传)
+     */
+    default void bytesSent(String operation, String bucket, long bytes) {
+    }
+
+    /**
+     * 响应体实际读取的字节数(下载)
+     */
+    default void bytesReceived(String operation, String bucket, long bytes) {
+    }
+
+    /**
+     * 请求失败
+     *
+     * @param errorCode S3 错误码(如 NoSuchKey)，网络异常时为异常类名
+     */
+    default void error(String operation, String bucket, String errorCode) {
+    }
+
+    /**
+     * 调用结束时的分阶段耗时，仅 dist.minio.http.trace-enabled=true 时调用
+     */
+    default void callTimings(String operation, CallTimings timings) {
+    }
+
+    /**
+     * 监控分片缓冲区池的占用
+     */
+    default void monitor(PartBufferPool bufferPool) {
+    }
+}
@@ -3,6 +3,10 @@ package com.dist.zja.minio.properties;
 import com.dist.zja.minio.common.annotations.AttributeComment;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
 /**
  * Company: 上海数慧系统技术有限公司
  * Department: 数据中心
@@ -56,6 +60,24 @@ public class MinioProperties {
     @AttributeComment("Minio DEFAULT_BUCKET,可选的 defaultBucket")
     private String defaultBucket;
 
+    /**
+     * Minio HTTP 传输配置
+     */
+    @AttributeComment("Minio HTTP 传输配置: 连接池、并发请求数、超时、HTTP/2、socket 缓冲区")
+    private Http http = new Http();
+
+    /**
+     * Minio 传输引擎配置
+     */
+    @AttributeComment("Minio 传输引擎配置: 分片大小、并发数、缓冲内存")
+    private Transfer transfer = new Transfer();
+
+    /**
+     * Minio 客户端缓存配置
+     */
+    @AttributeComment("Minio 客户端缓存配置: 对象元数据缓存、桶存在性登记表、预签名 URL 缓存")
+    private Cache cache = new Cache();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -112,6 +134,30 @@ public class MinioProperties {
         this.defaultBucket = defaultBucket;
     }
 
+    public Http getHttp() {
+        return http;
+    }
+
+    public void setHttp(Http http) {
+        this.http = http;
+    }
+
+    public Transfer getTransfer() {
+        return transfer;
+    }
+
+    public void setTransfer(Transfer transfer) {
+        this.transfer = transfer;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public String toString() {
         return "MinioProperties{" +
@@ -122,6 +168,852 @@ public class MinioProperties {
                 ", accessKey='" + accessKey + '\'' +
                 ", secretKey='" + secretKey + '\'' +
                 ", defaultBucket='" + defaultBucket + '\'' +
+                ", http=" + http +
+                ", transfer=" + transfer +
+                ", cache=" + cache +
                 '}';
     }
+
+    /**
+     * OkHttp 客户端配置 dist.minio.http.*
+     */
+    public static class Http {
+
+        /**
+         * 连接池最大空闲连接数
+         */
+        @AttributeComment("连接池最大空闲连接数，OkHttp 默认 5")
+        private int maxIdleConnections = 32;
+
+        /**
+         * 空闲连接保活时间
+         */
+        @AttributeComment("空闲连接保活时间，默认 5m")
+        private Duration keepAlive = Duration.ofMinutes(5);
+
+        /**
+         * 最大并发请求数
+         */
+        @AttributeComment("最大并发请求数，OkHttp 默认 64")
+        private int maxRequests = 128;
+
+        /**
+         * 单个主机最大并发请求数
+         */
+        @AttributeComment("单个主机(Minio 服务端)最大并发请求数，OkHttp 默认 5")
+        private int maxRequestsPerHost = 64;
+
+        /**
+         * 连接超时
+         */
+        @AttributeComment("连接超时，默认 5m")
+        private Duration connectTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 读超时
+         */
+        @AttributeComment("读超时，默认 5m")
+        private Duration readTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 写超时
+         */
+        @AttributeComment("写超时，默认 5m")
+        private Duration writeTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 启用 HTTP/2
+         */
+        @AttributeComment("启用 HTTP/2，仅 secure=true(TLS ALPN 协商) 时生效，默认 false")
+        private boolean http2 = false;
+
+        /**
+         * socket 发送缓冲区大小
+         */
+        @AttributeComment("socket 发送缓冲区大小(字节)，0 表示使用系统默认")
+        private int sendBufferSize = 0;
+
+        /**
+         * socket 接收缓冲区大小
+         */
+        @AttributeComment("socket 接收缓冲区大小(字节)，0 表示使用系统默认")
+        private int receiveBufferSize = 0;
+
+        /**
+         * 记录每次请求的分阶段耗时
+         */
+        @AttributeComment("记录每次请求的 DNS、建连、TLS、写请求、首字节、读响应体耗时及连接复用情况，默认 false")
+        private boolean traceEnabled = false;
+
+        /**
+         * 慢请求阈值
+         */
+        @AttributeComment("总耗时达到该值的请求输出分阶段耗时日志，0 表示不输出，默认 1s")
+        private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+        /**
+         * 慢请求日志采样率
+         */
+        @AttributeComment("慢请求日志采样率 (0, 1]，默认 1 即全部输出")
+        private double slowCallSampleRate = 1.0;
+
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public void setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public int getMaxRequests() {
+            return maxRequests;
+        }
+
+        public void setMaxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        public int getMaxRequestsPerHost() {
+            return maxRequestsPerHost;
+        }
+
+        public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public int getSendBufferSize() {
+            return sendBufferSize;
+        }
+
+        public void setSendBufferSize(int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+        }
+
+        public int getReceiveBufferSize() {
+            return receiveBufferSize;
+        }
+
+        public void setReceiveBufferSize(int receiveBufferSize) {
+            this.receiveBufferSize = receiveBufferSize;
+        }
+
+        public boolean isTraceEnabled() {
+            return traceEnabled;
+        }
+
+        public void setTraceEnabled(boolean traceEnabled) {
+            this.traceEnabled = traceEnabled;
+        }
+
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public double getSlowCallSampleRate() {
+            return slowCallSampleRate;
+        }
+
+        public void setSlowCallSampleRate(double slowCallSampleRate) {
+            this.slowCallSampleRate = slowCallSampleRate;
+        }
+
+        @Override
+        public String toString() {
+            return "Http{" +
+                    "maxIdleConnections=" + maxIdleConnections +
+                    ", keepAlive=" + keepAlive +
+                    ", maxRequests=" + maxRequests +
+                    ", maxRequestsPerHost=" + maxRequestsPerHost +
+                    ", connectTimeout=" + connectTimeout +
+                    ", readTimeout=" + readTimeout +
+                    ", writeTimeout=" + writeTimeout +
+                    ", http2=" + http2 +
+                    ", sendBufferSize=" + sendBufferSize +
+                    ", receiveBufferSize=" + receiveBufferSize +
+                    ", traceEnabled=" + traceEnabled +
+                    ", slowCallThreshold=" + slowCallThreshold +
+                    ", slowCallSampleRate=" + slowCallSampleRate +
+                    '}';
+        }
+    }
+
+    /**
+     * 并行分片传输配置 dist.minio.transfer.*
+     */
+    public static class Transfer {
+
+        /**
+         * 分片大小
+         */
+        @AttributeComment("分片大小，最小 5MB，默认 16MB")
+        private DataSize partSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 启用并行分片上传的文件大小阈值
+         */
+        @AttributeComment("文件大小达到该值时使用并行分片上传，默认 64MB")
+        private DataSize multipartThreshold = DataSize.ofMegabytes(64);
+
+        /**
+         * 分片并发数
+         */
+        @AttributeComment("分片上传/下载工作线程数，默认 8")
+        private int concurrency = 8;
+
+        /**
+         * 文件级任务并发数
+         */
+        @AttributeComment("文件级任务(如目录上传)工作线程数，默认 4")
+        private int taskConcurrency = 4;
+
+        /**
+         * 并行列举线程数
+         */
+        @AttributeComment("并行列举时同时列举的分片(前缀或区间)数，默认 8")
+        private int listConcurrency = 8;
+
+        /**
+         * 分片缓冲内存总预算
+         */
+        @AttributeComment("流式上传分片缓冲内存总预算，所有上传共享，默认 256MB")
+        private DataSize bufferMemory = DataSize.ofMegabytes(256);
+
+        /**
+         * 分片溢出目录
+         */
+        @AttributeComment("缓冲内存预算用尽时，未知大小流的分片溢出到该目录，默认 java.io.tmpdir")
+        private String spillDirectory;
+
+        /**
+         * 断点续传日志目录
+         */
+        @AttributeComment("断点续传日志目录，默认 java.io.tmpdir/minio-upload-journal")
+        private String journalDirectory;
+
+        public DataSize getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(DataSize partSize) {
+            this.partSize = partSize;
+        }
+
+        public DataSize getMultipartThreshold() {
+            return multipartThreshold;
+        }
+
+        public void setMultipartThreshold(DataSize multipartThreshold) {
+            this.multipartThreshold = multipartThreshold;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getTaskConcurrency() {
+            return taskConcurrency;
+        }
+
+        public void setTaskConcurrency(int taskConcurrency) {
+            this.taskConcurrency = taskConcurrency;
+        }
+
+        public int getListConcurrency() {
+            return listConcurrency;
+        }
+
+        public void setListConcurrency(int listConcurrency) {
+            this.listConcurrency = listConcurrency;
+        }
+
+        public DataSize getBufferMemory() {
+            return bufferMemory;
+        }
+
+        public void setBufferMemory(DataSize bufferMemory) {
+            this.bufferMemory = bufferMemory;
+        }
+
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        public void setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+
+        public String getJournalDirectory() {
+            return journalDirectory;
+        }
+
+        public void setJournalDirectory(String journalDirectory) {
+            this.journalDirectory = journalDirectory;
+        }
+
+        @Override
+        public String toString() {
+            return "Transfer{" +
+                    "partSize=" + partSize +
+                    ", multipartThreshold=" + multipartThreshold +
+                    ", concurrency=" + concurrency +
+                    ", taskConcurrency=" + taskConcurrency +
+                    ", listConcurrency=" + listConcurrency +
+                    ", bufferMemory=" + bufferMemory +
+                    ", spillDirectory='" + spillDirectory + '\'' +
+                    ", journalDirectory='" + journalDirectory + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * 客户端缓存配置 dist.minio.cache.*
+     */
+    public static class Cache {
+
+        /**
+         * 对象元数据缓存
+         */
+        @AttributeComment("对象元数据(statObject)缓存")
+        private Metadata metadata = new Metadata();
+
+        /**
+         * 桶存在性登记表
+         */
+        @AttributeComment("桶存在性登记表")
+        private Bucket bucket = new Bucket();
+
+        /**
+         * 预签名 URL 缓存
+         */
+        @AttributeComment("预签名 URL 缓存")
+        private Presigned presigned = new Presigned();
+
+        /**
+         * 二维码缓存
+         */
+        @AttributeComment("二维码缓存")
+        private Qrcode qrcode = new Qrcode();
+
+        /**
+         * 热点对象磁盘缓存
+         */
+        @AttributeComment("热点对象磁盘缓存")
+        private Disk disk = new Disk();
+
+        /**
+         * 小对象堆外内存缓存
+         */
+        @AttributeComment("小对象堆外内存缓存")
+        private Small small = new Small();
+
+        public Metadata getMetadata() {
+            return metadata;
+        }
+
+        public void setMetadata(Metadata metadata) {
+            this.metadata = metadata;
+        }
+
+        public Bucket getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(Bucket bucket) {
+            this.bucket = bucket;
+        }
+
+        public Presigned getPresigned() {
+            return presigned;
+        }
+
+        public void setPresigned(Presigned presigned) {
+            this.presigned = presigned;
+        }
+
+        public Qrcode getQrcode() {
+            return qrcode;
+        }
+
+        public void setQrcode(Qrcode qrcode) {
+            this.qrcode = qrcode;
+        }
+
+        public Disk getDisk() {
+            return disk;
+        }
+
+        public void setDisk(Disk disk) {
+            this.disk = disk;
+        }
+
+        public Small getSmall() {
+            return small;
+        }
+
+        public void setSmall(Small small) {
+            this.small = small;
+        }
+
+        @Override
+        public String toString() {
+            return "Cache{" +
+                    "metadata=" + metadata +
+                    ", bucket=" + bucket +
+                    ", presigned=" + presigned +
+                    ", qrcode=" + qrcode +
+                    ", disk=" + disk +
+                    ", small=" + small +
+                    '}';
+        }
+    }
+
+    /**
+     * 预签名 URL 缓存配置 dist.minio.cache.presigned.*
+     */
+    public static class Presigned {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用预签名 URL 缓存(getObjectShareLink、getObjectShareQRcode)，默认 false")
+        private boolean enabled = false;
+
+        /**
+         * 最大条目数
+         */
+        @AttributeComment("最大条目数，默认 10000")
+        private long maximumSize = 10000;
+
+        /**
+         * 最小剩余有效期比例
+         */
+        @AttributeComment("剩余有效期低于 expiry 的该比例时重新签名，取值 [0, 1)，默认 0.5")
+        private double minRemainingFraction = 0.5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public double getMinRemainingFraction() {
+            return minRemainingFraction;
+        }
+
+        public void setMinRemainingFraction(double minRemainingFraction) {
+            this.minRemainingFraction = minRemainingFraction;
+        }
+
+        @Override
+        public String toString() {
+            return "Presigned{" +
+                    "enabled=" + enabled +
+                    ", maximumSize=" + maximumSize +
+                    ", minRemainingFraction=" + minRemainingFraction +
+                    '}';
+        }
+    }
+
+    /**
+     * 小对象堆外内存缓存配置 dist.minio.cache.small.*
+     */
+    public static class Small {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用小对象堆外内存缓存(getObject)，默认 false")
+        private boolean enabled = false;
+
+        /**
+         * 堆外内存总大小上限
+         */
+        @AttributeComment("缓存内容总大小上限(堆外内存，受 -XX:MaxDirectMemorySize 限制)，默认 64MB")
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * 可缓存的最大对象
+         */
+        @AttributeComment("可缓存的最大对象，默认 64KB")
+        private DataSize maxObjectSize = DataSize.ofKilobytes(64);
+
+        /**
+         * 过期时间
+         */
+        @AttributeComment("条目写入后的过期时间，其他客户端的修改在该时间后可见，默认 60s")
+        private Duration ttl = Duration.ofSeconds(60);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(DataSize maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public String toString() {
+            return "Small{" +
+                    "enabled=" + enabled +
+                    ", maxSize=" + maxSize +
+                    ", maxObjectSize=" + maxObjectSize +
+                    ", ttl=" + ttl +
+                    '}';
+        }
+    }
+
+    /**
+     * 热点对象磁盘缓存配置 dist.minio.cache.disk.*
+     */
+    public static class Disk {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用热点对象磁盘缓存(getObject、downloadObject)，默认 false")
+        private boolean enabled = false;
+
+        /**
+         * 缓存目录
+         */
+        @AttributeComment("缓存目录，默认 java.io.tmpdir/minio-object-cache；启动时清理目录中的 *.cache、*.tmp 文件")
+        private String directory;
+
+        /**
+         * 缓存总大小上限
+         */
+        @AttributeComment("缓存文件总大小上限，默认 1GB")
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+
+        /**
+         * 可缓存的最大对象
+         */
+        @AttributeComment("可缓存的最大对象，更大的对象直接读取 MinIO，默认 64MB")
+        private DataSize maxObjectSize = DataSize.ofMegabytes(64);
+
+        /**
+         * ETag 校验间隔
+         */
+        @AttributeComment("条目写入或上次校验后经过该时间以 ETag 重新校验，默认 30s")
+        private Duration revalidateAfter = Duration.ofSeconds(30);
+
+        /**
+         * 准入窗口
+         */
+        @AttributeComment("记录最近首次未命中的对象数，对象在窗口内再次未命中才写入磁盘，为 0 时首次未命中即缓存，默认 10000")
+        private int admissionWindow = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(DataSize maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public Duration getRevalidateAfter() {
+            return revalidateAfter;
+        }
+
+        public void setRevalidateAfter(Duration revalidateAfter) {
+            this.revalidateAfter = revalidateAfter;
+        }
+
+        public int getAdmissionWindow() {
+            return admissionWindow;
+        }
+
+        public void setAdmissionWindow(int admissionWindow) {
+            this.admissionWindow = admissionWindow;
+        }
+
+        @Override
+        public String toString() {
+            return "Disk{" +
+                    "enabled=" + enabled +
+                    ", directory='" + directory + '\'' +
+                    ", maxSize=" + maxSize +
+                    ", maxObjectSize=" + maxObjectSize +
+                    ", revalidateAfter=" + revalidateAfter +
+                    ", admissionWindow=" + admissionWindow +
+                    '}';
+        }
+    }
+
+    /**
+     * 二维码缓存配置 dist.minio.cache.qrcode.*
+     */
+    public static class Qrcode {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用二维码缓存(getObjectShareQRcode)，默认 false")
+        private boolean enabled = false;
+
+        /**
+         * 最大条目数
+         */
+        @AttributeComment("最大条目数，默认 1000")
+        private long maximumSize = 1000;
+
+        /**
+         * 访问后过期时间
+         */
+        @AttributeComment("最后一次访问后的过期时间，默认 10m")
+        private Duration expireAfterAccess = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        @Override
+        public String toString() {
+            return "Qrcode{" +
+                    "enabled=" + enabled +
+                    ", maximumSize=" + maximumSize +
+                    ", expireAfterAccess=" + expireAfterAccess +
+                    '}';
+        }
+    }
+
+    /**
+     * 桶存在性登记表配置 dist.minio.cache.bucket.*
+     */
+    public static class Bucket {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用桶存在性登记表，已知存在的桶不再调用 bucketExists，默认 true")
+        private boolean enabled = true;
+
+        /**
+         * 后台刷新间隔
+         */
+        @AttributeComment("以 listBuckets 后台刷新登记表的间隔，0 表示不刷新，默认 60s")
+        private Duration refreshInterval = Duration.ofSeconds(60);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        @Override
+        public String toString() {
+            return "Bucket{" +
+                    "enabled=" + enabled +
+                    ", refreshInterval=" + refreshInterval +
+                    '}';
+        }
+    }
+
+    /**
+     * 对象元数据缓存配置 dist.minio.cache.metadata.*
+     */
+    public static class Metadata {
+
+        /**
+         * 是否启用
+         */
+        @AttributeComment("是否启用对象元数据缓存(statObject、getObjectUserMetadata、getObjectURL)，默认 false")
+        private boolean enabled = false;
+
+        /**
+         * 最大条目数
+         */
+        @AttributeComment("最大条目数，存在与不存在的对象分别计数，默认 10000")
+        private long maximumSize = 10000;
+
+        /**
+         * 存在对象的过期时间
+         */
+        @AttributeComment("存在对象条目的过期时间，其他客户端的修改最迟在该时间后可见，默认 30s")
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * 不存在对象的过期时间
+         */
+        @AttributeComment("不存在(404)对象条目的过期时间，0 表示不缓存 404，默认 5s")
+        private Duration negativeTtl = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+
+        @Override
+        public String toString() {
+            return "Metadata{" +
+                    "enabled=" + enabled +
+                    ", maximumSize=" + maximumSize +
+                    ", ttl=" + ttl +
+                    ", negativeTtl=" + negativeTtl +
+                    '}';
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package com.dist.zja.minio.transfer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 18:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：Servlet 3.1 非阻塞响应写出。只在容器回调 onWritePossible 且 isReady() 为 true 时从对象流读取并写出，
+ * 客户端接收缓慢时不占用容器线程；写完、出错、超时或客户端断开后关闭对象流并结束 AsyncContext
+ */
+public class AsyncResponseWriter implements WriteListener, AsyncListener {
+
+    public static Logger logger = LoggerFactory.getLogger(AsyncResponseWriter.class);
+
+    /**
+     * 读缓冲区按容器线程复用：write 返回后缓冲区即可再次使用，空闲(等待客户端)的下载不持有缓冲区
+     */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream out;
+
+    private final InputStream in;
+
+    private long remaining;
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private AsyncResponseWriter(AsyncContext asyncContext, InputStream in, long length) throws IOException {
+        this.asyncContext = asyncContext;
+        this.out = asyncContext.getResponse().getOutputStream();
+        this.in = in;
+        this.remaining = length;
+    }
+
+    /**
+     * 开始非阻塞写出，in 在结束后关闭
+     *
+     * @param asyncContext 已开启的 AsyncContext，响应头须已设置
+     * @param in           对象流
+     * @param length       写出字节数
+     * @return 写完时正常完成；出错、超时或客户端断开时异常完成
+     */
+    public static CompletableFuture<Void> start(AsyncContext asyncContext, InputStream in, long length) {
+        AsyncResponseWriter writer;
+        try {
+            writer = new AsyncResponseWriter(asyncContext, in, length);
+        } catch (IOException e) {
+            closeQuietly(in);
+            asyncContext.complete();
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        asyncContext.addListener(writer);
+        writer.out.setWriteListener(writer);
+        return writer.result;
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        if (finished.get()) {
+            return;
+        }
+        byte[] buffer = BUFFER.get();
+        while (out.isReady()) {
+            if (remaining == 0) {
+                finish(null);
+                return;
+            }
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (n < 0) {
+                throw new EOFException("premature end of object, " + remaining + " bytes remaining");
+            }
+            out.write(buffer, 0, n);
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        finish(t);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        if (!finished.get()) {
+            finish(new IOException("async context completed with " + remaining + " bytes remaining"));
+        }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        finish(new TimeoutException("async download timed out with " + remaining + " bytes remaining"));
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        finish(event.getThrowable());
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void finish(Throwable failure) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        closeQuietly(in);
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // 容器已结束该请求
+        }
+        if (failure == null) {
+            result.complete(null);
+        } else {
+            logger.debug("async download aborted: {}", failure.toString());
+            result.completeExceptionally(failure);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            logger.debug("close object stream failed", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.dist.zja.minio.transfer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 14:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：目录上传结果汇总
+ */
+public class FolderUploadResult {
+
+    private final AtomicLong uploaded = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private long durationMillis;
+
+    void addUploaded(long size) {
+        uploaded.incrementAndGet();
+        bytes.addAndGet(size);
+    }
+
+    void addSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    void addFailed(String objectName, Throwable e) {
+        failed.incrementAndGet();
+        failures.put(objectName, String.valueOf(e.getMessage()));
+    }
+
+    void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 上传成功的文件数
+     */
+    public long getUploaded() {
+        return uploaded.get();
+    }
+
+    /**
+     * 远端已是最新(大小和修改时间一致)而跳过的文件数
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * 上传失败的文件数
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * 上传字节数
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * 耗时(毫秒)
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 失败对象名称 -> 错误信息
+     */
+    public Map<String, String> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FolderUploadResult{" +
+                "uploaded=" + uploaded +
+                ", skipped=" + skipped +
+                ", failed=" + failed +
+                ", bytes=" + bytes +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,185 @@
+package com.dist.zja.minio.transfer;
+
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.messages.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 14:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：增量并发目录上传。先一次性列举远端前缀建立索引，调用线程遍历目录，
+ * 将需要上传的文件放入有界队列由文件级线程池并发上传；远端大小和修改时间(用户元数据 mtime)一致的文件跳过
+ */
+public class FolderUploader {
+
+    public static Logger logger = LoggerFactory.getLogger(FolderUploader.class);
+
+    /**
+     * 记录本地文件修改时间(毫秒)的用户元数据名
+     */
+    public static final String MTIME_METADATA = "mtime";
+
+    /**
+     * 列举结果中 mtime 元数据的响应头名
+     */
+    private static final String MTIME_HEADER = "X-Amz-Meta-" + MTIME_METADATA;
+
+    private final MinioClient minioClient;
+
+    private final MinioTransferExecutor executor;
+
+    /**
+     * 上传单个文件
+     */
+    public interface FileUploader {
+        void upload(String bucketName, String objectName, Path file, Map<String, String> userMetadata) throws Exception;
+    }
+
+    /**
+     * @param minioClient 客户端，用于列举远端索引
+     * @param executor    传输线程池，为空时在调用线程顺序上传
+     */
+    public FolderUploader(MinioClient minioClient, MinioTransferExecutor executor) {
+        this.minioClient = minioClient;
+        this.executor = executor;
+    }
+
+    /**
+     * 上传目录
+     *
+     * @param bucketName 桶名
+     * @param objectName 目录对应的对象前缀(不含结尾 /)
+     * @param folder     本地目录
+     * @param uploader   单文件上传
+     */
+    public FolderUploadResult upload(String bucketName, String objectName, Path folder, FileUploader uploader) throws Exception {
+        long start = System.currentTimeMillis();
+        FolderUploadResult result = new FolderUploadResult();
+        String prefix = objectName.endsWith("/") ? objectName : objectName + "/";
+        Map<String, Item> remote = listRemote(bucketName, prefix);
+
+        int maxQueued = executor == null ? 1 : executor.getTaskConcurrency() * 4;
+        Semaphore slots = new Semaphore(maxQueued);
+        try {
+            walk(bucketName, prefix, folder, uploader, remote, slots, result);
+        } finally {
+            // 遍历中途失败也要等已提交的任务结束，取回全部许可即表示所有已提交任务结束
+            slots.acquireUninterruptibly(maxQueued);
+        }
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private void walk(String bucketName, String prefix, Path folder, FileUploader uploader, Map<String, Item> remote,
+                      Semaphore slots, FolderUploadResult result) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                String key = prefix + folder.relativize(file).toString().replace('\\', '/');
+                if (isUpToDate(remote.get(key), attrs)) {
+                    result.addSkipped();
+                    return FileVisitResult.CONTINUE;
+                }
+                Map<String, String> userMetadata = Collections.singletonMap(MTIME_METADATA,
+                        String.valueOf(attrs.lastModifiedTime().toMillis()));
+                if (executor == null) {
+                    uploadOne(uploader, bucketName, key, file, attrs.size(), userMetadata, result);
+                    return FileVisitResult.CONTINUE;
+                }
+                try {
+                    slots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("folder upload interrupted", e);
+                }
+                try {
+                    executor.submitTask(() -> {
+                        try {
+                            uploadOne(uploader, bucketName, key, file, attrs.size(), userMetadata, result);
+                        } finally {
+                            slots.release();
+                        }
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    // 线程池已关闭等提交失败，任务不会执行，由这里归还许可
+                    slots.release();
+                    throw e;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                result.addFailed(prefix + folder.relativize(file).toString().replace('\\', '/'), e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void uploadOne(FileUploader uploader, String bucketName, String key, Path file, long size,
+                           Map<String, String> userMetadata, FolderUploadResult result) {
+        try {
+            uploader.upload(bucketName, key, file, userMetadata);
+            result.addUploaded(size);
+        } catch (Exception e) {
+            logger.error("upload {} to {}/{} failed: {}", file, bucketName, key, e.getMessage());
+            result.addFailed(key, e);
+        }
+    }
+
+    private Map<String, Item> listRemote(String bucketName, String prefix) throws Exception {
+        Map<String, Item> remote = new HashMap<>();
+        Iterable<Result<Item>> results = minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .recursive(true)
+                .includeUserMetadata(true)
+                .build());
+        for (Result<Item> itemResult : results) {
+            Item item = itemResult.get();
+            remote.put(item.objectName(), item);
+        }
+        return remote;
+    }
+
+    /**
+     * 远端对象大小一致，且 mtime 元数据与本地修改时间一致(无元数据时远端修改时间不早于本地)
+     */
+    static boolean isUpToDate(Item item, BasicFileAttributes attrs) {
+        if (item == null || item.size() != attrs.size()) {
+            return false;
+        }
+        long localMtime = attrs.lastModifiedTime().toMillis();
+        Map<String, String> userMetadata = item.userMetadata();
+        if (userMetadata != null) {
+            for (Map.Entry<String, String> entry : userMetadata.entrySet()) {
+                // 列举结果的键为 X-Amz-Meta-Mtime，也兼容不带前缀的 mtime
+                if (MTIME_HEADER.equalsIgnoreCase(entry.getKey()) || MTIME_METADATA.equalsIgnoreCase(entry.getKey())) {
+                    return String.valueOf(localMtime).equals(entry.getValue());
+                }
+            }
+        }
+        return item.lastModified() != null && item.lastModified().toInstant().toEpochMilli() >= localMtime;
+    }
+}
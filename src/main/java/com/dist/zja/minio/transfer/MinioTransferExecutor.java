@@ -0,0 +1,143 @@
+package com.dist.zja.minio.transfer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 11:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：传输线程池。分片级任务(上传/下载一个分片)与文件级任务(如目录中的单个文件)使用两个独立线程池，
+ * 文件级任务会等待分片任务完成，分片任务从不等待其他任务，从而避免线程池自身死锁；
+ * 并行列举的分片任务会等待调用方消费结果，使用第三个独立线程池，不占用传输线程
+ */
+public class MinioTransferExecutor {
+
+    public static Logger logger = LoggerFactory.getLogger(MinioTransferExecutor.class);
+
+    private final ThreadPoolExecutor partExecutor;
+
+    private final ThreadPoolExecutor taskExecutor;
+
+    private final ThreadPoolExecutor listExecutor;
+
+    /**
+     * @param concurrency     分片级线程数
+     * @param taskConcurrency 文件级线程数，同时作为并行列举线程数
+     */
+    public MinioTransferExecutor(int concurrency, int taskConcurrency) {
+        this(concurrency, taskConcurrency, taskConcurrency);
+    }
+
+    /**
+     * @param concurrency     分片级线程数
+     * @param taskConcurrency 文件级线程数
+     * @param listConcurrency 并行列举线程数
+     */
+    public MinioTransferExecutor(int concurrency, int taskConcurrency, int listConcurrency) {
+        if (concurrency < 1 || taskConcurrency < 1 || listConcurrency < 1) {
+            throw new IllegalArgumentException("transfer concurrency must be greater than 0");
+        }
+        this.partExecutor = newExecutor(concurrency, "minio-transfer-part-");
+        this.taskExecutor = newExecutor(taskConcurrency, "minio-transfer-task-");
+        this.listExecutor = newExecutor(listConcurrency, "minio-transfer-list-");
+    }
+
+    /**
+     * 提交分片级任务，任务内不得再等待本线程池中的其他任务
+     */
+    public <T> CompletableFuture<T> submitPart(Callable<T> callable) {
+        return submit(partExecutor, callable);
+    }
+
+    /**
+     * 提交文件级任务，任务内可以提交并等待分片级任务
+     */
+    public <T> CompletableFuture<T> submitTask(Callable<T> callable) {
+        return submit(taskExecutor, callable);
+    }
+
+    /**
+     * 提交并行列举任务，任务会阻塞等待调用方消费列举结果
+     */
+    public <T> CompletableFuture<T> submitList(Callable<T> callable) {
+        return submit(listExecutor, callable);
+    }
+
+    /**
+     * 分片级线程数
+     */
+    public int getConcurrency() {
+        return partExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * 文件级线程数
+     */
+    public int getTaskConcurrency() {
+        return taskExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * 并行列举线程数
+     */
+    public int getListConcurrency() {
+        return listExecutor.getMaximumPoolSize();
+    }
+
+    public void shutdown() {
+        // 列举任务只等待调用方消费，关闭时直接中断
+        listExecutor.shutdownNow();
+        taskExecutor.shutdown();
+        partExecutor.shutdown();
+        try {
+            if (!taskExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                taskExecutor.shutdownNow();
+            }
+            if (!partExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                partExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            taskExecutor.shutdownNow();
+            partExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("com.dist.zja.minio.transfer.MinioTransferExecutor  Shutdown！");
+    }
+
+    private static <T> CompletableFuture<T> submit(Executor executor, Callable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,195 @@
+package com.dist.zja.minio.transfer;
+
+import io.minio.ObjectWriteResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 15:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：写入即上传的对象输出流。写满一个分片后交给工作线程在后台上传，调用方继续写入下一个分片；
+ * close() 等待所有分片并完成分片上传，不足一个分片的内容以单次 PUT 上传。非线程安全
+ */
+public class MultipartOutputStream extends OutputStream {
+
+    private final MultipartUploader uploader;
+
+    private final PartBufferPool bufferPool;
+
+    private final String bucketName;
+
+    private final String objectName;
+
+    private final String contentType;
+
+    private final Map<String, String> userMetadata;
+
+    private MultipartSession session;
+
+    private byte[] buffer;
+
+    private int count;
+
+    private int partNumber = 1;
+
+    private boolean closed;
+
+    private ObjectWriteResponse response;
+
+    private Runnable closeListener;
+
+    MultipartOutputStream(MultipartUploader uploader, String bucketName, String objectName,
+                          String contentType, Map<String, String> userMetadata) {
+        this.uploader = uploader;
+        this.bufferPool = uploader.getBufferPool();
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.contentType = contentType;
+        this.userMetadata = userMetadata;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureBuffer();
+        buffer[count++] = (byte) b;
+        if (count == buffer.length) {
+            uploadPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            ensureBuffer();
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == buffer.length) {
+                uploadPart();
+            }
+        }
+    }
+
+    /**
+     * 完成上传；失败时取消分片上传并抛出 IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            complete();
+        } finally {
+            if (closeListener != null) {
+                closeListener.run();
+            }
+        }
+    }
+
+    private void complete() throws IOException {
+        try {
+            if (session == null) {
+                response = uploader.putSmallObject(bucketName, objectName, buffer != null ? buffer : new byte[0], count,
+                        MultipartUploader.headers(contentType, userMetadata));
+                release();
+                return;
+            }
+            if (count > 0) {
+                submit();
+            }
+            response = session.complete();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        } catch (Exception e) {
+            abort();
+            throw new IOException("upload " + bucketName + "/" + objectName + " failed", e);
+        }
+    }
+
+    /**
+     * 放弃上传：取消分片上传并归还缓冲区，不会生成对象
+     */
+    public void abort() {
+        closed = true;
+        release();
+        if (session != null) {
+            session.abort();
+        }
+    }
+
+    /**
+     * 设置 close() 结束(无论成功失败)后的回调，如失效元数据缓存
+     */
+    public void setCloseListener(Runnable closeListener) {
+        this.closeListener = closeListener;
+    }
+
+    /**
+     * close() 成功后的上传结果
+     */
+    public ObjectWriteResponse getResponse() {
+        return response;
+    }
+
+    private void ensureBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        if (buffer == null) {
+            try {
+                buffer = bufferPool.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for part buffer");
+            }
+            count = 0;
+        }
+    }
+
+    private void uploadPart() throws IOException {
+        try {
+            if (session == null) {
+                session = MultipartSession.create(uploader.getClient(), uploader.getExecutor(), bucketName, objectName,
+                        MultipartUploader.headers(contentType, userMetadata), uploader.getExecutor().getConcurrency());
+            }
+            submit();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        } catch (Exception e) {
+            abort();
+            throw new IOException("upload part " + partNumber + " of " + bucketName + "/" + objectName + " failed", e);
+        }
+    }
+
+    private void submit() throws Exception {
+        if (partNumber > MultipartUploader.MAX_PARTS) {
+            throw new IOException("object exceeds " + MultipartUploader.MAX_PARTS + " parts of " + bufferPool.getBufferSize() + " bytes");
+        }
+        byte[] part = buffer;
+        buffer = null;
+        session.submitPart(partNumber++, part, count, bufferPool::release);
+        count = 0;
+    }
+
+    private void release() {
+        if (buffer != null) {
+            bufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+}
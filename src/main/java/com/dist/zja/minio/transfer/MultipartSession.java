@@ -0,0 +1,314 @@
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.google.common.collect.Multimap;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 11:20
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：一次分片上传会话(create -> 并发 upload part -> complete)。
+ * 单个会话同时在途的分片数受 maxInFlight 限制，任一分片失败后不再接受新分片，complete() 时取消上传并抛出原始异常
+ */
+public class MultipartSession {
+
+    public static Logger logger = LoggerFactory.getLogger(MultipartSession.class);
+
+    private final MinioExtendAsyncClient client;
+
+    private final MinioTransferExecutor executor;
+
+    private final String bucketName;
+
+    private final String objectName;
+
+    private final String uploadId;
+
+    private final Semaphore inFlight;
+
+    private final Map<Integer, Part> parts = new ConcurrentSkipListMap<>();
+
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+    private volatile Throwable failure;
+
+    private volatile BiConsumer<Integer, String> partListener;
+
+    private MultipartSession(MinioExtendAsyncClient client, MinioTransferExecutor executor,
+                             String bucketName, String objectName, String uploadId, int maxInFlight) {
+        this.client = client;
+        this.executor = executor;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.uploadId = uploadId;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    /**
+     * 创建新的分片上传
+     *
+     * @param headers Content-Type、x-amz-meta-* 等请求头，可为空
+     */
+    public static MultipartSession create(MinioExtendAsyncClient client, MinioTransferExecutor executor,
+                                          String bucketName, String objectName, Multimap<String, String> headers,
+                                          int maxInFlight) throws Exception {
+        String uploadId = join(client.initMultipartUploadAsync(bucketName, objectName, headers)).result().uploadId();
+        return new MultipartSession(client, executor, bucketName, objectName, uploadId, maxInFlight);
+    }
+
+    /**
+     * 接续已存在的分片上传
+     */
+    public static MultipartSession resume(MinioExtendAsyncClient client, MinioTransferExecutor executor,
+                                          String bucketName, String objectName, String uploadId, int maxInFlight) {
+        return new MultipartSession(client, executor, bucketName, objectName, uploadId, maxInFlight);
+    }
+
+    /**
+     * 异步上传字节数组分片，上传结束(无论成功失败)后回调 release 归还缓冲区
+     *
+     * @param partNumber 分片号，从1开始
+     * @param buffer     分片数据
+     * @param length     有效长度
+     * @param release    缓冲区归还回调，可为空
+     */
+    public void submitPart(int partNumber, byte[] buffer, int length, Consumer<byte[]> release) throws Exception {
+        try {
+            acquireSlot();
+        } catch (Exception e) {
+            if (release != null) {
+                release.accept(buffer);
+            }
+            throw e;
+        }
+        track(partNumber, executor.submitPart(() -> {
+            try {
+                return join(client.uploadPartAsync(bucketName, objectName, uploadId, partNumber, buffer, length));
+            } finally {
+                if (release != null) {
+                    release.accept(buffer);
+                }
+            }
+        }));
+    }
+
+    /**
+     * 异步上传文件区间分片，每个分片独立打开文件并定位读取
+     *
+     * @param partNumber 分片号，从1开始
+     * @param file       本地文件
+     * @param position   起始位置
+     * @param length     分片长度
+     */
+    public void submitPart(int partNumber, Path file, long position, long length) throws Exception {
+        submitPart(partNumber, file, position, length, null);
+    }
+
+    /**
+     * 异步上传文件区间分片，上传结束(无论成功失败)后执行 onDone(如删除溢出临时文件)
+     *
+     * @param onDone 结束回调，可为空
+     */
+    public void submitPart(int partNumber, Path file, long position, long length, Runnable onDone) throws Exception {
+        try {
+            acquireSlot();
+        } catch (Exception e) {
+            if (onDone != null) {
+                onDone.run();
+            }
+            throw e;
+        }
+        track(partNumber, executor.submitPart(() -> {
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+                raf.seek(position);
+                return join(client.uploadPartAsync(bucketName, objectName, uploadId, partNumber, raf, length));
+            } finally {
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }
+        }));
+    }
+
+    /**
+     * 登记已上传完成的分片(断点续传时使用)
+     */
+    public void addCompletedPart(int partNumber, String etag) {
+        parts.put(partNumber, new Part(partNumber, etag));
+    }
+
+    /**
+     * 已上传完成的分片号
+     */
+    public boolean isPartCompleted(int partNumber) {
+        return parts.containsKey(partNumber);
+    }
+
+    /**
+     * 等待所有分片完成并合并对象；任一分片失败则取消上传并抛出该异常
+     */
+    public ObjectWriteResponse complete() throws Exception {
+        return complete(true);
+    }
+
+    /**
+     * 等待所有分片完成并合并对象
+     *
+     * @param abortOnFailure 失败时是否取消上传；断点续传时为 false，保留已上传分片
+     */
+    public ObjectWriteResponse complete(boolean abortOnFailure) throws Exception {
+        try {
+            awaitParts();
+            return join(client.completeMultipartUploadAsync(bucketName, objectName, uploadId,
+                    parts.values().toArray(new Part[0])));
+        } catch (Exception e) {
+            if (abortOnFailure) {
+                abort();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 等待所有已提交分片结束，不合并对象
+     */
+    public void awaitParts() throws Exception {
+        List<CompletableFuture<?>> snapshot;
+        synchronized (futures) {
+            snapshot = new ArrayList<>(futures);
+        }
+        for (CompletableFuture<?> future : snapshot) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                // 记录在 failure 中，统一抛出第一个失败
+            }
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * 取消分片上传，服务端清理已上传分片
+     */
+    public void abort() {
+        try {
+            synchronized (futures) {
+                for (CompletableFuture<?> future : futures) {
+                    future.cancel(false);
+                }
+            }
+            join(client.abortMultipartUploadAsync(bucketName, objectName, uploadId));
+        } catch (Exception e) {
+            logger.warn("abort multipart upload failed, bucket: {}, object: {}, uploadId: {}", bucketName, objectName, uploadId, e);
+        }
+    }
+
+    /**
+     * 设置分片上传成功回调(分片号, ETag)，在工作线程中调用
+     */
+    public void setPartListener(BiConsumer<Integer, String> partListener) {
+        this.partListener = partListener;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * 任一分片是否已失败
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    private void acquireSlot() throws Exception {
+        rethrowFailure();
+        inFlight.acquire();
+        if (failure != null) {
+            inFlight.release();
+            rethrowFailure();
+        }
+    }
+
+    private void track(int partNumber, CompletableFuture<UploadPartResponse> future) {
+        CompletableFuture<?> tracked = future.whenComplete((response, e) -> {
+            inFlight.release();
+            if (e != null) {
+                if (failure == null) {
+                    failure = unwrap(e);
+                }
+            } else {
+                parts.put(partNumber, new Part(partNumber, response.etag()));
+                BiConsumer<Integer, String> listener = partListener;
+                if (listener != null) {
+                    listener.accept(partNumber, response.etag());
+                }
+            }
+        });
+        synchronized (futures) {
+            futures.add(tracked);
+        }
+    }
+
+    private void rethrowFailure() throws Exception {
+        Throwable e = failure;
+        if (e == null) {
+            return;
+        }
+        if (e instanceof Exception) {
+            throw (Exception) e;
+        }
+        throw new IOException(e);
+    }
+
+    /**
+     * 等待 future 完成，解开 CompletionException/ExecutionException 抛出原始异常
+     */
+    public static <T> T join(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,505 @@
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.ObjectWriteArgs;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 11:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：并行分片上传引擎。
+ * 本地文件：按分片区间独立定位读取文件，分片数据不经过堆内存整段复制；
+ * 已知大小的流(如 MultipartFile)：调用线程顺序读入池化缓冲区，读满一个分片立即交给工作线程并发上传；
+ * 未知大小的流：同样读入池化缓冲区，内存预算用尽时分片溢出到临时文件，峰值内存与流的大小无关
+ */
+public class MultipartUploader {
+
+    public static Logger logger = LoggerFactory.getLogger(MultipartUploader.class);
+
+    /**
+     * S3 单次分片上传最大分片数
+     */
+    public static final int MAX_PARTS = 10000;
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final MinioExtendAsyncClient client;
+
+    private final MinioTransferExecutor executor;
+
+    private final PartBufferPool bufferPool;
+
+    private final long partSize;
+
+    private final long multipartThreshold;
+
+    private final Path spillDirectory;
+
+    private UploadJournal uploadJournal;
+
+    /**
+     * @param client             异步客户端
+     * @param executor           传输线程池
+     * @param bufferPool         流式上传缓冲区池，缓冲区大小即分片大小
+     * @param multipartThreshold 使用分片上传的大小阈值
+     * @param spillDirectory     缓冲内存用尽时分片溢出的临时目录，为空则使用 java.io.tmpdir
+     */
+    public MultipartUploader(MinioExtendAsyncClient client, MinioTransferExecutor executor,
+                             PartBufferPool bufferPool, long multipartThreshold, Path spillDirectory) {
+        long partSize = bufferPool.getBufferSize();
+        if (partSize < ObjectWriteArgs.MIN_MULTIPART_SIZE || partSize > ObjectWriteArgs.MAX_PART_SIZE) {
+            throw new IllegalArgumentException("partSize must be between 5MiB and 5GiB, current: " + partSize);
+        }
+        this.client = client;
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+        this.partSize = partSize;
+        this.multipartThreshold = Math.max(multipartThreshold, partSize);
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * 给定大小的对象是否应使用并行分片上传
+     */
+    public boolean isMultipart(long size) {
+        return size >= multipartThreshold;
+    }
+
+    /**
+     * 并行分片上传本地文件
+     *
+     * @param contentType  内容类型，为空时根据文件名探测
+     * @param userMetadata 用户元数据，可为空
+     */
+    public ObjectWriteResponse uploadFile(String bucketName, String objectName, Path file,
+                                          String contentType, Map<String, String> userMetadata) throws Exception {
+        long size = Files.size(file);
+        if (contentType == null) {
+            contentType = Files.probeContentType(file);
+        }
+        long filePartSize = partSizeFor(size);
+        MultipartSession session = MultipartSession.create(client, executor, bucketName, objectName,
+                headers(contentType, userMetadata), executor.getConcurrency());
+        try {
+            uploadFileParts(session, file, size, filePartSize);
+        } catch (Exception e) {
+            session.abort();
+            throw e;
+        }
+        return session.complete();
+    }
+
+    /**
+     * 断点续传本地文件。上传进度记录在本地日志中，失败时保留已上传分片；
+     * 再次调用时向服务端查询已到达的分片，与日志中的 ETag 一致的分片跳过，只上传缺失分片
+     *
+     * @param contentType  内容类型，为空时根据文件名探测
+     * @param userMetadata 用户元数据，可为空
+     */
+    public ObjectWriteResponse uploadFileResumable(String bucketName, String objectName, Path file,
+                                                   String contentType, Map<String, String> userMetadata) throws Exception {
+        if (uploadJournal == null) {
+            throw new IllegalStateException("upload journal is not configured");
+        }
+        long size = Files.size(file);
+        String key = uploadJournal.key(bucketName, objectName, file);
+        UploadJournal.Entry entry = uploadJournal.load(key);
+        MultipartSession session = entry != null ? resumeSession(bucketName, objectName, size, key, entry) : null;
+        long filePartSize;
+        if (session != null) {
+            filePartSize = entry.getPartSize();
+        } else {
+            if (contentType == null) {
+                contentType = Files.probeContentType(file);
+            }
+            filePartSize = partSizeFor(size);
+            session = MultipartSession.create(client, executor, bucketName, objectName,
+                    headers(contentType, userMetadata), executor.getConcurrency());
+            uploadJournal.start(key, session.getUploadId(), filePartSize);
+        }
+        session.setPartListener((partNumber, etag) -> uploadJournal.appendPart(key, partNumber, etag));
+        try {
+            uploadFileParts(session, file, size, filePartSize);
+        } catch (Exception e) {
+            // 已提交的分片继续完成并记入日志，不取消上传
+            try {
+                session.awaitParts();
+            } catch (Exception ignored) {
+                // 抛出提交阶段的异常
+            }
+            throw e;
+        }
+        ObjectWriteResponse response = session.complete(false);
+        uploadJournal.delete(key);
+        return response;
+    }
+
+    /**
+     * 根据日志接续上传：以服务端已存在且 ETag 与日志一致的分片为准；上传已失效时删除日志并返回 null
+     */
+    private MultipartSession resumeSession(String bucketName, String objectName, long size, String key,
+                                           UploadJournal.Entry entry) throws Exception {
+        long filePartSize = entry.getPartSize();
+        int partCount = (int) Math.max(1, (size + filePartSize - 1) / filePartSize);
+        Map<Integer, String> uploaded = new HashMap<>();
+        try {
+            Integer marker = null;
+            while (true) {
+                ListPartsResult result = MultipartSession.join(
+                        client.listPartsAsync(bucketName, objectName, entry.getUploadId(), marker)).result();
+                for (Part part : result.partList()) {
+                    uploaded.put(part.partNumber(), part.etag());
+                }
+                if (!result.isTruncated()) {
+                    break;
+                }
+                marker = result.nextPartNumberMarker();
+            }
+        } catch (ErrorResponseException e) {
+            if (!"NoSuchUpload".equals(e.errorResponse().code())) {
+                throw e;
+            }
+            logger.info("multipart upload {} of {}/{} no longer exists, restart", entry.getUploadId(), bucketName, objectName);
+            uploadJournal.delete(key);
+            return null;
+        }
+        MultipartSession session = MultipartSession.resume(client, executor, bucketName, objectName,
+                entry.getUploadId(), executor.getConcurrency());
+        int resumed = 0;
+        for (Map.Entry<Integer, String> part : entry.getParts().entrySet()) {
+            String etag = uploaded.get(part.getKey());
+            if (part.getKey() <= partCount && etag != null
+                    && ParallelDownloader.normalizeEtag(etag).equals(ParallelDownloader.normalizeEtag(part.getValue()))) {
+                session.addCompletedPart(part.getKey(), etag);
+                resumed++;
+            }
+        }
+        logger.info("resume multipart upload {} of {}/{}, {} of {} parts already uploaded",
+                entry.getUploadId(), bucketName, objectName, resumed, partCount);
+        return session;
+    }
+
+    /**
+     * 提交文件中尚未完成的分片(已登记完成的分片跳过)
+     */
+    void uploadFileParts(MultipartSession session, Path file, long size, long filePartSize) throws Exception {
+        int partCount = (int) Math.max(1, (size + filePartSize - 1) / filePartSize);
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            if (session.isPartCompleted(partNumber)) {
+                continue;
+            }
+            long position = (partNumber - 1) * filePartSize;
+            session.submitPart(partNumber, file, position, Math.min(filePartSize, size - position));
+        }
+    }
+
+    /**
+     * 并行分片上传已知大小的流，流由调用方关闭
+     *
+     * @param size         流的确切大小
+     * @param contentType  内容类型，可为空
+     * @param userMetadata 用户元数据，可为空
+     */
+    public ObjectWriteResponse uploadStream(String bucketName, String objectName, InputStream stream, long size,
+                                            String contentType, Map<String, String> userMetadata) throws Exception {
+        if (partSizeFor(size) > partSize) {
+            throw new IllegalArgumentException("object size " + size + " exceeds " + MAX_PARTS + " parts of " + partSize + " bytes");
+        }
+        MultipartSession session = MultipartSession.create(client, executor, bucketName, objectName,
+                headers(contentType, userMetadata), executor.getConcurrency());
+        try {
+            long remaining = size;
+            int partNumber = 1;
+            while (remaining > 0) {
+                byte[] buffer = bufferPool.acquire();
+                int length = (int) Math.min(buffer.length, remaining);
+                int read;
+                try {
+                    read = readFully(stream, buffer, length);
+                } catch (IOException e) {
+                    bufferPool.release(buffer);
+                    throw e;
+                }
+                if (read < length) {
+                    bufferPool.release(buffer);
+                    throw new IOException("insufficient data, expected " + size + " bytes, got " + (size - remaining + read));
+                }
+                session.submitPart(partNumber++, buffer, length, bufferPool::release);
+                remaining -= length;
+            }
+        } catch (Exception e) {
+            session.abort();
+            throw e;
+        }
+        return session.complete();
+    }
+
+    /**
+     * 上传未知大小的流，流由调用方关闭。
+     * 不足一个分片的流以单次 PUT 上传；否则逐片读取，读满即并发上传，最多 10000 片
+     *
+     * @param contentType  内容类型，可为空
+     * @param headers      额外请求头，可为空
+     * @param userMetadata 用户元数据，可为空
+     */
+    public ObjectWriteResponse uploadStream(String bucketName, String objectName, InputStream stream, String contentType,
+                                            Map<String, String> headers, Map<String, String> userMetadata) throws Exception {
+        Multimap<String, String> requestHeaders = headers(contentType, headers, userMetadata);
+        byte[] copyBuffer = null;
+        MultipartSession session = null;
+        try {
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = bufferPool.tryAcquire();
+                if (buffer == null && partNumber == 1) {
+                    // 首片决定是否需要分片上传，预算用尽时等待而不是直接溢出
+                    buffer = bufferPool.acquire();
+                }
+                if (buffer != null) {
+                    int length;
+                    try {
+                        length = readFully(stream, buffer, buffer.length);
+                    } catch (IOException e) {
+                        bufferPool.release(buffer);
+                        throw e;
+                    }
+                    if (session == null && length < buffer.length) {
+                        try {
+                            return putSmallObject(bucketName, objectName, buffer, length, requestHeaders);
+                        } finally {
+                            bufferPool.release(buffer);
+                        }
+                    }
+                    if (length == 0) {
+                        bufferPool.release(buffer);
+                        break;
+                    }
+                    if (partNumber > MAX_PARTS) {
+                        bufferPool.release(buffer);
+                        throw new IOException("stream exceeds " + MAX_PARTS + " parts of " + partSize + " bytes");
+                    }
+                    if (session == null) {
+                        session = MultipartSession.create(client, executor, bucketName, objectName,
+                                requestHeaders, executor.getConcurrency());
+                    }
+                    session.submitPart(partNumber++, buffer, length, bufferPool::release);
+                    if (length < buffer.length) {
+                        break;
+                    }
+                } else {
+                    if (copyBuffer == null) {
+                        copyBuffer = new byte[64 * 1024];
+                    }
+                    Path spill = spillDirectory != null
+                            ? Files.createTempFile(Files.createDirectories(spillDirectory), "minio-part-", ".spill")
+                            : Files.createTempFile("minio-part-", ".spill");
+                    long length;
+                    try (OutputStream out = Files.newOutputStream(spill)) {
+                        length = copy(stream, out, copyBuffer, partSize);
+                    } catch (IOException e) {
+                        Files.deleteIfExists(spill);
+                        throw e;
+                    }
+                    if (length == 0) {
+                        Files.deleteIfExists(spill);
+                        break;
+                    }
+                    if (partNumber > MAX_PARTS) {
+                        Files.deleteIfExists(spill);
+                        throw new IOException("stream exceeds " + MAX_PARTS + " parts of " + partSize + " bytes");
+                    }
+                    session.submitPart(partNumber++, spill, 0, length, () -> deleteQuietly(spill));
+                    if (length < partSize) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            if (session != null) {
+                session.abort();
+            }
+            throw e;
+        }
+        return session.complete();
+    }
+
+    /**
+     * 打开写入即上传的输出流，close() 时完成上传
+     *
+     * @param contentType  内容类型，可为空
+     * @param userMetadata 用户元数据，可为空
+     */
+    public MultipartOutputStream openOutputStream(String bucketName, String objectName, String contentType,
+                                                  Map<String, String> userMetadata) {
+        return new MultipartOutputStream(this, bucketName, objectName, contentType, userMetadata);
+    }
+
+    /**
+     * 单次 PUT 上传，请求头与分片上传相同(由 headers 构建)
+     */
+    ObjectWriteResponse putSmallObject(String bucketName, String objectName, byte[] buffer, int length,
+                                       Multimap<String, String> requestHeaders) throws Exception {
+        Multimap<String, String> extraHeaders = LinkedListMultimap.create(requestHeaders);
+        Collection<String> contentType = extraHeaders.removeAll("Content-Type");
+        PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .stream(new ByteArrayInputStream(buffer, 0, length), length, -1)
+                .headers(extraHeaders);
+        if (!contentType.isEmpty()) {
+            builder.contentType(contentType.iterator().next());
+        }
+        return MultipartSession.join(client.putObject(builder.build()));
+    }
+
+    private static long copy(InputStream in, OutputStream out, byte[] buffer, long limit) throws IOException {
+        long total = 0;
+        while (total < limit) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - total));
+            if (n < 0) {
+                break;
+            }
+            out.write(buffer, 0, n);
+            total += n;
+        }
+        return total;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("delete spill file {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 计算分片大小：默认分片大小，对象过大时按 10000 片上限向上取整到 MiB
+     */
+    public long partSizeFor(long size) {
+        long minPartSize = (size + MAX_PARTS - 1) / MAX_PARTS;
+        if (minPartSize <= partSize) {
+            return partSize;
+        }
+        long mib = 1024L * 1024L;
+        return (minPartSize + mib - 1) / mib * mib;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public MinioExtendAsyncClient getClient() {
+        return client;
+    }
+
+    public MinioTransferExecutor getExecutor() {
+        return executor;
+    }
+
+    public PartBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public UploadJournal getUploadJournal() {
+        return uploadJournal;
+    }
+
+    /**
+     * 设置断点续传日志
+     */
+    public void setUploadJournal(UploadJournal uploadJournal) {
+        this.uploadJournal = uploadJournal;
+    }
+
+    /**
+     * 构建创建分片上传的请求头。用户元数据中的 Content-Type(不区分大小写)在未指定 contentType 时作为内容类型，
+     * 同名(不区分大小写)的请求头只保留最后一个
+     */
+    public static Multimap<String, String> headers(String contentType, Map<String, String> userMetadata) {
+        return headers(contentType, null, userMetadata);
+    }
+
+    /**
+     * 构建上传请求头。额外请求头、用户元数据中的 Content-Type(不区分大小写)在未指定 contentType 时替换默认内容类型，
+     * 同名(不区分大小写)的请求头只保留最后一个
+     *
+     * @param extraHeaders 额外请求头(Cache-Control 等)，可为空
+     */
+    public static Multimap<String, String> headers(String contentType, Map<String, String> extraHeaders,
+                                                   Map<String, String> userMetadata) {
+        Multimap<String, String> headers = LinkedListMultimap.create();
+        replaceHeader(headers, "Content-Type", contentType != null ? contentType : DEFAULT_CONTENT_TYPE);
+        if (extraHeaders != null) {
+            for (Map.Entry<String, String> entry : extraHeaders.entrySet()) {
+                if ("Content-Type".equalsIgnoreCase(entry.getKey())) {
+                    if (contentType == null) {
+                        replaceHeader(headers, "Content-Type", entry.getValue());
+                    }
+                    continue;
+                }
+                replaceHeader(headers, entry.getKey(), entry.getValue());
+            }
+        }
+        if (userMetadata != null) {
+            for (Map.Entry<String, String> entry : userMetadata.entrySet()) {
+                String key = entry.getKey();
+                if ("Content-Type".equalsIgnoreCase(key)) {
+                    if (contentType == null) {
+                        replaceHeader(headers, "Content-Type", entry.getValue());
+                    }
+                    continue;
+                }
+                replaceHeader(headers, key.toLowerCase(Locale.US).startsWith("x-amz-meta-") ? key : "x-amz-meta-" + key,
+                        entry.getValue());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * 替换请求头，先移除名称仅大小写不同的请求头，避免同一请求头以多个值发送
+     */
+    private static void replaceHeader(Multimap<String, String> headers, String name, String value) {
+        headers.keySet().removeIf(key -> key.equalsIgnoreCase(name) && !key.equals(name));
+        headers.replaceValues(name, Collections.singletonList(value));
+    }
+
+    /**
+     * 读满 length 字节或读到流结尾，返回实际读取字节数
+     */
+    public static int readFully(InputStream stream, byte[] buffer, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int n = stream.read(buffer, total, length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,287 @@
+package com.dist.zja.minio.transfer;
+
+import io.minio.GetObjectResponse;
+import io.minio.StatObjectResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 13:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：并行分段下载引擎。按字节区间并发拉取对象，各区间通过 FileChannel 定位写入预分配的临时文件，
+ * 校验大小和 ETag 后原子重命名为目标文件，失败时删除临时文件，目标文件保持不变。
+ * 需要校验 MD5 时，每个区间写完后按顺序推进摘要(从刚写入的文件区间读回，通常仍在页缓存中)，不在下载结束后重读整个文件
+ */
+public class ParallelDownloader {
+
+    public static Logger logger = LoggerFactory.getLogger(ParallelDownloader.class);
+
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+
+    private final MinioTransferExecutor executor;
+
+    private final long rangeSize;
+
+    /**
+     * 按区间读取对象，对应 MinioObjectService.getObject(bucketName, objectName, offset, length)
+     */
+    public interface ObjectRangeReader {
+        GetObjectResponse getObject(String bucketName, String objectName, Long offset, Long length) throws Exception;
+    }
+
+    /**
+     * @param executor  传输线程池
+     * @param rangeSize 单个区间大小
+     */
+    public ParallelDownloader(MinioTransferExecutor executor, long rangeSize) {
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("rangeSize must be greater than 0");
+        }
+        this.executor = executor;
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * 并行下载对象到本地文件
+     *
+     * @param stat           对象信息(大小、ETag)
+     * @param target         目标文件，已存在则覆盖
+     * @param reader         区间读取
+     * @param verifyChecksum 对单次上传且未服务端加密的对象(ETag 为内容 MD5)校验 MD5
+     * @return 下载字节数
+     */
+    public long download(StatObjectResponse stat, Path target, ObjectRangeReader reader, boolean verifyChecksum) throws Exception {
+        String bucketName = stat.bucket();
+        String objectName = stat.object();
+        long size = stat.size();
+        String etag = normalizeEtag(stat.etag());
+        boolean checksum = verifyChecksum && isContentMd5(etag) && !isServerSideEncrypted(stat);
+
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID().toString().replace("-", "") + ".part");
+        boolean success = false;
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(temp.toFile(), "rw")) {
+                raf.setLength(size);
+            }
+            AtomicLong written = new AtomicLong();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                RangeDigest digest = checksum ? new RangeDigest(channel, size, rangeSize) : null;
+                List<CompletableFuture<Long>> futures = new ArrayList<>();
+                for (long offset = 0; offset < size; offset += rangeSize) {
+                    long position = offset;
+                    long length = Math.min(rangeSize, size - offset);
+                    futures.add(executor.submitPart(() -> {
+                        long n = downloadRange(reader, bucketName, objectName, etag, position, length, channel);
+                        written.addAndGet(n);
+                        if (digest != null) {
+                            digest.completed(position);
+                        }
+                        return n;
+                    }));
+                }
+                try {
+                    for (CompletableFuture<Long> future : futures) {
+                        MultipartSession.join(future);
+                    }
+                } catch (Exception e) {
+                    for (CompletableFuture<Long> future : futures) {
+                        future.cancel(false);
+                    }
+                    throw e;
+                }
+                channel.force(false);
+                if (written.get() != size || Files.size(temp) != size) {
+                    throw new IOException("size mismatch, expected " + size + " bytes, downloaded " + written.get() + " bytes");
+                }
+                if (digest != null) {
+                    String md5 = digest.md5Hex();
+                    if (!md5.equalsIgnoreCase(etag)) {
+                        throw new IOException("checksum mismatch, ETag " + etag + ", local md5 " + md5);
+                    }
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            success = true;
+            return size;
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private long downloadRange(ObjectRangeReader reader, String bucketName, String objectName, String etag,
+                               long position, long length, FileChannel channel) throws Exception {
+        try (GetObjectResponse response = reader.getObject(bucketName, objectName, position, length)) {
+            String rangeEtag = normalizeEtag(response.headers().get("ETag"));
+            if (etag != null && rangeEtag != null && !etag.equals(rangeEtag)) {
+                throw new IOException("object changed during download, ETag " + etag + " -> " + rangeEtag);
+            }
+            return copy(response, channel, position, length);
+        }
+    }
+
+    private static long copy(InputStream in, FileChannel channel, long position, long length) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(COPY_BUFFER_SIZE, length)];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long total = 0;
+        while (total < length) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, length - total));
+            if (n < 0) {
+                break;
+            }
+            byteBuffer.clear().limit(n);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer, position + total + byteBuffer.position());
+            }
+            total += n;
+        }
+        if (total != length) {
+            throw new IOException("premature end of range at " + (position + total) + ", expected " + (position + length));
+        }
+        return total;
+    }
+
+    /**
+     * 单次上传对象的 ETag 为内容 MD5；分片上传对象的 ETag 形如 md5-分片数，不是内容摘要
+     */
+    static boolean isContentMd5(String etag) {
+        return etag != null && etag.length() == 32 && etag.indexOf('-') < 0;
+    }
+
+    /**
+     * SSE-KMS、SSE-C 加密对象的 ETag 即使形如 32 位十六进制也不是内容 MD5
+     */
+    static boolean isServerSideEncrypted(StatObjectResponse stat) {
+        for (String name : stat.headers().names()) {
+            if (name.toLowerCase(Locale.ROOT).startsWith("x-amz-server-side-encryption")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String normalizeEtag(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        if (etag.startsWith("\"") && etag.endsWith("\"") && etag.length() >= 2) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+
+    /**
+     * 按文件顺序推进的 MD5。区间可能乱序完成，已完成且与已摘要部分相接的区间从文件读回并计入摘要，
+     * 同一时刻只有一个线程推进，其余线程只登记完成的区间
+     */
+    static final class RangeDigest {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private final long rangeSize;
+
+        private final MessageDigest md5;
+
+        private final Set<Long> completed = new HashSet<>();
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+
+        private long digested;
+
+        private boolean advancing;
+
+        RangeDigest(FileChannel channel, long size, long rangeSize) throws NoSuchAlgorithmException {
+            this.channel = channel;
+            this.size = size;
+            this.rangeSize = rangeSize;
+            this.md5 = MessageDigest.getInstance("MD5");
+        }
+
+        void completed(long position) throws IOException {
+            synchronized (this) {
+                completed.add(position);
+                if (advancing) {
+                    return;
+                }
+                advancing = true;
+            }
+            try {
+                while (true) {
+                    long start;
+                    synchronized (this) {
+                        if (!completed.remove(digested)) {
+                            advancing = false;
+                            return;
+                        }
+                        start = digested;
+                    }
+                    long end = Math.min(size, start + rangeSize);
+                    for (long p = start; p < end; ) {
+                        buffer.clear().limit((int) Math.min(buffer.capacity(), end - p));
+                        int n = channel.read(buffer, p);
+                        if (n < 0) {
+                            throw new IOException("premature end of file at " + p + ", expected " + end);
+                        }
+                        buffer.flip();
+                        md5.update(buffer);
+                        p += n;
+                    }
+                    synchronized (this) {
+                        digested = end;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    advancing = false;
+                }
+                throw e;
+            }
+        }
+
+        synchronized String md5Hex() throws IOException {
+            if (digested != size) {
+                throw new IOException("checksum incomplete, digested " + digested + " of " + size + " bytes");
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : md5.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+    }
+}
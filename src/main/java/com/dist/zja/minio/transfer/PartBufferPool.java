@@ -0,0 +1,104 @@
+package com.dist.zja.minio.transfer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 11:10
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：分片缓冲区池。所有流式上传共享一个内存预算，同时借出的缓冲区总大小不超过预算，
+ * 归还的缓冲区最多保留 maxRetained 个以供复用，其余交给 GC
+ */
+public class PartBufferPool {
+
+    private final int bufferSize;
+
+    private final int maxRetained;
+
+    private final int capacity;
+
+    private final Semaphore permits;
+
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger retained = new AtomicInteger();
+
+    /**
+     * @param bufferSize   单个缓冲区大小(即分片大小)
+     * @param budgetBytes  内存预算，至少容纳一个缓冲区
+     * @param maxRetained  空闲时最多保留的缓冲区个数
+     */
+    public PartBufferPool(int bufferSize, long budgetBytes, int maxRetained) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be greater than 0");
+        }
+        this.bufferSize = bufferSize;
+        this.maxRetained = maxRetained;
+        this.capacity = (int) Math.max(1, budgetBytes / bufferSize);
+        this.permits = new Semaphore(capacity, true);
+    }
+
+    /**
+     * 借出一个缓冲区，预算用尽时阻塞等待
+     */
+    public byte[] acquire() throws InterruptedException {
+        permits.acquire();
+        return take();
+    }
+
+    /**
+     * 借出一个缓冲区，预算用尽时立即返回 null
+     */
+    public byte[] tryAcquire() {
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        return take();
+    }
+
+    /**
+     * 归还缓冲区，每个借出的缓冲区必须且只能归还一次
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        if (retained.incrementAndGet() <= maxRetained) {
+            free.offer(buffer);
+        } else {
+            retained.decrementAndGet();
+        }
+        permits.release();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 预算内的缓冲区总数
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 当前可借出的缓冲区个数
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    private byte[] take() {
+        byte[] buffer = free.poll();
+        if (buffer != null) {
+            retained.decrementAndGet();
+            return buffer;
+        }
+        return new byte[bufferSize];
+    }
+}
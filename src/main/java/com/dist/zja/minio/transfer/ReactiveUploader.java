@@ -0,0 +1,332 @@
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.google.common.collect.Multimap;
+import io.minio.ObjectWriteResponse;
+import io.minio.messages.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 19:00
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：响应式分片上传。将 Flux&lt;DataBuffer&gt; 按分片大小切分，切分时即复制并释放 DataBuffer，
+ * 分片经异步客户端并发上传，在途分片数受 concurrency 限制，上游按需请求数据(背压)，整个过程不阻塞线程。
+ * 缓冲区预算用尽时等待本上传的在途分片上传完成后再切分，期间不请求上游。
+ * 内容不足一个分片时改为单次上传；出错或取消时取消分片上传并归还缓冲区
+ */
+public class ReactiveUploader {
+
+    public static Logger logger = LoggerFactory.getLogger(ReactiveUploader.class);
+
+    private final MinioExtendAsyncClient client;
+
+    private final PartBufferPool bufferPool;
+
+    private final int concurrency;
+
+    /**
+     * @param client      异步客户端
+     * @param bufferPool  分片缓冲区池，缓冲区大小即分片大小；预算用尽时异步等待，不阻塞
+     * @param concurrency 单个上传同时在途的分片数
+     */
+    public ReactiveUploader(MinioExtendAsyncClient client, PartBufferPool bufferPool, int concurrency) {
+        this.client = client;
+        this.bufferPool = bufferPool;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * 上传 DataBuffer 流，订阅时开始
+     *
+     * @param headers Content-Type、x-amz-meta-* 等请求头，可为空
+     */
+    public Mono<ObjectWriteResponse> upload(String bucketName, String objectName, Flux<DataBuffer> content,
+                                            Multimap<String, String> headers) {
+        return Mono.defer(() -> {
+            PartSplitter splitter = new PartSplitter();
+            Upload upload = new Upload(bucketName, objectName, headers);
+            return content
+                    .concatMap(splitter::split, 1)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.finish())))
+                    .flatMap(upload::uploadPart, concurrency, 1)
+                    .doOnDiscard(PartData.class, PartData::release)
+                    .then(Mono.defer(upload::complete))
+                    .onErrorResume(e -> upload.abort().then(Mono.error(e)))
+                    .doOnCancel(() -> upload.abort().subscribe())
+                    .doFinally(signal -> splitter.releaseAll());
+        });
+    }
+
+    public MinioExtendAsyncClient getClient() {
+        return client;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    private static <T> Mono<T> fromFuture(Callable<CompletableFuture<T>> call) {
+        return Mono.fromCallable(call).flatMap(Mono::fromFuture);
+    }
+
+    /**
+     * 一个分片的数据
+     */
+    private final class PartData {
+
+        private final int partNumber;
+
+        private final byte[] buffer;
+
+        private final boolean pooled;
+
+        private int length;
+
+        private boolean last;
+
+        /**
+         * 开始上传后计入所属上传的在途分片，完成时通知
+         */
+        private final PartSplitter owner;
+
+        private boolean started;
+
+        private PartData(int partNumber, byte[] buffer, boolean pooled, PartSplitter owner) {
+            this.partNumber = partNumber;
+            this.buffer = buffer;
+            this.pooled = pooled;
+            this.owner = owner;
+        }
+
+        private synchronized void release() {
+            if (length >= 0) {
+                if (pooled) {
+                    bufferPool.release(buffer);
+                }
+                if (started) {
+                    owner.released();
+                }
+            }
+            length = -1;
+        }
+
+        private synchronized void started() {
+            if (length >= 0 && !started) {
+                started = true;
+                owner.uploading.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 按分片大小切分 DataBuffer。满一个分片时先暂存，收到后续数据时才发出，
+     * 以便在流结束时知道是否只有一个分片
+     */
+    private final class PartSplitter {
+
+        private int partCount;
+
+        private PartData pending;
+
+        private PartData current;
+
+        /**
+         * 已开始上传、尚未完成的分片数
+         */
+        private final AtomicInteger uploading = new AtomicInteger();
+
+        /**
+         * 预算用尽时等待在途分片完成
+         */
+        private volatile CompletableFuture<Void> partReleased;
+
+        private Flux<PartData> split(DataBuffer dataBuffer) {
+            return Flux.defer(() -> fill(dataBuffer)).doFinally(signal -> DataBufferUtils.release(dataBuffer));
+        }
+
+        /**
+         * 复制 DataBuffer 到分片。缓冲区预算用尽时先发出已切好的分片，等待本上传的在途分片完成后继续，
+         * 期间不再请求上游
+         */
+        private Flux<PartData> fill(DataBuffer dataBuffer) {
+            List<PartData> parts = new ArrayList<>(1);
+            synchronized (this) {
+                int partSize = bufferPool.getBufferSize();
+                while (dataBuffer.readableByteCount() > 0) {
+                    if (current == null) {
+                        current = newPart(!parts.isEmpty());
+                        if (current == null) {
+                            return Flux.fromIterable(parts)
+                                    .concatWith(Mono.defer(() -> Mono.fromFuture(awaitRelease()))
+                                            .thenMany(Flux.defer(() -> fill(dataBuffer))));
+                        }
+                    }
+                    int n = Math.min(dataBuffer.readableByteCount(), partSize - current.length);
+                    dataBuffer.read(current.buffer, current.length, n);
+                    current.length += n;
+                    if (current.length == partSize) {
+                        if (pending != null) {
+                            parts.add(pending);
+                        }
+                        pending = current;
+                        current = null;
+                    }
+                }
+            }
+            return Flux.fromIterable(parts);
+        }
+
+        private synchronized List<PartData> finish() {
+            List<PartData> parts = new ArrayList<>(2);
+            if (pending != null) {
+                parts.add(pending);
+            }
+            if (current != null) {
+                parts.add(current);
+            }
+            if (parts.isEmpty()) {
+                // 空内容，单次上传 0 字节对象
+                parts.add(new PartData(1, new byte[0], false, this));
+            }
+            parts.get(parts.size() - 1).last = true;
+            pending = null;
+            current = null;
+            return parts;
+        }
+
+        private synchronized void releaseAll() {
+            if (pending != null) {
+                pending.release();
+                pending = null;
+            }
+            if (current != null) {
+                current.release();
+                current = null;
+            }
+        }
+
+        private CompletableFuture<Void> awaitRelease() {
+            CompletableFuture<Void> released = new CompletableFuture<>();
+            partReleased = released;
+            // 登记前在途分片已全部完成时不会再有通知
+            if (uploading.get() == 0) {
+                released.complete(null);
+            }
+            return released;
+        }
+
+        private void released() {
+            uploading.decrementAndGet();
+            CompletableFuture<Void> released = partReleased;
+            if (released != null) {
+                released.complete(null);
+            }
+        }
+
+        /**
+         * 从池中借出分片缓冲区；预算用尽且本上传有待发出或在途的分片时返回 null，等待其完成后重试。
+         * 否则(只持有暂存分片)等待可能与其他上传互相持有而死锁，临时分配一个不计入预算的缓冲区，
+         * 因此每个上传超出预算的内存至多为暂存与正在填充的两个分片
+         *
+         * @param unsent 是否有已切好、尚未发出的分片
+         */
+        private PartData newPart(boolean unsent) {
+            if (partCount >= MultipartUploader.MAX_PARTS) {
+                throw new IllegalStateException("content exceeds " + MultipartUploader.MAX_PARTS + " parts of "
+                        + bufferPool.getBufferSize() + " bytes");
+            }
+            byte[] buffer = bufferPool.tryAcquire();
+            if (buffer != null) {
+                return new PartData(++partCount, buffer, true, this);
+            }
+            if (unsent || uploading.get() > 0) {
+                return null;
+            }
+            return new PartData(++partCount, new byte[bufferPool.getBufferSize()], false, this);
+        }
+    }
+
+    /**
+     * 一次上传的状态：分片上传在第一个非末尾分片到达时才创建
+     */
+    private final class Upload {
+
+        private final String bucketName;
+
+        private final String objectName;
+
+        private final Multimap<String, String> headers;
+
+        private final Mono<String> uploadId;
+
+        private volatile String createdUploadId;
+
+        private volatile ObjectWriteResponse singleResponse;
+
+        private final Map<Integer, Part> parts = new ConcurrentSkipListMap<>();
+
+        private Upload(String bucketName, String objectName, Multimap<String, String> headers) {
+            this.bucketName = bucketName;
+            this.objectName = objectName;
+            this.headers = headers;
+            this.uploadId = fromFuture(() -> client.initMultipartUploadAsync(bucketName, objectName, headers))
+                    .map(response -> response.result().uploadId())
+                    .doOnNext(id -> createdUploadId = id)
+                    .cache();
+        }
+
+        private Mono<Void> uploadPart(PartData part) {
+            part.started();
+            Mono<Void> upload;
+            if (part.partNumber == 1 && part.last) {
+                upload = fromFuture(() -> client.putObjectAsync(bucketName, objectName, part.buffer, part.length, headers))
+                        .doOnNext(response -> singleResponse = response)
+                        .then();
+            } else {
+                upload = uploadId
+                        .flatMap(id -> fromFuture(() -> client.uploadPartAsync(bucketName, objectName, id,
+                                part.partNumber, part.buffer, part.length)))
+                        .doOnNext(response -> parts.put(part.partNumber, new Part(part.partNumber, response.etag())))
+                        .then();
+            }
+            // 在结果传给下游之前归还缓冲区，上传完成时缓冲区已全部归还
+            return upload.doOnTerminate(part::release).doOnCancel(part::release);
+        }
+
+        private Mono<ObjectWriteResponse> complete() {
+            if (singleResponse != null) {
+                return Mono.just(singleResponse);
+            }
+            return uploadId.flatMap(id -> fromFuture(() -> client.completeMultipartUploadAsync(bucketName, objectName, id,
+                    parts.values().toArray(new Part[0]))));
+        }
+
+        private Mono<Void> abort() {
+            String id = createdUploadId;
+            if (id == null) {
+                return Mono.empty();
+            }
+            return fromFuture(() -> client.abortMultipartUploadAsync(bucketName, objectName, id))
+                    .doOnError(e -> logger.warn("abort multipart upload failed, bucket: {}, object: {}, uploadId: {}",
+                            bucketName, objectName, id, e))
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        }
+    }
+}
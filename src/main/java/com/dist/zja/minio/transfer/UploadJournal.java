@@ -0,0 +1,172 @@
+package com.dist.zja.minio.transfer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 15:30
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：断点续传本地日志。每个(桶、对象、本地文件、文件大小、修改时间)对应一个日志文件，
+ * 记录 uploadId、分片大小以及已完成分片的分片号和 ETag，每完成一个分片追加一行并刷盘；
+ * 本地文件被修改后对应的日志不再匹配，会重新开始上传
+ */
+public class UploadJournal {
+
+    public static Logger logger = LoggerFactory.getLogger(UploadJournal.class);
+
+    private static final String UPLOAD_ID = "uploadId=";
+
+    private static final String PART_SIZE = "partSize=";
+
+    private final Path directory;
+
+    /**
+     * 日志内容
+     */
+    public static class Entry {
+
+        private final String uploadId;
+
+        private final long partSize;
+
+        private final Map<Integer, String> parts;
+
+        Entry(String uploadId, long partSize, Map<Integer, String> parts) {
+            this.uploadId = uploadId;
+            this.partSize = partSize;
+            this.parts = parts;
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public long getPartSize() {
+            return partSize;
+        }
+
+        /**
+         * 分片号 -> ETag
+         */
+        public Map<Integer, String> getParts() {
+            return parts;
+        }
+    }
+
+    /**
+     * @param directory 日志目录，不存在时自动创建
+     */
+    public UploadJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 生成日志键
+     */
+    public String key(String bucketName, String objectName, Path file) throws IOException {
+        String source = bucketName + "\n" + objectName + "\n" + file.toAbsolutePath().normalize() + "\n"
+                + Files.size(file) + "\n" + Files.getLastModifiedTime(file).toMillis();
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            StringBuilder sb = new StringBuilder();
+            for (byte b : sha1.digest(source.getBytes(StandardCharsets.UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * 读取日志，不存在或损坏时返回 null
+     */
+    public Entry load(String key) {
+        String uploadId = null;
+        long partSize = -1;
+        Map<Integer, String> parts = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file(key), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(UPLOAD_ID)) {
+                    uploadId = line.substring(UPLOAD_ID.length());
+                } else if (line.startsWith(PART_SIZE)) {
+                    partSize = Long.parseLong(line.substring(PART_SIZE.length()));
+                } else {
+                    int space = line.indexOf(' ');
+                    // 进程崩溃时最后一行可能不完整，忽略
+                    if (space > 0) {
+                        parts.put(Integer.parseInt(line.substring(0, space)), line.substring(space + 1));
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (Exception e) {
+            logger.warn("upload journal {} is corrupted, ignored: {}", key, e.getMessage());
+            return null;
+        }
+        if (uploadId == null || partSize <= 0) {
+            return null;
+        }
+        return new Entry(uploadId, partSize, parts);
+    }
+
+    /**
+     * 开始新的上传，覆盖原日志
+     */
+    public synchronized void start(String key, String uploadId, long partSize) throws IOException {
+        Files.createDirectories(directory);
+        String header = UPLOAD_ID + uploadId + "\n" + PART_SIZE + partSize + "\n";
+        try (FileOutputStream out = new FileOutputStream(file(key).toFile(), false)) {
+            out.write(header.getBytes(StandardCharsets.UTF_8));
+            out.getChannel().force(false);
+        }
+    }
+
+    /**
+     * 追加已完成分片
+     */
+    public synchronized void appendPart(String key, int partNumber, String etag) {
+        try (FileOutputStream out = new FileOutputStream(file(key).toFile(), true)) {
+            out.write((partNumber + " " + etag + "\n").getBytes(StandardCharsets.UTF_8));
+            out.getChannel().force(false);
+        } catch (IOException e) {
+            // 日志写失败不影响本次上传，仅影响续传时可跳过的分片
+            logger.warn("append upload journal {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 删除日志
+     */
+    public synchronized void delete(String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            logger.warn("delete upload journal {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + ".journal");
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 10:30
+ * @Since:
+ */
+package com.dist.zja.minio;
+
+import com.dist.zja.minio.cache.DiskObjectCache;
+import com.dist.zja.minio.cache.ObjectMetadataCache;
+import com.dist.zja.minio.cache.SmallObjectCache;
+import com.dist.zja.minio.support.S3Stub;
+import io.minio.GetObjectResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 基于 S3Stub 的对象服务行为
+ */
+public class MinioObjectServiceTests {
+
+    private static final String BUCKET = "test";
+
+    private static final String OBJECT = "dir/file.txt";
+
+    private static final byte[] OLD = "old content".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] NEW = "new content, longer".getBytes(StandardCharsets.UTF_8);
+
+    private S3Stub stub;
+
+    private MinioObjectService objectService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new S3Stub();
+        stub.createBucket(BUCKET);
+        MinioClient minioClient = MinioClient.builder()
+                .endpoint(stub.endpoint())
+                .credentials("test", "test")
+                .region("us-east-1")
+                .build();
+        objectService = new MinioObjectService(minioClient);
+        objectService.setMetadataCache(new ObjectMetadataCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    public void diskCacheHitFillsSmallObjectCache(@TempDir Path dir) throws Exception {
+        DiskObjectCache diskCache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        SmallObjectCache smallObjectCache = new SmallObjectCache(1 << 20, 1024, Duration.ofMinutes(1));
+        objectService.setDiskCache(diskCache);
+        objectService.setSmallObjectCache(smallObjectCache);
+        stub.putObject(BUCKET, OBJECT, OLD);
+
+        for (int i = 0; i < 3; i++) {
+            try (GetObjectResponse response = objectService.getObject(BUCKET, OBJECT)) {
+                assertArrayEquals(OLD, readAll(response));
+            }
+        }
+        // 首次从磁盘缓存加载后即进入内存缓存，之后不再读盘
+        assertEquals(1, smallObjectCache.size());
+        assertEquals(0, diskCache.getHitCount());
+        assertEquals(2, smallObjectCache.stats().hitCount());
+    }
+
+    @Test
+    public void asyncWritesInvalidateSharedCaches() throws Exception {
+        stub.putObject(BUCKET, OBJECT, OLD);
+        assertEquals(OLD.length, objectService.statObject(BUCKET, OBJECT).size());
+
+        MinioAsyncObjectService asyncService = new MinioAsyncObjectService(MinioAsyncClient.builder()
+                .endpoint(stub.endpoint())
+                .credentials("test", "test")
+                .region("us-east-1")
+                .build());
+        asyncService.setCacheInvalidator(objectService.getCacheInvalidator());
+        asyncService.putObject(BUCKET, OBJECT, new ByteArrayInputStream(NEW), NEW.length, "text/plain").get();
+
+        assertEquals(NEW.length, objectService.statObject(BUCKET, OBJECT).size());
+    }
+
+    @Test
+    public void downloadRetriesWithFreshMetadataAndKeepsUpstreamHeaders() throws Exception {
+        stub.putObject(BUCKET, OBJECT, OLD);
+        // 缓存旧元数据后由其他客户端覆盖对象，读取时 If-Match 失败
+        objectService.statObject(BUCKET, OBJECT);
+        stub.putObject(BUCKET, OBJECT, NEW);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader("Access-Control-Allow-Origin", "*");
+        objectService.downloadObject(BUCKET, OBJECT, new MockHttpServletRequest(), response);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(NEW, response.getContentAsByteArray());
+        assertEquals(NEW.length, response.getContentLengthLong());
+        assertEquals("*", response.getHeader("Access-Control-Allow-Origin"));
+        assertEquals(objectService.statObject(BUCKET, OBJECT).etag(), unquote(response.getHeader("ETag")));
+    }
+
+    @Test
+    public void rangeRetryDescribesRetriedRange() throws Exception {
+        stub.putObject(BUCKET, OBJECT, OLD);
+        objectService.statObject(BUCKET, OBJECT);
+        stub.putObject(BUCKET, OBJECT, NEW);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=4-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        objectService.downloadObject(BUCKET, OBJECT, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 4-" + (NEW.length - 1) + "/" + NEW.length, response.getHeader("Content-Range"));
+        assertEquals(new String(NEW, 4, NEW.length - 4, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    @Test
+    public void rangeWithStaleIfRangeReturnsFullContent() throws Exception {
+        stub.putObject(BUCKET, OBJECT, OLD);
+        String oldEtag = objectService.statObject(BUCKET, OBJECT).etag();
+        stub.putObject(BUCKET, OBJECT, NEW);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=0-2");
+        request.addHeader("If-Range", "\"" + oldEtag + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        objectService.downloadObject(BUCKET, OBJECT, request, response);
+
+        // 首次按旧 ETag 返回 206 失败，重试时 If-Range 不再匹配，返回完整内容
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(NEW, response.getContentAsByteArray());
+        assertNull(response.getHeader("Content-Range"));
+    }
+
+    private static String unquote(String etag) {
+        return etag.substring(1, etag.length() - 1);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 13:00
+ * @Since:
+ */
+package com.dist.zja.minio.cache;
+
+import io.minio.StatObjectResponse;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 磁盘缓存：二次未命中准入、超大对象判定缓存、同一对象并发未命中只下载一次
+ */
+public class DiskObjectCacheTests {
+
+    private static final String BUCKET = "test";
+
+    @TempDir
+    Path dir;
+
+    private final FakeLoader loader = new FakeLoader();
+
+    private ExecutorService pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void admitsOnSecondMiss() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1));
+        loader.put("a", "hello");
+
+        assertNull(cache.get(BUCKET, "a", loader));
+        assertEquals(0, loader.stats.get());
+        assertEquals("hello", read(cache.get(BUCKET, "a", loader)));
+        assertEquals(1, loader.stats.get());
+        assertEquals(1, loader.opens.get());
+        assertEquals("hello", read(cache.get(BUCKET, "a", loader)));
+        assertEquals(1, loader.stats.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void zeroAdmissionWindowAdmitsOnFirstMiss() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        loader.put("a", "hello");
+        assertEquals("hello", read(cache.get(BUCKET, "a", loader)));
+        assertEquals(1, loader.opens.get());
+    }
+
+    @Test
+    public void remembersOversizedObjects() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 4, Duration.ofMinutes(1), 0);
+        loader.put("big", "too large");
+
+        assertNull(cache.get(BUCKET, "big", loader));
+        assertNull(cache.get(BUCKET, "big", loader));
+        assertNull(cache.get(BUCKET, "big", loader));
+        assertEquals(1, loader.stats.get());
+        assertEquals(0, loader.opens.get());
+
+        // 对象被本服务覆盖为小对象后重新判定
+        loader.put("big", "ok");
+        cache.invalidate(BUCKET, "big");
+        assertEquals("ok", read(cache.get(BUCKET, "big", loader)));
+        assertEquals(2, loader.stats.get());
+    }
+
+    @Test
+    public void concurrentMissesDownloadOnce() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        loader.put("a", "shared");
+        loader.openGate = new CountDownLatch(1);
+        int threads = 8;
+        pool = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> read(cache.get(BUCKET, "a", loader))));
+        }
+        assertTrue(loader.opening.await(10, TimeUnit.SECONDS));
+        // 其余线程在等待这一次下载，而不是各自下载或持有分段锁串行等待
+        TimeUnit.MILLISECONDS.sleep(200);
+        loader.openGate.countDown();
+        for (Future<String> result : results) {
+            assertEquals("shared", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loader.stats.get());
+        assertEquals(1, loader.opens.get());
+    }
+
+    @Test
+    public void otherObjectsAreNotBlockedByDownload() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        loader.put("slow", "slow");
+        loader.put("fast", "fast");
+        loader.openGate = new CountDownLatch(1);
+        loader.gatedKey = "slow";
+        pool = Executors.newFixedThreadPool(1);
+        Future<String> slow = pool.submit(() -> read(cache.get(BUCKET, "slow", loader)));
+        assertTrue(loader.opening.await(10, TimeUnit.SECONDS));
+        assertEquals("fast", read(cache.get(BUCKET, "fast", loader)));
+        loader.openGate.countDown();
+        assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void invalidateDuringDownloadIsNotIndexed() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        loader.put("a", "v1");
+        loader.openGate = new CountDownLatch(1);
+        pool = Executors.newFixedThreadPool(1);
+        Future<String> result = pool.submit(() -> read(cache.get(BUCKET, "a", loader)));
+        assertTrue(loader.opening.await(10, TimeUnit.SECONDS));
+        cache.invalidate(BUCKET, "a");
+        loader.openGate.countDown();
+
+        // 本次读取仍返回下载内容，但不写入索引
+        assertEquals("v1", result.get(10, TimeUnit.SECONDS));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void invalidateOtherObjectDuringDownloadIsIndexed() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ofMinutes(1), 0);
+        loader.put("a", "v1");
+        loader.openGate = new CountDownLatch(1);
+        pool = Executors.newFixedThreadPool(1);
+        Future<String> result = pool.submit(() -> read(cache.get(BUCKET, "a", loader)));
+        assertTrue(loader.opening.await(10, TimeUnit.SECONDS));
+        cache.invalidate(BUCKET, "b");
+        cache.invalidateBucket("other");
+        loader.openGate.countDown();
+
+        assertEquals("v1", result.get(10, TimeUnit.SECONDS));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void revalidatesWithEtag() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 1 << 20, 1 << 20, Duration.ZERO, 0);
+        loader.put("a", "v1");
+        assertEquals("v1", read(cache.get(BUCKET, "a", loader)));
+        assertEquals("v1", read(cache.get(BUCKET, "a", loader)));
+        assertEquals(1, cache.getRevalidatedCount());
+        assertEquals(1, loader.opens.get());
+
+        // 其他客户端修改对象，ETag 变化后重新下载
+        loader.put("a", "v2");
+        assertEquals("v2", read(cache.get(BUCKET, "a", loader)));
+        assertEquals(2, loader.opens.get());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(dir, 10, 10, Duration.ofMinutes(1), 0);
+        loader.put("a", "aaaa");
+        loader.put("b", "bbbb");
+        loader.put("c", "cccc");
+        read(cache.get(BUCKET, "a", loader));
+        read(cache.get(BUCKET, "b", loader));
+        read(cache.get(BUCKET, "a", loader));
+        read(cache.get(BUCKET, "c", loader));
+        assertEquals(2, cache.size());
+        assertEquals(8, cache.getTotalBytes());
+        assertEquals(1, cache.getEvictionCount());
+        int opens = loader.opens.get();
+        read(cache.get(BUCKET, "a", loader));
+        assertEquals(opens, loader.opens.get());
+    }
+
+    private static String read(DiskObjectCache.CachedObject cached) throws IOException {
+        assertNotNull(cached);
+        try (DiskObjectCache.CachedObject object = cached) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            object.transferTo(0, object.size(), Channels.newChannel(out));
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 内存中的对象，ETag 为内容本身
+     */
+    private static class FakeLoader implements DiskObjectCache.Loader {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+        private final AtomicInteger stats = new AtomicInteger();
+
+        private final AtomicInteger opens = new AtomicInteger();
+
+        private final CountDownLatch opening = new CountDownLatch(1);
+
+        private volatile CountDownLatch openGate;
+
+        private volatile String gatedKey;
+
+        void put(String objectName, String content) {
+            objects.put(objectName, content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public StatObjectResponse stat(String bucketName, String objectName) {
+            stats.incrementAndGet();
+            byte[] data = objects.get(objectName);
+            Headers headers = new Headers.Builder()
+                    .add("ETag", "\"" + new String(data, StandardCharsets.UTF_8) + "\"")
+                    .add("Content-Length", String.valueOf(data.length))
+                    .add("Content-Type", "text/plain")
+                    .add("Last-Modified", "Sun, 18 Oct 2026 02:00:00 GMT")
+                    .build();
+            return new StatObjectResponse(headers, bucketName, null, objectName);
+        }
+
+        @Override
+        public InputStream open(String bucketName, String objectName, String etag) throws Exception {
+            opens.incrementAndGet();
+            CountDownLatch gate = openGate;
+            if (gate != null && (gatedKey == null || gatedKey.equals(objectName))) {
+                opening.countDown();
+                assertTrue(gate.await(10, TimeUnit.SECONDS));
+            }
+            byte[] data = objects.get(objectName);
+            assertArrayEquals(etag.getBytes(StandardCharsets.UTF_8), data);
+            return new ByteArrayInputStream(data);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 12:00
+ * @Since:
+ */
+package com.dist.zja.minio.cache;
+
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
+import okhttp3.Headers;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 元数据缓存：命中、404 缓存、加载期间失效
+ */
+public class ObjectMetadataCacheTests {
+
+    private static final String BUCKET = "test";
+
+    private final ObjectMetadataCache cache = new ObjectMetadataCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void hitAfterLoad() throws Exception {
+        StatObjectResponse stat = stat("a", "1");
+        assertSame(stat, cache.get(BUCKET, "a", () -> load(stat)));
+        assertSame(stat, cache.get(BUCKET, "a", () -> load(stat)));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void negativeHitThrowsFreshException() {
+        ErrorResponseException first = assertThrows(ErrorResponseException.class,
+                () -> cache.get(BUCKET, "missing", this::notFound));
+        ErrorResponseException second = assertThrows(ErrorResponseException.class,
+                () -> cache.get(BUCKET, "missing", this::notFound));
+        ErrorResponseException third = assertThrows(ErrorResponseException.class,
+                () -> cache.get(BUCKET, "missing", this::notFound));
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getNegativeHitCount());
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        assertEquals("NoSuchKey", second.errorResponse().code());
+        assertEquals(404, second.response().code());
+    }
+
+    @Test
+    public void invalidatingOtherObjectDuringLoadStillCaches() throws Exception {
+        StatObjectResponse stat = stat("a", "1");
+        cache.get(BUCKET, "a", () -> {
+            cache.invalidate(BUCKET, "other");
+            cache.invalidateBucket("other-bucket");
+            return load(stat);
+        });
+        cache.get(BUCKET, "a", () -> load(stat));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void invalidatingSameObjectDuringLoadSkipsCache() throws Exception {
+        StatObjectResponse stale = stat("a", "1");
+        cache.get(BUCKET, "a", () -> {
+            StatObjectResponse loaded = load(stale);
+            // 加载返回后、写入缓存前对象被覆盖
+            cache.invalidate(BUCKET, "a");
+            return loaded;
+        });
+        StatObjectResponse fresh = stat("a", "2");
+        assertSame(fresh, cache.get(BUCKET, "a", () -> load(fresh)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void invalidatingBucketDuringLoadSkipsCache() throws Exception {
+        StatObjectResponse stat = stat("a", "1");
+        cache.get(BUCKET, "a", () -> {
+            cache.invalidateBucket(BUCKET);
+            return load(stat);
+        });
+        cache.get(BUCKET, "a", () -> load(stat));
+        assertEquals(2, loads.get());
+        assertThrows(ErrorResponseException.class, () -> cache.get(BUCKET, "b", () -> {
+            cache.invalidateAll();
+            return notFound();
+        }));
+        assertThrows(ErrorResponseException.class, () -> cache.get(BUCKET, "b", this::notFound));
+        assertEquals(0, cache.getNegativeHitCount());
+    }
+
+    @Test
+    public void validateInvalidatesOnEtagChange() throws Exception {
+        StatObjectResponse stat = stat("a", "1");
+        cache.get(BUCKET, "a", () -> load(stat));
+        cache.validate(BUCKET, "a", "\"1\"");
+        cache.get(BUCKET, "a", () -> load(stat));
+        assertEquals(1, loads.get());
+        cache.validate(BUCKET, "a", "\"2\"");
+        cache.get(BUCKET, "a", () -> load(stat));
+        assertEquals(2, loads.get());
+    }
+
+    private StatObjectResponse load(StatObjectResponse stat) {
+        loads.incrementAndGet();
+        return stat;
+    }
+
+    private StatObjectResponse notFound() throws ErrorResponseException {
+        loads.incrementAndGet();
+        Response response = new Response.Builder()
+                .request(new Request.Builder().url("http://127.0.0.1/" + BUCKET + "/missing").head().build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(404)
+                .message("Not Found")
+                .build();
+        throw new ErrorResponseException(new ErrorResponse("NoSuchKey", "Object does not exist", BUCKET, "missing",
+                "/" + BUCKET + "/missing", null, null), response, null);
+    }
+
+    private static StatObjectResponse stat(String objectName, String etag) {
+        Headers headers = new Headers.Builder()
+                .add("ETag", "\"" + etag + "\"")
+                .add("Content-Length", "1")
+                .add("Last-Modified", "Sun, 18 Oct 2026 02:00:00 GMT")
+                .build();
+        return new StatObjectResponse(headers, BUCKET, null, objectName);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-19 10:00
+ * @Since:
+ */
+package com.dist.zja.minio.cache;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 小对象缓存：读取期间失效本对象、所在桶或全部时不保留结果，失效其他对象不受影响
+ */
+public class SmallObjectCacheTests {
+
+    private static final String BUCKET = "test";
+
+    private final SmallObjectCache cache = new SmallObjectCache(1024 * 1024, 1024, Duration.ofMinutes(5));
+
+    @Test
+    public void admitAfterLoad() throws Exception {
+        SmallObjectCache.LoadVersion version = cache.version(BUCKET, "a");
+        assertNotNull(admit("a", version));
+        assertNotNull(cache.get(BUCKET, "a"));
+    }
+
+    @Test
+    public void invalidateDuringLoadIsNotCached() throws Exception {
+        SmallObjectCache.LoadVersion version = cache.version(BUCKET, "a");
+        cache.invalidate(BUCKET, "a");
+        // 本次读取的结果仍返回给调用方，只是不写入缓存
+        assertNotNull(admit("a", version));
+        assertNull(cache.get(BUCKET, "a"));
+    }
+
+    @Test
+    public void invalidateOtherObjectDuringLoadIsCached() throws Exception {
+        SmallObjectCache.LoadVersion version = cache.version(BUCKET, "a");
+        cache.invalidate(BUCKET, "b");
+        cache.invalidate("other", "a");
+        admit("a", version);
+        assertNotNull(cache.get(BUCKET, "a"));
+    }
+
+    @Test
+    public void invalidateBucketDuringLoadIsNotCached() throws Exception {
+        SmallObjectCache.LoadVersion version = cache.version(BUCKET, "a");
+        cache.invalidateBucket(BUCKET);
+        admit("a", version);
+        assertNull(cache.get(BUCKET, "a"));
+
+        version = cache.version(BUCKET, "a");
+        cache.invalidateBucket("other");
+        admit("a", version);
+        assertNotNull(cache.get(BUCKET, "a"));
+    }
+
+    @Test
+    public void invalidateAllDuringLoadIsNotCached() throws Exception {
+        SmallObjectCache.LoadVersion version = cache.version(BUCKET, "a");
+        cache.invalidateAll();
+        admit("a", version);
+        assertNull(cache.get(BUCKET, "a"));
+    }
+
+    @Test
+    public void oversizedObjectIsNotAdmitted() throws Exception {
+        byte[] data = new byte[2048];
+        Headers headers = Headers.of("Content-Length", String.valueOf(data.length));
+        assertNull(cache.admit(BUCKET, "a", headers, new ByteArrayInputStream(data), cache.version(BUCKET, "a")));
+        assertNull(cache.get(BUCKET, "a"));
+    }
+
+    private SmallObjectCache.Entry admit(String objectName, SmallObjectCache.LoadVersion version) throws Exception {
+        byte[] data = new byte[16];
+        Headers headers = Headers.of("Content-Length", String.valueOf(data.length));
+        return cache.admit(BUCKET, objectName, headers, new ByteArrayInputStream(data), version);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 09:00
+ * @Since:
+ */
+package com.dist.zja.minio.common.utils;
+
+import com.dist.zja.minio.common.utils.HttpRangeUtils.ByteRange;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Range 与条件请求解析
+ */
+public class HttpRangeUtilsTests {
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @Test
+    public void parseRangeClosedAndOpenEnded() {
+        assertRange(0, 99, HttpRangeUtils.parseRange("bytes=0-99", 1000));
+        assertRange(500, 999, HttpRangeUtils.parseRange("bytes=500-", 1000));
+        // 结束位置超出对象大小时截断
+        assertRange(900, 999, HttpRangeUtils.parseRange("bytes=900-5000", 1000));
+        assertRange(0, 0, HttpRangeUtils.parseRange(" Bytes=0-0 ", 1000));
+    }
+
+    @Test
+    public void parseSuffixRange() {
+        assertRange(900, 999, HttpRangeUtils.parseRange("bytes=-100", 1000));
+        // 后缀长度超过对象大小时返回整个对象
+        assertRange(0, 999, HttpRangeUtils.parseRange("bytes=-5000", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=-0", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    public void parseRangeOnEmptyObject() {
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=0-", 0));
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=0-0", 0));
+    }
+
+    @Test
+    public void parseUnsatisfiableRange() {
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=1000-", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.parseRange("bytes=2000-3000", 1000));
+        assertFalse(ByteRange.UNSATISFIABLE.isSatisfiable());
+    }
+
+    @Test
+    public void ignoreInvalidOrMultipleRanges() {
+        assertNull(HttpRangeUtils.parseRange(null, 1000));
+        assertNull(HttpRangeUtils.parseRange("items=0-10", 1000));
+        assertNull(HttpRangeUtils.parseRange("bytes=0-10,20-30", 1000));
+        assertNull(HttpRangeUtils.parseRange("bytes=10-5", 1000));
+        assertNull(HttpRangeUtils.parseRange("bytes=-", 1000));
+        assertNull(HttpRangeUtils.parseRange("bytes=abc-", 1000));
+        assertNull(HttpRangeUtils.parseRange("bytes=5", 1000));
+    }
+
+    @Test
+    public void contentRangeHeader() {
+        ByteRange range = HttpRangeUtils.parseRange("bytes=10-19", 100);
+        assertEquals(10, range.getLength());
+        assertEquals("bytes 10-19/100", range.toContentRange(100));
+        assertEquals("bytes 0-99/100", ByteRange.full(100).toContentRange(100));
+    }
+
+    @Test
+    public void ifNoneMatchUsesWeakComparison() {
+        assertTrue(HttpRangeUtils.matchesNoneMatch("\"abc\"", "abc"));
+        assertTrue(HttpRangeUtils.matchesNoneMatch("W/\"abc\"", "\"abc\""));
+        assertTrue(HttpRangeUtils.matchesNoneMatch("\"x\", \"abc\"", "abc"));
+        assertTrue(HttpRangeUtils.matchesNoneMatch("*", "abc"));
+        assertFalse(HttpRangeUtils.matchesNoneMatch("\"other\"", "abc"));
+        assertFalse(HttpRangeUtils.matchesNoneMatch(null, "abc"));
+    }
+
+    @Test
+    public void isNotModifiedPrefersIfNoneMatch() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "\"other\"");
+        request.addHeader("If-Modified-Since", LAST_MODIFIED);
+        // If-None-Match 存在时忽略 If-Modified-Since
+        assertFalse(HttpRangeUtils.isNotModified(request, "abc", LAST_MODIFIED));
+
+        request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "W/\"abc\"");
+        assertTrue(HttpRangeUtils.isNotModified(request, "abc", LAST_MODIFIED));
+    }
+
+    @Test
+    public void isNotModifiedBySinceDate() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-Modified-Since", LAST_MODIFIED);
+        // HTTP 日期精确到秒
+        assertTrue(HttpRangeUtils.isNotModified(request, "abc", LAST_MODIFIED + 999));
+        assertFalse(HttpRangeUtils.isNotModified(request, "abc", LAST_MODIFIED + 1000));
+        assertFalse(HttpRangeUtils.isNotModified(new MockHttpServletRequest(), "abc", LAST_MODIFIED));
+    }
+
+    @Test
+    public void ifRangeWithEtagUsesStrongComparison() {
+        assertTrue(HttpRangeUtils.matchesIfRange(null, "abc", LAST_MODIFIED, -1));
+        assertTrue(HttpRangeUtils.matchesIfRange("\"abc\"", "\"abc\"", LAST_MODIFIED, -1));
+        assertFalse(HttpRangeUtils.matchesIfRange("\"old\"", "abc", LAST_MODIFIED, -1));
+        // 弱 ETag 不能用于 If-Range
+        assertFalse(HttpRangeUtils.matchesIfRange("W/\"abc\"", "abc", LAST_MODIFIED, -1));
+    }
+
+    @Test
+    public void ifRangeWithDateMustEqualLastModified() {
+        assertTrue(HttpRangeUtils.matchesIfRange("date", "abc", LAST_MODIFIED, LAST_MODIFIED + 500));
+        assertFalse(HttpRangeUtils.matchesIfRange("date", "abc", LAST_MODIFIED, LAST_MODIFIED - 1000));
+        assertFalse(HttpRangeUtils.matchesIfRange("date", "abc", LAST_MODIFIED, -1));
+    }
+
+    @Test
+    public void resolveRangeHonoursIfRange() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"abc\"");
+        assertRange(0, 9, HttpRangeUtils.resolveRange(request, "abc", LAST_MODIFIED, 100));
+        // ETag 已变化，返回完整内容
+        assertNull(HttpRangeUtils.resolveRange(request, "def", LAST_MODIFIED, 100));
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=-10");
+        request.addHeader("If-Range", LAST_MODIFIED);
+        assertRange(90, 99, HttpRangeUtils.resolveRange(request, "abc", LAST_MODIFIED, 100));
+        assertNull(HttpRangeUtils.resolveRange(request, "abc", LAST_MODIFIED + 5000, 100));
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=0-");
+        assertSame(ByteRange.UNSATISFIABLE, HttpRangeUtils.resolveRange(request, "abc", LAST_MODIFIED, 0));
+    }
+
+    @Test
+    public void quoteAndContentDisposition() {
+        assertEquals("\"abc\"", HttpRangeUtils.quote("abc"));
+        assertEquals("\"abc\"", HttpRangeUtils.quote("\"abc\""));
+        assertEquals("W/\"abc\"", HttpRangeUtils.quote("W/\"abc\""));
+        assertEquals("attachment; filename=\"__.txt\"; filename*=UTF-8''%E6%8A%A5%E5%91%8A.txt",
+                HttpRangeUtils.contentDisposition("attachment", "dir/报告.txt"));
+        assertEquals("inline; filename=\"a b.txt\"; filename*=UTF-8''a%20b.txt",
+                HttpRangeUtils.contentDisposition("inline", "a b.txt"));
+    }
+
+    private static void assertRange(long start, long end, ByteRange range) {
+        assertTrue(range != null && range.isSatisfiable(), "expected bytes=" + start + "-" + end + ", got " + range);
+        assertEquals(start, range.getStart());
+        assertEquals(end, range.getEnd());
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 11:00
+ * @Since:
+ */
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.support.S3Stub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 惰性分页列举：目录项与对象按对象名归并、分页、maxKeys
+ */
+public class ObjectListerTests {
+
+    private static final String BUCKET = "test";
+
+    private static S3Stub stub;
+
+    private static ObjectLister lister;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        stub = new S3Stub();
+        for (String key : Arrays.asList("a", "b/1", "b/2", "c", "d/x/1", "e", "f/1", "g")) {
+            stub.putObject(BUCKET, key, new byte[]{1});
+        }
+        lister = new ObjectLister(new MinioExtendAsyncClient(stub.newAsyncClient()));
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    public void nonRecursivePageMergesDirsByKey() {
+        List<String> keys = keys(lister.stream(BUCKET, null, false, null, null, null));
+        assertEquals(Arrays.asList("a", "b/", "c", "d/", "e", "f/", "g"), keys);
+    }
+
+    @Test
+    public void nonRecursiveAcrossSmallPagesIsSorted() {
+        for (int pageSize = 1; pageSize <= 4; pageSize++) {
+            List<String> keys = keys(lister.stream(BUCKET, null, false, null, null, pageSize));
+            assertEquals(Arrays.asList("a", "b/", "c", "d/", "e", "f/", "g"), keys, "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    public void recursiveWithStartAfterAndMaxKeys() {
+        assertEquals(Arrays.asList("b/2", "c", "d/x/1"), keys(lister.stream(BUCKET, null, true, "b/1", 3, 2)));
+        assertEquals(Arrays.asList("b/1", "b/2"), keys(lister.stream(BUCKET, "b/", true, null, null, null)));
+    }
+
+    @Test
+    public void missingBucketFailsOnTraversal() {
+        ObjectListException e = assertThrows(ObjectListException.class,
+                () -> lister.iterator("missing", null, true, null, null, null).hasNext());
+        assertTrue(e.getMessage().contains("missing"));
+    }
+
+    @Test
+    public void compareKeysUsesCodePointOrder() {
+        // U+1F600 的 UTF-16 高代理项(0xD83D)小于 U+FFFD，UTF-8 字节序(码点序)相反
+        String emoji = new String(Character.toChars(0x1F600));
+        assertTrue("�".compareTo(emoji) > 0);
+        assertTrue(ObjectSummary.compareKeys("�", emoji) < 0);
+        assertTrue(ObjectSummary.compareKeys("a", "a/") < 0);
+        assertEquals(0, ObjectSummary.compareKeys("b/", "b/"));
+        List<String> sorted = new ArrayList<>(Arrays.asList("b", emoji, "�", "a"));
+        sorted.sort(ObjectSummary::compareKeys);
+        assertEquals(Arrays.asList("a", "b", "�", emoji), sorted);
+    }
+
+    private static List<String> keys(Stream<ObjectSummary> stream) {
+        return stream.map(ObjectSummary::getKey).collect(Collectors.toList());
+    }
+}
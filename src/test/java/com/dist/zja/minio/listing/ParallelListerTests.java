@@ -0,0 +1,163 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 11:30
+ * @Since:
+ */
+package com.dist.zja.minio.listing;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.support.S3Stub;
+import com.dist.zja.minio.transfer.MinioTransferExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并行列举：有序输出与顺序列举一致，未关闭或空闲的流停止后台列举
+ */
+public class ParallelListerTests {
+
+    private static final String BUCKET = "test";
+
+    private S3Stub stub;
+
+    private MinioTransferExecutor executor;
+
+    private ObjectLister lister;
+
+    private List<String> sortedKeys;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new S3Stub();
+        List<String> keys = new ArrayList<>();
+        // 顶层对象与目录交错，目录下再有子目录
+        for (String top : Arrays.asList("a", "b", "c", "d", "e")) {
+            keys.add(top);
+            keys.add(top + ".txt");
+            for (int i = 0; i < 20; i++) {
+                keys.add(top + "/" + i);
+                keys.add(top + "/sub/" + i);
+            }
+        }
+        for (String key : keys) {
+            stub.putObject(BUCKET, key, new byte[]{1});
+        }
+        Collections.sort(keys);
+        sortedKeys = keys;
+        executor = new MinioTransferExecutor(2, 2, 2);
+        lister = new ObjectLister(new MinioExtendAsyncClient(stub.newAsyncClient()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        stub.close();
+    }
+
+    @Test
+    public void orderedDiscoveryMatchesSortedListing() {
+        ParallelLister parallelLister = new ParallelLister(lister, executor, 3);
+        try (Stream<ObjectSummary> stream = parallelLister.stream(BUCKET, null, true)) {
+            assertEquals(sortedKeys, keys(stream));
+        }
+        try (Stream<ObjectSummary> stream = lister.stream(BUCKET, null, true, null, null, 7)) {
+            assertEquals(sortedKeys, keys(stream));
+        }
+    }
+
+    @Test
+    public void orderedSplitPointsMatchSortedListing() {
+        ParallelLister parallelLister = new ParallelLister(lister, executor, 3);
+        List<String> splitPoints = Arrays.asList("d/5", "b", "b", "c/sub/10", "zzz");
+        try (Stream<ObjectSummary> stream = parallelLister.stream(BUCKET, null, splitPoints, true)) {
+            assertEquals(sortedKeys, keys(stream));
+        }
+    }
+
+    @Test
+    public void unorderedReturnsEveryKeyOnce() {
+        ParallelLister parallelLister = new ParallelLister(lister, executor, 3);
+        try (Stream<ObjectSummary> stream = parallelLister.stream(BUCKET, null, false)) {
+            List<String> keys = keys(stream);
+            Collections.sort(keys);
+            assertEquals(sortedKeys, keys);
+        }
+    }
+
+    @Test
+    public void idleConsumerStopsBackgroundListing() throws Exception {
+        ParallelLister parallelLister = new ParallelLister(lister, executor, 2, Duration.ofMillis(300));
+        try (Stream<ObjectSummary> stream = parallelLister.stream(BUCKET, null, Arrays.asList("b", "c"), true)) {
+            Iterator<ObjectSummary> iterator = stream.iterator();
+            assertTrue(iterator.hasNext());
+            iterator.next();
+            TimeUnit.SECONDS.sleep(2);
+            assertThrows(ObjectListException.class, iterator::hasNext);
+        }
+        assertListThreadsReleased();
+    }
+
+    @Test
+    public void abandonedStreamStopsBackgroundListing() throws Exception {
+        ParallelLister parallelLister = new ParallelLister(lister, executor, 2, Duration.ofHours(1));
+        consumeOneAndAbandon(parallelLister);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        boolean released = false;
+        while (!released && System.nanoTime() < deadline) {
+            System.gc();
+            released = listThreadsReleased(1000);
+        }
+        assertTrue(released, "list threads still blocked by an abandoned stream");
+    }
+
+    private static void consumeOneAndAbandon(ParallelLister parallelLister) {
+        Iterator<ObjectSummary> iterator = parallelLister.stream(BUCKET, null, false).iterator();
+        assertTrue(iterator.hasNext());
+        assertFalse(iterator.next().getKey().isEmpty());
+    }
+
+    private void assertListThreadsReleased() throws Exception {
+        assertTrue(listThreadsReleased(5000), "list threads still blocked");
+    }
+
+    /**
+     * 所有列举线程空闲时，探测任务可以在超时前执行
+     */
+    private boolean listThreadsReleased(long timeoutMillis) throws Exception {
+        List<CompletableFuture<Boolean>> probes = new ArrayList<>();
+        for (int i = 0; i < executor.getListConcurrency(); i++) {
+            probes.add(executor.submitList(() -> true));
+        }
+        try {
+            CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static List<String> keys(Stream<ObjectSummary> stream) {
+        return stream.map(ObjectSummary::getKey).collect(Collectors.toList());
+    }
+}
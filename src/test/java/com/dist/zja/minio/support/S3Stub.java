@@ -0,0 +1,649 @@
+package com.dist.zja.minio.support;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Company: 上海数慧系统技术有限公司
+ * Department: 数据中心
+ * Date: 2026-10-17 23:40
+ * Author: zhengja
+ * Email: zhengja@dist.com.cn
+ * Desc：进程内 S3 兼容桩服务，基于 JDK HttpServer，对象保存在内存中，只监听回环地址。
+ * 支持 ListBuckets、HeadBucket、CreateBucket、GetBucketLocation、ListObjectsV2、DeleteObjects、
+ * PutObject、分片上传、HeadObject、GetObject(Range)、DeleteObject；不校验签名，ETag 为递增序号而非 MD5，
+ * 以免桩服务自身的开销计入基准结果
+ */
+public class S3Stub implements Closeable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+
+    private static final String XMLNS = " xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"";
+
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>([^<]*)</Key>");
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    /**
+     * 内存中的对象
+     */
+    private static final class StoredObject {
+
+        private final byte[] data;
+
+        private final String etag;
+
+        private final String contentType;
+
+        private final ZonedDateTime lastModified = ZonedDateTime.now(ZoneOffset.UTC).withNano(0);
+
+        private StoredObject(byte[] data, String etag, String contentType) {
+            this.data = data;
+            this.etag = etag;
+            this.contentType = contentType;
+        }
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final ConcurrentMap<String, ConcurrentSkipListMap<String, StoredObject>> buckets = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentSkipListMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * uploadId/partNumber -> 分片 ETag
+     */
+    private final ConcurrentMap<String, String> partEtags = new ConcurrentHashMap<>();
+
+    /**
+     * uploadId -> 创建分片上传时的 Content-Type
+     */
+    private final ConcurrentMap<String, String> uploadContentTypes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger partUploads = new AtomicInteger();
+
+    private final Set<Integer> failingParts = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile long partDelayMillis;
+
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    public S3Stub() throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "s3-stub-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 连接桩服务的同步客户端
+     */
+    public MinioClient newClient() {
+        return MinioClient.builder().endpoint(endpoint()).credentials("stub", "stub").region("us-east-1").build();
+    }
+
+    /**
+     * 连接桩服务的异步客户端
+     */
+    public MinioAsyncClient newAsyncClient() {
+        return MinioAsyncClient.builder().endpoint(endpoint()).credentials("stub", "stub").region("us-east-1").build();
+    }
+
+    public void createBucket(String bucketName) {
+        buckets.putIfAbsent(bucketName, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * 直接写入对象，用于准备基准数据
+     */
+    public void putObject(String bucketName, String objectName, byte[] data) {
+        createBucket(bucketName);
+        buckets.get(bucketName).put(objectName, new StoredObject(data, nextEtag(), "application/octet-stream"));
+    }
+
+    /**
+     * 对象内容，不存在时为 null
+     */
+    public byte[] getObject(String bucketName, String objectName) {
+        ConcurrentSkipListMap<String, StoredObject> bucket = buckets.get(bucketName);
+        StoredObject stored = bucket == null ? null : bucket.get(objectName);
+        return stored == null ? null : stored.data;
+    }
+
+    /**
+     * 对象的 Content-Type，不存在时为 null
+     */
+    public String getContentType(String bucketName, String objectName) {
+        ConcurrentSkipListMap<String, StoredObject> bucket = buckets.get(bucketName);
+        StoredObject stored = bucket == null ? null : bucket.get(objectName);
+        return stored == null ? null : stored.contentType;
+    }
+
+    /**
+     * 每个分片上传请求的处理延时，用于观察客户端的在途分片数
+     */
+    public void setPartDelayMillis(long partDelayMillis) {
+        this.partDelayMillis = partDelayMillis;
+    }
+
+    /**
+     * 同时处理中的分片上传请求数的最大值
+     */
+    public int getMaxPartsInFlight() {
+        return maxPartsInFlight.get();
+    }
+
+    /**
+     * 已处理的分片上传请求数(含失败的请求)
+     */
+    public int getPartUploads() {
+        return partUploads.get();
+    }
+
+    /**
+     * 指定分片号的下一次上传请求返回 500
+     */
+    public void failPartOnce(int partNumber) {
+        failingParts.add(partNumber);
+    }
+
+    /**
+     * 进行中的分片上传数
+     */
+    public int uploadCount() {
+        return uploads.size();
+    }
+
+    /**
+     * 丢弃所有进行中的分片上传，模拟服务端清理过期上传
+     */
+    public void expireUploads() {
+        uploads.clear();
+    }
+
+    public int objectCount(String bucketName) {
+        ConcurrentSkipListMap<String, StoredObject> bucket = buckets.get(bucketName);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getRawPath();
+            int slash = path.indexOf('/', 1);
+            String bucketName = decode(slash < 0 ? path.substring(1) : path.substring(1, slash));
+            String objectName = slash < 0 ? "" : decode(path.substring(slash + 1));
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            if (bucketName.isEmpty()) {
+                listBuckets(exchange);
+            } else if (objectName.isEmpty()) {
+                handleBucket(exchange, method, bucketName, query);
+            } else {
+                handleObject(exchange, method, bucketName, objectName, query);
+            }
+        } catch (RuntimeException e) {
+            error(exchange, 500, "InternalError", String.valueOf(e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void uploadPart(HttpExchange exchange, String uploadId, ConcurrentSkipListMap<Integer, byte[]> parts,
+                            int partNumber, byte[] body) throws IOException {
+        partUploads.incrementAndGet();
+        if (failingParts.remove(partNumber)) {
+            error(exchange, 500, "InternalError", "part " + partNumber);
+            return;
+        }
+        int inFlight = partsInFlight.incrementAndGet();
+        maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            if (partDelayMillis > 0) {
+                Thread.sleep(partDelayMillis);
+            }
+            parts.put(partNumber, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+        String etag = nextEtag();
+        partEtags.put(uploadId + "/" + partNumber, etag);
+        exchange.getResponseHeaders().set("ETag", quote(etag));
+        send(exchange, 200, null, null);
+    }
+
+    private void listParts(HttpExchange exchange, String bucketName, String objectName, String uploadId) throws IOException {
+        ConcurrentSkipListMap<Integer, byte[]> parts = uploads.get(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload", uploadId);
+            return;
+        }
+        StringBuilder xml = new StringBuilder("<ListPartsResult").append(XMLNS).append("><Bucket>").append(escape(bucketName))
+                .append("</Bucket><Key>").append(escape(objectName)).append("</Key><UploadId>").append(uploadId)
+                .append("</UploadId><Initiator><ID>stub</ID><DisplayName>stub</DisplayName></Initiator>")
+                .append("<Owner><ID>stub</ID><DisplayName>stub</DisplayName></Owner><StorageClass>STANDARD</StorageClass>")
+                .append("<PartNumberMarker>0</PartNumberMarker><NextPartNumberMarker>0</NextPartNumberMarker>")
+                .append("<MaxParts>1000</MaxParts><IsTruncated>false</IsTruncated>");
+        for (Map.Entry<Integer, byte[]> part : parts.entrySet()) {
+            xml.append("<Part><PartNumber>").append(part.getKey()).append("</PartNumber><LastModified>")
+                    .append(ISO_DATE.format(ZonedDateTime.now(ZoneOffset.UTC))).append("</LastModified><ETag>")
+                    .append(escape(quote(partEtags.get(uploadId + "/" + part.getKey())))).append("</ETag><Size>")
+                    .append(part.getValue().length).append("</Size></Part>");
+        }
+        sendXml(exchange, 200, xml.append("</ListPartsResult>").toString());
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucketName, Map<String, String> query) throws IOException {
+        ConcurrentSkipListMap<String, StoredObject> bucket = buckets.get(bucketName);
+        if ("PUT".equals(method)) {
+            createBucket(bucketName);
+            send(exchange, 200, null, null);
+            return;
+        }
+        if (bucket == null) {
+            error(exchange, 404, "NoSuchBucket", bucketName);
+            return;
+        }
+        switch (method) {
+            case "HEAD":
+                send(exchange, 200, null, null);
+                return;
+            case "DELETE":
+                buckets.remove(bucketName);
+                send(exchange, 204, null, null);
+                return;
+            case "POST":
+                if (query.containsKey("delete")) {
+                    Matcher matcher = DELETE_KEY.matcher(new String(readBody(exchange), StandardCharsets.UTF_8));
+                    while (matcher.find()) {
+                        bucket.remove(unescape(matcher.group(1)));
+                    }
+                    sendXml(exchange, 200, "<DeleteResult" + XMLNS + "></DeleteResult>");
+                    return;
+                }
+                error(exchange, 501, "NotImplemented", "POST bucket");
+                return;
+            default:
+                if (query.containsKey("location")) {
+                    sendXml(exchange, 200, "<LocationConstraint" + XMLNS + ">us-east-1</LocationConstraint>");
+                    return;
+                }
+                listObjectsV2(exchange, bucketName, bucket, query);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String bucketName, String objectName,
+                              Map<String, String> query) throws IOException {
+        ConcurrentSkipListMap<String, StoredObject> bucket = buckets.get(bucketName);
+        if (bucket == null) {
+            error(exchange, 404, "NoSuchBucket", bucketName);
+            return;
+        }
+        String uploadId = query.get("uploadId");
+        switch (method) {
+            case "PUT":
+                if (exchange.getRequestHeaders().getFirst("x-amz-copy-source") != null) {
+                    error(exchange, 501, "NotImplemented", "copy");
+                    return;
+                }
+                byte[] body = readBody(exchange);
+                if (uploadId != null) {
+                    ConcurrentSkipListMap<Integer, byte[]> parts = uploads.get(uploadId);
+                    if (parts == null) {
+                        error(exchange, 404, "NoSuchUpload", uploadId);
+                        return;
+                    }
+                    uploadPart(exchange, uploadId, parts, Integer.parseInt(query.get("partNumber")), body);
+                    return;
+                }
+                StoredObject stored = new StoredObject(body, nextEtag(), contentType(exchange));
+                bucket.put(objectName, stored);
+                exchange.getResponseHeaders().set("ETag", quote(stored.etag));
+                send(exchange, 200, null, null);
+                return;
+            case "POST":
+                if (query.containsKey("uploads")) {
+                    String id = Long.toHexString(sequence.incrementAndGet()) + "-" + System.nanoTime();
+                    uploads.put(id, new ConcurrentSkipListMap<>());
+                    uploadContentTypes.put(id, contentType(exchange));
+                    sendXml(exchange, 200, "<InitiateMultipartUploadResult" + XMLNS + "><Bucket>" + escape(bucketName)
+                            + "</Bucket><Key>" + escape(objectName) + "</Key><UploadId>" + id + "</UploadId></InitiateMultipartUploadResult>");
+                    return;
+                }
+                if (uploadId != null) {
+                    completeMultipartUpload(exchange, bucket, bucketName, objectName, uploadId);
+                    return;
+                }
+                error(exchange, 501, "NotImplemented", "POST object");
+                return;
+            case "DELETE":
+                if (uploadId != null) {
+                    uploads.remove(uploadId);
+                } else {
+                    bucket.remove(objectName);
+                }
+                send(exchange, 204, null, null);
+                return;
+            default:
+                if (uploadId != null) {
+                    listParts(exchange, bucketName, objectName, uploadId);
+                    return;
+                }
+                StoredObject object = bucket.get(objectName);
+                if (object == null) {
+                    error(exchange, 404, "NoSuchKey", objectName);
+                    return;
+                }
+                getObject(exchange, object, "HEAD".equals(method));
+        }
+    }
+
+    private void completeMultipartUpload(HttpExchange exchange, ConcurrentSkipListMap<String, StoredObject> bucket,
+                                         String bucketName, String objectName, String uploadId) throws IOException {
+        ConcurrentSkipListMap<Integer, byte[]> parts = uploads.remove(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload", uploadId);
+            return;
+        }
+        Matcher matcher = PART_NUMBER.matcher(new String(readBody(exchange), StandardCharsets.UTF_8));
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        while (matcher.find()) {
+            byte[] part = parts.get(Integer.parseInt(matcher.group(1)));
+            if (part == null) {
+                error(exchange, 400, "InvalidPart", matcher.group(1));
+                return;
+            }
+            data.write(part, 0, part.length);
+        }
+        StoredObject stored = new StoredObject(data.toByteArray(), nextEtag() + "-" + parts.size(),
+                uploadContentTypes.getOrDefault(uploadId, "application/octet-stream"));
+        bucket.put(objectName, stored);
+        sendXml(exchange, 200, "<CompleteMultipartUploadResult" + XMLNS + "><Location>" + endpoint() + "/" + escape(bucketName)
+                + "/" + escape(objectName) + "</Location><Bucket>" + escape(bucketName) + "</Bucket><Key>" + escape(objectName)
+                + "</Key><ETag>" + escape(quote(stored.etag)) + "</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void getObject(HttpExchange exchange, StoredObject object, boolean head) throws IOException {
+        Headers request = exchange.getRequestHeaders();
+        Headers headers = exchange.getResponseHeaders();
+        String ifMatch = request.getFirst("If-Match");
+        if (ifMatch != null && !unquote(ifMatch).equals(object.etag)) {
+            error(exchange, 412, "PreconditionFailed", "If-Match");
+            return;
+        }
+        headers.set("ETag", quote(object.etag));
+        headers.set("Last-Modified", HTTP_DATE.format(object.lastModified));
+        headers.set("Content-Type", object.contentType);
+        headers.set("Accept-Ranges", "bytes");
+        long size = object.data.length;
+        long start = 0;
+        long end = size - 1;
+        int status = 200;
+        String range = request.getFirst("Range");
+        if (range != null) {
+            Matcher matcher = RANGE.matcher(range);
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, size - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, Long.parseLong(matcher.group(2)));
+                    }
+                }
+                if (start >= size) {
+                    headers.set("Content-Range", "bytes */" + size);
+                    error(exchange, 416, "InvalidRange", range);
+                    return;
+                }
+                status = 206;
+                headers.set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        if (head) {
+            headers.set("Content-Length", String.valueOf(length));
+            sendEmpty(exchange, status);
+            return;
+        }
+        if (length == 0) {
+            sendEmpty(exchange, status);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(object.data, (int) start, (int) length);
+        }
+    }
+
+    private void listObjectsV2(HttpExchange exchange, String bucketName, ConcurrentSkipListMap<String, StoredObject> bucket,
+                               Map<String, String> query) throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.getOrDefault("delimiter", "");
+        int maxKeys = query.containsKey("max-keys") ? Integer.parseInt(query.get("max-keys")) : 1000;
+        String token = query.get("continuation-token");
+        String after = token != null && !token.isEmpty()
+                ? new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                : query.getOrDefault("start-after", "");
+        String from = after.compareTo(prefix) > 0 ? after : prefix;
+        NavigableMap<String, StoredObject> tail = bucket.tailMap(from, !from.equals(after));
+
+        StringBuilder contents = new StringBuilder();
+        StringBuilder prefixes = new StringBuilder();
+        int count = 0;
+        String last = null;
+        String lastPrefix = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : tail.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (lastPrefix != null && key.startsWith(lastPrefix)) {
+                continue;
+            }
+            if (count == maxKeys) {
+                truncated = true;
+                break;
+            }
+            int index = delimiter.isEmpty() ? -1 : key.indexOf(delimiter, prefix.length());
+            if (index >= 0) {
+                lastPrefix = key.substring(0, index + delimiter.length());
+                prefixes.append("<CommonPrefixes><Prefix>").append(escape(lastPrefix)).append("</Prefix></CommonPrefixes>");
+                last = lastPrefix + Character.MAX_VALUE;
+            } else {
+                StoredObject object = entry.getValue();
+                contents.append("<Contents><Key>").append(escape(key))
+                        .append("</Key><LastModified>").append(ISO_DATE.format(object.lastModified))
+                        .append("</LastModified><ETag>").append(escape(quote(object.etag)))
+                        .append("</ETag><Size>").append(object.data.length)
+                        .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+                last = key;
+            }
+            count++;
+        }
+        StringBuilder xml = new StringBuilder(contents.length() + prefixes.length() + 512);
+        xml.append("<ListBucketResult").append(XMLNS).append("><Name>").append(escape(bucketName))
+                .append("</Name><Prefix>").append(escape(prefix))
+                .append("</Prefix><KeyCount>").append(count)
+                .append("</KeyCount><MaxKeys>").append(maxKeys)
+                .append("</MaxKeys><Delimiter>").append(escape(delimiter))
+                .append("</Delimiter><IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (token != null) {
+            xml.append("<ContinuationToken>").append(escape(token)).append("</ContinuationToken>");
+        }
+        if (truncated) {
+            xml.append("<NextContinuationToken>")
+                    .append(Base64.getUrlEncoder().withoutPadding().encodeToString(last.getBytes(StandardCharsets.UTF_8)))
+                    .append("</NextContinuationToken>");
+        }
+        xml.append(contents).append(prefixes).append("</ListBucketResult>");
+        sendXml(exchange, 200, xml.toString());
+    }
+
+    private void listBuckets(HttpExchange exchange) throws IOException {
+        StringBuilder xml = new StringBuilder("<ListAllMyBucketsResult" + XMLNS + "><Owner><ID>stub</ID><DisplayName>stub</DisplayName></Owner><Buckets>");
+        for (String name : new TreeMap<>(buckets).keySet()) {
+            xml.append("<Bucket><Name>").append(escape(name)).append("</Name><CreationDate>")
+                    .append(ISO_DATE.format(ZonedDateTime.now(ZoneOffset.UTC))).append("</CreationDate></Bucket>");
+        }
+        sendXml(exchange, 200, xml.append("</Buckets></ListAllMyBucketsResult>").toString());
+    }
+
+    private void error(HttpExchange exchange, int status, String code, String resource) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("x-minio-error-code", code);
+            sendEmpty(exchange, status);
+            return;
+        }
+        sendXml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message><Resource>" + escape(resource)
+                + "</Resource><RequestId>stub</RequestId><HostId>stub</HostId></Error>");
+    }
+
+    private static void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+        send(exchange, status, "application/xml", xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (body == null || body.length == 0) {
+            sendEmpty(exchange, status);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * 无响应体的响应。HttpServer 在长度为 -1 的响应后关闭连接而不告知客户端，客户端复用该连接时不可重试的上传请求会失败：
+     * HEAD、204 显式声明 Connection: close，其余以空的分块响应体发送以保持连接
+     */
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod()) || status == 204 || status == 304) {
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, 0);
+        exchange.getResponseBody().close();
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        return ByteStreams.toByteArray(exchange.getRequestBody());
+    }
+
+    private static String contentType(HttpExchange exchange) {
+        // 重复的 Content-Type 原样合并，便于测试发现
+        List<String> contentType = exchange.getRequestHeaders().get("Content-Type");
+        return contentType == null || contentType.isEmpty() ? "application/octet-stream" : String.join(",", contentType);
+    }
+
+    private String nextEtag() {
+        return String.format("%032x", sequence.incrementAndGet());
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            query.put(decode(eq < 0 ? pair : pair.substring(0, eq)), eq < 0 ? "" : decode(pair.substring(eq + 1)));
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    private static String unquote(String etag) {
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"") ? etag.substring(1, etag.length() - 1) : etag;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&quot;", "\"").replace("&gt;", ">").replace("&lt;", "<").replace("&amp;", "&");
+    }
+}
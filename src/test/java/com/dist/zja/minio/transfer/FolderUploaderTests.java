@@ -0,0 +1,112 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-19 11:00
+ * @Since:
+ */
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.support.S3Stub;
+import io.minio.Xml;
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 目录上传：按 mtime 元数据跳过未修改文件，提交失败时不挂起
+ */
+public class FolderUploaderTests {
+
+    private static final String BUCKET = "test";
+
+    private static final long MTIME = 1760000000000L;
+
+    @TempDir
+    Path dir;
+
+    private S3Stub stub;
+
+    private MinioTransferExecutor executor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new S3Stub();
+        stub.createBucket(BUCKET);
+        executor = new MinioTransferExecutor(1, 1, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        stub.close();
+    }
+
+    @Test
+    public void upToDateComparesMtimeMetadata() throws Exception {
+        BasicFileAttributes attrs = attributes("a.txt", "abc");
+
+        assertTrue(FolderUploader.isUpToDate(item(3, "X-Amz-Meta-Mtime", String.valueOf(MTIME)), attrs));
+        assertFalse(FolderUploader.isUpToDate(item(3, "X-Amz-Meta-Mtime", String.valueOf(MTIME - 1)), attrs));
+        assertFalse(FolderUploader.isUpToDate(item(4, "X-Amz-Meta-Mtime", String.valueOf(MTIME)), attrs));
+    }
+
+    @Test
+    public void otherMetadataEndingWithMtimeIsIgnored() throws Exception {
+        BasicFileAttributes attrs = attributes("a.txt", "abc");
+
+        // 只有 X-Amz-Meta-Oldmtime 时按远端修改时间判断，远端早于本地，需要上传
+        assertFalse(FolderUploader.isUpToDate(item(3, "X-Amz-Meta-Oldmtime", String.valueOf(MTIME)), attrs));
+    }
+
+    @Test
+    public void rejectedSubmitDoesNotHang() throws Exception {
+        Path folder = Files.createDirectories(dir.resolve("folder"));
+        Files.write(folder.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("b.txt"), "b".getBytes(StandardCharsets.UTF_8));
+        FolderUploader uploader = new FolderUploader(stub.newClient(), executor);
+        executor.shutdown();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(RejectedExecutionException.class,
+                () -> uploader.upload(BUCKET, "folder", folder, (bucketName, objectName, file, userMetadata) -> {
+                })));
+        assertEquals(0, stub.objectCount(BUCKET));
+    }
+
+    private BasicFileAttributes attributes(String name, String content) throws Exception {
+        Path file = Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(MTIME));
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+
+    /**
+     * 按 MinIO 列举响应(metadata=true)解析出带用户元数据的条目，远端修改时间早于本地文件
+     */
+    private static Item item(long size, String metadataKey, String metadataValue) throws Exception {
+        String xml = "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><Name>" + BUCKET + "</Name>"
+                + "<Prefix></Prefix><KeyCount>1</KeyCount><MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>"
+                + "<Contents><Key>folder/a.txt</Key><LastModified>2020-01-01T00:00:00.000Z</LastModified>"
+                + "<ETag>\"etag\"</ETag><Size>" + size + "</Size><StorageClass>STANDARD</StorageClass>"
+                + "<UserMetadata><Items><Key>" + metadataKey + "</Key><Value>" + metadataValue + "</Value></Items>"
+                + "</UserMetadata></Contents></ListBucketResult>";
+        return Xml.unmarshal(ListBucketResultV2.class, xml).contents().get(0);
+    }
+}
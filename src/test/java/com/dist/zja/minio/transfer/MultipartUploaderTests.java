@@ -0,0 +1,209 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 14:30
+ * @Since:
+ */
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.support.S3Stub;
+import com.google.common.collect.Multimap;
+import io.minio.ObjectWriteArgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 分片上传：请求头构建，基于 S3Stub 的并行分片上传与断点续传
+ */
+public class MultipartUploaderTests {
+
+    private static final String BUCKET = "test";
+
+    private static final int PART_SIZE = (int) ObjectWriteArgs.MIN_MULTIPART_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private S3Stub stub;
+
+    private MinioTransferExecutor executor;
+
+    private MultipartUploader uploader;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new S3Stub();
+        stub.createBucket(BUCKET);
+        executor = new MinioTransferExecutor(2, 2, 2);
+        uploader = new MultipartUploader(new MinioExtendAsyncClient(stub.newAsyncClient()), executor,
+                new PartBufferPool(PART_SIZE, 2L * PART_SIZE, 2), PART_SIZE, dir);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        stub.close();
+    }
+
+    @Test
+    public void uploadFileInParallelParts() throws Exception {
+        byte[] data = content(2 * PART_SIZE + 100);
+        Path file = write("a.bin", data);
+
+        uploader.uploadFile(BUCKET, "a", file, null, null);
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        assertEquals(3, stub.getPartUploads());
+        assertEquals(0, stub.uploadCount());
+    }
+
+    @Test
+    public void failedPartAbortsUpload() throws Exception {
+        Path file = write("a.bin", content(2 * PART_SIZE + 100));
+        stub.failPartOnce(2);
+
+        assertThrows(Exception.class, () -> uploader.uploadFile(BUCKET, "a", file, null, null));
+
+        assertNull(stub.getObject(BUCKET, "a"));
+        assertEquals(0, stub.uploadCount());
+    }
+
+    @Test
+    public void resumeUploadsOnlyMissingParts() throws Exception {
+        UploadJournal journal = new UploadJournal(dir.resolve("journal"));
+        uploader.setUploadJournal(journal);
+        byte[] data = content(2 * PART_SIZE + 100);
+        Path file = write("a.bin", data);
+        stub.failPartOnce(2);
+
+        assertThrows(Exception.class, () -> uploader.uploadFileResumable(BUCKET, "a", file, null, null));
+        // 失败时保留上传与日志
+        assertEquals(1, stub.uploadCount());
+        String key = journal.key(BUCKET, "a", file);
+        UploadJournal.Entry entry = journal.load(key);
+        assertNotNull(entry);
+        assertFalse(entry.getParts().isEmpty());
+        assertFalse(entry.getParts().containsKey(2));
+        int before = stub.getPartUploads();
+
+        uploader.uploadFileResumable(BUCKET, "a", file, null, null);
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        // 只上传日志中没有的分片
+        assertEquals(before + 3 - entry.getParts().size(), stub.getPartUploads());
+        assertEquals(0, stub.uploadCount());
+        assertNull(journal.load(key));
+    }
+
+    @Test
+    public void expiredUploadRestarts() throws Exception {
+        UploadJournal journal = new UploadJournal(dir.resolve("journal"));
+        uploader.setUploadJournal(journal);
+        byte[] data = content(2 * PART_SIZE + 100);
+        Path file = write("a.bin", data);
+        stub.failPartOnce(3);
+
+        assertThrows(Exception.class, () -> uploader.uploadFileResumable(BUCKET, "a", file, null, null));
+        stub.expireUploads();
+        int before = stub.getPartUploads();
+
+        uploader.uploadFileResumable(BUCKET, "a", file, null, null);
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        assertEquals(before + 3, stub.getPartUploads());
+        assertNull(journal.load(journal.key(BUCKET, "a", file)));
+    }
+
+    @Test
+    public void streamHeaderContentTypeReplacesDefault() throws Exception {
+        Map<String, String> headers = Collections.singletonMap("content-type", "text/csv");
+        byte[] large = content(2 * PART_SIZE + 100);
+        byte[] small = content(100);
+
+        uploader.uploadStream(BUCKET, "large.csv", new ByteArrayInputStream(large), null, headers, null);
+        uploader.uploadStream(BUCKET, "small.csv", new ByteArrayInputStream(small), null, headers, null);
+
+        assertArrayEquals(large, stub.getObject(BUCKET, "large.csv"));
+        assertEquals("text/csv", stub.getContentType(BUCKET, "large.csv"));
+        assertArrayEquals(small, stub.getObject(BUCKET, "small.csv"));
+        assertEquals("text/csv", stub.getContentType(BUCKET, "small.csv"));
+    }
+
+    @Test
+    public void explicitContentTypeWinsOverStreamHeader() throws Exception {
+        uploader.uploadStream(BUCKET, "a", new ByteArrayInputStream(content(100)), "image/png",
+                Collections.singletonMap("Content-Type", "text/csv"), null);
+        assertEquals("image/png", stub.getContentType(BUCKET, "a"));
+    }
+
+    @Test
+    public void defaultContentType() {
+        Multimap<String, String> headers = MultipartUploader.headers(null, null);
+        assertEquals(Collections.singletonList("application/octet-stream"), headers.get("Content-Type"));
+        assertEquals(1, headers.size());
+    }
+
+    @Test
+    public void metadataContentTypeReplacesDefault() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("content-type", "text/plain");
+        metadata.put("owner", "a");
+        Multimap<String, String> headers = MultipartUploader.headers(null, metadata);
+
+        assertEquals(Collections.singletonList("text/plain"), headers.get("Content-Type"));
+        assertFalse(headers.containsKey("content-type"));
+        assertFalse(headers.containsKey("x-amz-meta-content-type"));
+        assertEquals(Collections.singletonList("a"), headers.get("x-amz-meta-owner"));
+        assertEquals(2, headers.size());
+    }
+
+    @Test
+    public void explicitContentTypeWins() {
+        Multimap<String, String> headers = MultipartUploader.headers("image/png",
+                Collections.singletonMap("Content-Type", "text/plain"));
+        assertEquals(Collections.singletonList("image/png"), headers.get("Content-Type"));
+        assertEquals(1, headers.size());
+    }
+
+    @Test
+    public void metadataKeysDifferingInCaseAreMerged() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("Owner", "a");
+        metadata.put("X-Amz-Meta-owner", "b");
+        Multimap<String, String> headers = MultipartUploader.headers("text/plain", metadata);
+
+        assertEquals(Collections.singletonList("b"), headers.get("X-Amz-Meta-owner"));
+        assertFalse(headers.containsKey("x-amz-meta-Owner"));
+        assertEquals(2, headers.size());
+    }
+
+    private Path write(String name, byte[] data) throws Exception {
+        return Files.write(dir.resolve(name), data);
+    }
+
+    private static byte[] content(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 10:00
+ * @Since:
+ */
+package com.dist.zja.minio.transfer;
+
+import io.minio.GetObjectResponse;
+import io.minio.StatObjectResponse;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并行下载：区间拼接、边下载边计算 MD5、服务端加密对象跳过校验
+ */
+public class ParallelDownloaderTests {
+
+    private static final String BUCKET = "test";
+
+    private static final String OBJECT = "dir/file.bin";
+
+    private static final int RANGE_SIZE = 1000;
+
+    private static MinioTransferExecutor executor;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    public static void setUp() {
+        executor = new MinioTransferExecutor(4, 4);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void downloadVerifiesMd5AcrossRanges() throws Exception {
+        byte[] data = randomBytes(10 * RANGE_SIZE + 123);
+        Path target = dir.resolve("ok.bin");
+        long n = new ParallelDownloader(executor, RANGE_SIZE)
+                .download(stat(data.length, md5(data)), target, reader(data, md5(data)), true);
+        assertEquals(data.length, n);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void checksumMismatchFailsAndRemovesTempFile() throws Exception {
+        byte[] data = randomBytes(5 * RANGE_SIZE);
+        String wrongMd5 = md5(new byte[]{1});
+        Path target = dir.resolve("bad.bin");
+        IOException e = assertThrows(IOException.class, () -> new ParallelDownloader(executor, RANGE_SIZE)
+                .download(stat(data.length, wrongMd5), target, reader(data, wrongMd5), true));
+        assertTrue(e.getMessage().startsWith("checksum mismatch"), e.getMessage());
+        assertFalse(Files.exists(target));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void serverSideEncryptedObjectSkipsMd5() throws Exception {
+        byte[] data = randomBytes(3 * RANGE_SIZE + 1);
+        // SSE-KMS 对象的 ETag 形如 MD5 但不是内容摘要
+        String etag = md5(new byte[]{2});
+        Headers headers = headers(data.length, etag).newBuilder()
+                .add("x-amz-server-side-encryption", "aws:kms")
+                .build();
+        Path target = dir.resolve("sse.bin");
+        new ParallelDownloader(executor, RANGE_SIZE)
+                .download(new StatObjectResponse(headers, BUCKET, null, OBJECT), target, reader(data, etag), true);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void multipartEtagSkipsMd5() throws Exception {
+        byte[] data = randomBytes(2 * RANGE_SIZE);
+        String etag = md5(data) + "-2";
+        Path target = dir.resolve("multipart.bin");
+        new ParallelDownloader(executor, RANGE_SIZE)
+                .download(stat(data.length, etag), target, reader(data, etag), true);
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void objectChangedDuringDownloadFails() {
+        byte[] data = randomBytes(4 * RANGE_SIZE);
+        Path target = dir.resolve("changed.bin");
+        IOException e = assertThrows(IOException.class, () -> new ParallelDownloader(executor, RANGE_SIZE)
+                .download(stat(data.length, md5(data)), target, reader(data, md5(new byte[]{3})), true));
+        assertTrue(e.getMessage().startsWith("object changed during download"), e.getMessage());
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    public void emptyObject() throws Exception {
+        byte[] data = new byte[0];
+        Path target = dir.resolve("empty.bin");
+        long n = new ParallelDownloader(executor, RANGE_SIZE)
+                .download(stat(0, md5(data)), target, reader(data, md5(data)), true);
+        assertEquals(0, n);
+        assertEquals(0, Files.size(target));
+    }
+
+    private static ParallelDownloader.ObjectRangeReader reader(byte[] data, String etag) {
+        return (bucketName, objectName, offset, length) -> {
+            byte[] range = Arrays.copyOfRange(data, offset.intValue(), (int) (offset + length));
+            return new GetObjectResponse(headers(range.length, etag), bucketName, null, objectName,
+                    new ByteArrayInputStream(range));
+        };
+    }
+
+    private static StatObjectResponse stat(long size, String etag) {
+        return new StatObjectResponse(headers(size, etag), BUCKET, null, OBJECT);
+    }
+
+    private static Headers headers(long size, String etag) {
+        return new Headers.Builder()
+                .add("ETag", "\"" + etag + "\"")
+                .add("Content-Length", String.valueOf(size))
+                .add("Last-Modified", "Sun, 18 Oct 2026 02:00:00 GMT")
+                .build();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static String md5(byte[] data) {
+        return DigestUtils.md5DigestAsHex(data);
+    }
+}
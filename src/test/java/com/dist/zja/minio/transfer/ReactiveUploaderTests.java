@@ -0,0 +1,128 @@
+/**
+ * @Company: 上海数慧系统技术有限公司
+ * @Department: 数据中心
+ * @Author: zhengja
+ * @Email: zhengja@dist.com.cn
+ * @Date: 2026-10-18 14:00
+ * @Since:
+ */
+package com.dist.zja.minio.transfer;
+
+import com.dist.zja.minio.common.client.MinioExtendAsyncClient;
+import com.dist.zja.minio.support.S3Stub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 响应式分片上传：缓冲区预算用尽时以背压等待，而不是在预算外分配
+ */
+public class ReactiveUploaderTests {
+
+    private static final String BUCKET = "test";
+
+    private static final int PART_SIZE = 1024;
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private S3Stub stub;
+
+    private MinioExtendAsyncClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        stub = new S3Stub();
+        stub.createBucket(BUCKET);
+        client = new MinioExtendAsyncClient(stub.newAsyncClient());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    public void exhaustedBudgetLimitsPartsInFlight() {
+        PartBufferPool pool = new PartBufferPool(PART_SIZE, 3L * PART_SIZE, 3);
+        stub.setPartDelayMillis(50);
+        byte[] data = content(12 * PART_SIZE + 100);
+
+        upload(new ReactiveUploader(client, pool, 8), "a", chunks(data, 100));
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        // 在途分片数受缓冲区预算限制，而不是 concurrency
+        assertTrue(stub.getMaxPartsInFlight() <= pool.getCapacity(), "parts in flight: " + stub.getMaxPartsInFlight());
+        assertEquals(pool.getCapacity(), pool.available());
+    }
+
+    @Test
+    public void singleBufferBudgetDoesNotDeadlock() {
+        PartBufferPool pool = new PartBufferPool(PART_SIZE, PART_SIZE, 1);
+        byte[] data = content(5 * PART_SIZE);
+
+        upload(new ReactiveUploader(client, pool, 4), "a", chunks(data, 300));
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        assertEquals(pool.getCapacity(), pool.available());
+    }
+
+    @Test
+    public void dataBufferSpanningSeveralParts() {
+        PartBufferPool pool = new PartBufferPool(PART_SIZE, 2L * PART_SIZE, 2);
+        byte[] data = content(7 * PART_SIZE + 1);
+
+        upload(new ReactiveUploader(client, pool, 4), "a", chunks(data, 3 * PART_SIZE + 17));
+
+        assertArrayEquals(data, stub.getObject(BUCKET, "a"));
+        assertEquals(pool.getCapacity(), pool.available());
+    }
+
+    @Test
+    public void concurrentUploadsShareBudget() {
+        PartBufferPool pool = new PartBufferPool(PART_SIZE, 2L * PART_SIZE, 2);
+        byte[] first = content(6 * PART_SIZE);
+        byte[] second = content(4 * PART_SIZE + 5);
+        ReactiveUploader uploader = new ReactiveUploader(client, pool, 4);
+
+        Flux.merge(
+                uploader.upload(BUCKET, "a", chunks(first, 200), null),
+                uploader.upload(BUCKET, "b", chunks(second, 500), null))
+                .blockLast(Duration.ofSeconds(30));
+
+        assertArrayEquals(first, stub.getObject(BUCKET, "a"));
+        assertArrayEquals(second, stub.getObject(BUCKET, "b"));
+        assertEquals(pool.getCapacity(), pool.available());
+    }
+
+    private static void upload(ReactiveUploader uploader, String objectName, Flux<DataBuffer> content) {
+        uploader.upload(BUCKET, objectName, content, null).block(Duration.ofSeconds(30));
+    }
+
+    private Flux<DataBuffer> chunks(byte[] data, int chunkSize) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            byte[] chunk = new byte[Math.min(chunkSize, data.length - offset)];
+            System.arraycopy(data, offset, chunk, 0, chunk.length);
+            chunks.add(chunk);
+        }
+        return Flux.fromIterable(chunks).map(bufferFactory::wrap);
+    }
+
+    private static byte[] content(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}